@@ -19,7 +19,7 @@ echo "Building the Spring Boot project..."
 $MVNW clean package -DskipTests
 
 # Find the generated JAR file
-JAR_FILE=$(find target -type f -name "*.jar" | head -n 1)
+JAR_FILE=$(find k-cache-service/target -maxdepth 1 -type f -name "k-cache-service-*.jar" | head -n 1)
 
 if [[ -f "$JAR_FILE" ]]; then
     echo "Build successful! JAR file created: $JAR_FILE"
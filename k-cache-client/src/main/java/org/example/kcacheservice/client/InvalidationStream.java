@@ -0,0 +1,116 @@
+package org.example.kcacheservice.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/*
+    * Follows the server sent event stream of cache mutations and applies them to the near cache.
+    * While disconnected the near cache is emptied and bypassed, since invalidations may have been missed.
+ */
+class InvalidationStream implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(InvalidationStream.class);
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(500);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient;
+    private final URI uri;
+    private final NearCache nearCache;
+    private final ObjectMapper objectMapper;
+    private volatile boolean connected;
+    private volatile boolean closed;
+
+    InvalidationStream(HttpClient httpClient, URI uri, NearCache nearCache, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.uri = uri;
+        this.nearCache = nearCache;
+        this.objectMapper = objectMapper;
+    }
+
+    boolean isConnected() {
+        return this.connected;
+    }
+
+    void close() {
+        this.closed = true;
+    }
+
+    @Override
+    public void run() {
+        Duration backoff = MIN_BACKOFF;
+        while(!this.closed) {
+            try {
+                HttpRequest request = HttpRequest.newBuilder(this.uri)
+                        .header("Accept", "text/event-stream")
+                        .GET()
+                        .build();
+                HttpResponse<Stream<String>> response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+                if(response.statusCode() != 200) {
+                    throw new IOException("Invalidation stream returned status " + response.statusCode());
+                }
+                this.nearCache.invalidateAll();
+                this.connected = true;
+                backoff = MIN_BACKOFF;
+                log.debug("Connected to invalidation stream {}", this.uri);
+                try(Stream<String> lines = response.body()) {
+                    this.consume(lines.iterator());
+                }
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch(Exception e) {
+                log.warn("Invalidation stream {} failed: {}", this.uri, e.getMessage());
+            } finally {
+                this.connected = false;
+                this.nearCache.invalidateAll();
+            }
+            if(this.closed) return;
+            try {
+                Thread.sleep(backoff);
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+        }
+    }
+
+    private void consume(Iterator<String> lines) throws IOException {
+        StringBuilder data = new StringBuilder();
+        while(!this.closed && lines.hasNext()) {
+            String line = lines.next();
+            if(line.isEmpty()) {
+                if(!data.isEmpty()) {
+                    this.apply(this.objectMapper.readTree(data.toString()));
+                    data.setLength(0);
+                }
+            } else if(line.startsWith("data:")) {
+                data.append(line.substring(5).trim());
+            }
+        }
+    }
+
+    private void apply(JsonNode event) {
+        String type = event.path("type").asText();
+        String namespace = event.hasNonNull("namespace") ? event.get("namespace").asText() : null;
+        String key = event.hasNonNull("key") ? event.get("key").asText() : null;
+        if(null == namespace) {
+            this.nearCache.invalidateAll();
+        } else if(null == key) {
+            this.nearCache.invalidateNamespace(namespace);
+        } else {
+            this.nearCache.invalidate(namespace, key);
+        }
+        log.trace("Applied {} invalidation for {}/{}", type, namespace, key);
+    }
+}
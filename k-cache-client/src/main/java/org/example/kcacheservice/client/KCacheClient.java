@@ -0,0 +1,172 @@
+package org.example.kcacheservice.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+
+/*
+    * Client for the k-cache-service user API with a bounded near cache in front of it.
+    * Reads are served from the near cache while the invalidation stream is connected, the service pushes an
+    * invalidation for every add, remove and remove all, which keeps the near cache coherent.
+ */
+public class KCacheClient implements AutoCloseable {
+    public static final String DEFAULT_NAMESPACE = "default";
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final NearCache nearCache;
+    private final InvalidationStream invalidationStream;
+    private final Thread invalidationThread;
+
+    private KCacheClient(Builder builder) {
+        this.httpClient = null != builder.httpClient ? builder.httpClient : HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(builder.requestTimeout)
+                .build();
+        this.baseUrl = stripTrailingSlash(builder.baseUrl) + "/" + builder.version + "/user";
+        this.requestTimeout = builder.requestTimeout;
+        this.nearCache = new NearCache(builder.maxEntries);
+        this.invalidationStream = new InvalidationStream(this.httpClient, URI.create(this.baseUrl + "/invalidations"),
+                this.nearCache, new ObjectMapper());
+        this.invalidationThread = Thread.ofVirtual().name("k-cache-invalidations").start(this.invalidationStream);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Optional<byte[]> get(String key) {
+        return get(DEFAULT_NAMESPACE, key);
+    }
+
+    public Optional<byte[]> get(String namespace, String key) {
+        byte[] cached = this.nearCache.get(namespace, key);
+        if(null != cached) return Optional.of(cached);
+
+        boolean coherent = this.invalidationStream.isConnected();
+        long epoch = this.nearCache.epoch();
+        HttpResponse<byte[]> response = this.send(HttpRequest.newBuilder(this.uri("/cache/", namespace, "/raw/", key))
+                .GET());
+        if(response.statusCode() == 200) {
+            if(coherent) {
+                this.nearCache.putIfEpoch(namespace, key, response.body(), epoch);
+            }
+            return Optional.of(response.body());
+        }
+        if(response.statusCode() == 206) {
+            return Optional.empty();
+        }
+        throw new KCacheClientException("Fetching key " + key + " failed with status " + response.statusCode());
+    }
+
+    public void put(String key, byte[] value) {
+        put(DEFAULT_NAMESPACE, key, value);
+    }
+
+    public void put(String namespace, String key, byte[] value) {
+        this.nearCache.invalidate(namespace, key);
+        HttpResponse<byte[]> response = this.send(HttpRequest.newBuilder(this.uri("/cache/", namespace, "/", key))
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(value)));
+        if(response.statusCode() != 200) {
+            throw new KCacheClientException("Adding key " + key + " failed with status " + response.statusCode());
+        }
+    }
+
+    public void remove(String key) {
+        remove(DEFAULT_NAMESPACE, key);
+    }
+
+    public void remove(String namespace, String key) {
+        this.nearCache.invalidate(namespace, key);
+        HttpResponse<byte[]> response = this.send(HttpRequest.newBuilder(this.uri("/cache/", namespace, "/key/", key))
+                .DELETE());
+        if(response.statusCode() != 200) {
+            throw new KCacheClientException("Removing key " + key + " failed with status " + response.statusCode());
+        }
+    }
+
+    public boolean isNearCacheActive() {
+        return this.invalidationStream.isConnected();
+    }
+
+    public int nearCacheSize() {
+        return this.nearCache.size();
+    }
+
+    @Override
+    public void close() {
+        this.invalidationStream.close();
+        this.invalidationThread.interrupt();
+        this.nearCache.invalidateAll();
+    }
+
+    private URI uri(String prefix, String namespace, String separator, String key) {
+        return URI.create(this.baseUrl + prefix + encode(namespace) + separator + encode(key));
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest.Builder request) {
+        try {
+            return this.httpClient.send(request.timeout(this.requestTimeout).build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch(IOException e) {
+            throw new KCacheClientException("Request to k-cache-service failed", e);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KCacheClientException("Request to k-cache-service interrupted", e);
+        }
+    }
+
+    private static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    public static class Builder {
+        private String baseUrl = "http://localhost:5500/kCacheService/api";
+        private String version = "v2";
+        private int maxEntries = 1000;
+        private Duration requestTimeout = Duration.ofSeconds(5);
+        private HttpClient httpClient;
+
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
+        public Builder version(String version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder httpClient(HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public KCacheClient build() {
+            return new KCacheClient(this);
+        }
+    }
+}
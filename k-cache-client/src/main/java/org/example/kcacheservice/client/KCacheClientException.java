@@ -0,0 +1,11 @@
+package org.example.kcacheservice.client;
+
+public class KCacheClientException extends RuntimeException {
+    public KCacheClientException(String message) {
+        super(message);
+    }
+
+    public KCacheClientException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
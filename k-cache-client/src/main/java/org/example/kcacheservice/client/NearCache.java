@@ -0,0 +1,105 @@
+package org.example.kcacheservice.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    * Bounded, least recently used in process copy of cache values.
+    * Every invalidation advances an epoch, a value loaded from the service is only stored if no invalidation happened
+    * while it was being loaded, so a slow response can never overwrite a newer invalidation.
+ */
+public class NearCache {
+
+    private final int maxEntries;
+    private final Map<Key, byte[]> entries;
+    private final ReentrantLock lock;
+    private long epoch;
+
+    public NearCache(int maxEntries) {
+        if(maxEntries < 1) throw new IllegalArgumentException("maxEntries must be at least 1");
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true);
+        this.lock = new ReentrantLock();
+        this.epoch = 0;
+    }
+
+    public byte[] get(String namespace, String key) {
+        this.lock.lock();
+        try {
+            return this.entries.get(new Key(namespace, key));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public long epoch() {
+        this.lock.lock();
+        try {
+            return this.epoch;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /*
+        * Stores the value if the epoch did not move since the caller started loading it, returns whether it was stored
+     */
+    public boolean putIfEpoch(String namespace, String key, byte[] value, long expectedEpoch) {
+        this.lock.lock();
+        try {
+            if(this.epoch != expectedEpoch) return false;
+            this.entries.put(new Key(namespace, key), value);
+            if(this.entries.size() > this.maxEntries) {
+                Iterator<Key> it = this.entries.keySet().iterator();
+                it.next();
+                it.remove();
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void invalidate(String namespace, String key) {
+        this.lock.lock();
+        try {
+            this.epoch++;
+            this.entries.remove(new Key(namespace, key));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void invalidateNamespace(String namespace) {
+        this.lock.lock();
+        try {
+            this.epoch++;
+            this.entries.keySet().removeIf(key -> key.namespace().equals(namespace));
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        this.lock.lock();
+        try {
+            this.epoch++;
+            this.entries.clear();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.entries.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private record Key(String namespace, String key) { }
+}
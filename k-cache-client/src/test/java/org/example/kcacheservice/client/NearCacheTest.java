@@ -0,0 +1,57 @@
+package org.example.kcacheservice.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Near Cache Test")
+public class NearCacheTest {
+
+    @Test
+    @DisplayName("Should evict least recently used entry when full")
+    void testPut_EvictsLeastRecentlyUsed() {
+        NearCache nearCache = new NearCache(2);
+        nearCache.putIfEpoch("default", "key1", bytes("value1"), nearCache.epoch());
+        nearCache.putIfEpoch("default", "key2", bytes("value2"), nearCache.epoch());
+        nearCache.get("default", "key1");
+
+        nearCache.putIfEpoch("default", "key3", bytes("value3"), nearCache.epoch());
+
+        assertThat(nearCache.size()).isEqualTo(2);
+        assertThat(nearCache.get("default", "key1")).isEqualTo(bytes("value1"));
+        assertThat(nearCache.get("default", "key2")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not store a value loaded before an invalidation")
+    void testPutIfEpoch_RejectsAfterInvalidation() {
+        NearCache nearCache = new NearCache(10);
+        long epoch = nearCache.epoch();
+
+        nearCache.invalidate("default", "key1");
+        boolean stored = nearCache.putIfEpoch("default", "key1", bytes("stale"), epoch);
+
+        assertThat(stored).isFalse();
+        assertThat(nearCache.get("default", "key1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should invalidate only the given namespace")
+    void testInvalidateNamespace() {
+        NearCache nearCache = new NearCache(10);
+        nearCache.putIfEpoch("tenant", "key1", bytes("value1"), nearCache.epoch());
+        nearCache.putIfEpoch("default", "key1", bytes("value1"), nearCache.epoch());
+
+        nearCache.invalidateNamespace("tenant");
+
+        assertThat(nearCache.get("tenant", "key1")).isNull();
+        assertThat(nearCache.get("default", "key1")).isEqualTo(bytes("value1"));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
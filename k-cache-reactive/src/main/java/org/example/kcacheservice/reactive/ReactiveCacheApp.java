@@ -0,0 +1,35 @@
+package org.example.kcacheservice.reactive;
+
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.config.SchedulerConfig;
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.exception.GlobalExceptionHandler;
+import org.example.kcacheservice.repository.CacheRepository;
+import org.example.kcacheservice.repository.DatabaseGate;
+import org.example.kcacheservice.service.impl.CacheGenerationServiceImpl;
+import org.example.kcacheservice.service.impl.CacheServiceV1Impl;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/*
+    * Runs the v3 api on Netty. Only the servlet independent parts of the cache service are imported, the v1 service
+    * backs it with the database as cold tier.
+    * Reads k-cache-reactive.yml instead of application.yml, so it can run next to the servlet service.
+ */
+@SpringBootApplication
+@Import({CacheConfig.class, SchedulerConfig.class, DatabaseGate.class, CacheGenerationServiceImpl.class,
+        CacheServiceV1Impl.class, GlobalExceptionHandler.class})
+@EnableJpaRepositories(basePackageClasses = CacheRepository.class)
+@EntityScan(basePackageClasses = CacheEntity.class)
+public class ReactiveCacheApp {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveCacheApp.class)
+                .properties("spring.config.name=k-cache-reactive")
+                .run(args);
+    }
+
+}
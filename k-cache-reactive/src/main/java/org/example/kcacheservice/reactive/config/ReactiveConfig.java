@@ -0,0 +1,37 @@
+package org.example.kcacheservice.reactive.config;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache.reactive")
+@Validated
+@Data
+public class ReactiveConfig {
+
+    /*
+        * Threads loading from and writing to the database, there is no point in more threads than pooled connections
+        * Default is 10
+     */
+    @Min(value = 1, message = "coldTierThreads must be at least 1")
+    private int coldTierThreads = 10;
+
+    /*
+        * Cold tier tasks allowed to wait for a thread, further requests are rejected with 503 instead of queuing
+        * without bound
+        * Default is 10000
+     */
+    @Min(value = 1, message = "coldTierQueue must be at least 1")
+    private int coldTierQueue = 10_000;
+
+    @Bean(value = "coldTierScheduler", destroyMethod = "dispose")
+    public Scheduler coldTierScheduler() {
+        return Schedulers.newBoundedElastic(this.coldTierThreads, this.coldTierQueue, "cold-tier");
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.kcacheservice.reactive.controller;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.reactive.service.ReactiveCacheService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/v3/admin/cache")
+public class AdminControllerV3 {
+
+    private final ReactiveCacheService cacheService;
+
+    public AdminControllerV3(ReactiveCacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @DeleteMapping("/clear")
+    public Mono<ResponseEntity<ApiResponseEnvelop<String>>> clear() {
+        return this.cacheService.clear().map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/remove/all")
+    public Mono<ResponseEntity<ApiResponseEnvelop<String>>> removeAll() {
+        return this.cacheService.removeAll().map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{namespace}/clear")
+    public Mono<ResponseEntity<ApiResponseEnvelop<String>>> clear(@PathVariable String namespace) {
+        return this.cacheService.clear(namespace).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{namespace}/remove/all")
+    public Mono<ResponseEntity<ApiResponseEnvelop<String>>> removeAll(@PathVariable String namespace) {
+        return this.cacheService.removeAll(namespace).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.kcacheservice.reactive.controller;
+
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.engine.RecordValidators;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+import org.example.kcacheservice.reactive.service.ReactiveCacheService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/v3/user")
+public class UserCacheV3Controller {
+
+    private final ReactiveCacheService cacheService;
+
+    public UserCacheV3Controller(ReactiveCacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @GetMapping({"/cache/{id}", "/cache/{namespace}/{id}"})
+    public Mono<ResponseEntity<ApiResponseEnvelop<CacheDTO>>> getCacheById(@PathVariable Optional<String> namespace,
+                                                                           @PathVariable String id) {
+        return this.cacheService.fetch(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), id)
+                .map(response -> RecordValidators.ok(response.getData()).body(response));
+    }
+
+    @GetMapping({"/cache/raw/{id}", "/cache/{namespace}/raw/{id}"})
+    public Mono<ResponseEntity<byte[]>> getRawCacheById(@PathVariable Optional<String> namespace,
+                                                        @PathVariable String id) {
+        return this.cacheService.fetch(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), id)
+                .map(response -> {
+                    if(null == response.getData()) {
+                        throw new CacheNotFoundException("Record with key " + id + " not found");
+                    }
+                    return RecordValidators.ok(response.getData())
+                            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                            .body(response.getData().getValue());
+                });
+    }
+
+    /*
+        * Streams the records of newline separated keys as NDJSON, keys missing from cache and DB are skipped.
+        * Keys are decoded line by line as the body arrives, so a large batch is never buffered whole.
+     */
+    @PostMapping(value = {"/batch", "/batch/{namespace}"},
+            consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CacheDTO> getCacheByIds(@PathVariable Optional<String> namespace, @RequestBody Flux<String> ids) {
+        return this.cacheService.fetchAll(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), ids);
+    }
+
+    @PostMapping(value = {"/cache", "/cache/{id}", "/cache/{namespace}/{id}"},
+            consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public Mono<ResponseEntity<ApiResponseEnvelop<CacheDTO>>> add(@PathVariable Optional<String> namespace,
+                                                                  @PathVariable Optional<String> id,
+                                                                  @RequestBody byte[] value) {
+        return this.cacheService.add(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE),
+                        id.orElse(UUID.randomUUID().toString()), value)
+                .map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping({"/cache/key/{id}", "/cache/{namespace}/key/{id}"})
+    public Mono<ResponseEntity<ApiResponseEnvelop<String>>> remove(@PathVariable Optional<String> namespace,
+                                                                   @PathVariable String id) {
+        return this.cacheService.remove(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), id)
+                .map(ResponseEntity::ok);
+    }
+}
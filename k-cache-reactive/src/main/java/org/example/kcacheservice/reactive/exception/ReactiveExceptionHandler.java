@@ -0,0 +1,29 @@
+package org.example.kcacheservice.reactive.exception;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.util.ArrayList;
+import java.util.concurrent.RejectedExecutionException;
+
+/*
+    * Ordered ahead of GlobalExceptionHandler, whose catch all handler would otherwise answer with 500
+ */
+@ControllerAdvice
+@ResponseBody
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveExceptionHandler {
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponseEnvelop<Object> handleRejectedExecutionException(RejectedExecutionException e) {
+        ArrayList<String> errors = new ArrayList<>();
+        errors.add("Cold tier is saturated, retry later");
+        return ApiResponseEnvelop.error(errors);
+    }
+}
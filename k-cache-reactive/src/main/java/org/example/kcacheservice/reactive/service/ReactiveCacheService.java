@@ -0,0 +1,32 @@
+package org.example.kcacheservice.reactive.service;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/*
+    * Non blocking variant of CacheService. In memory hits complete on the calling thread, anything touching the
+    * database runs on the bounded cold tier scheduler.
+ */
+public interface ReactiveCacheService {
+    public Mono<ApiResponseEnvelop<CacheDTO>> add(String namespace, String key, byte[] value);
+
+    public Mono<ApiResponseEnvelop<CacheDTO>> fetch(String namespace, String key);
+
+    /*
+        * Fetches keys as they arrive and emits the records found, at most one cold tier load per cold tier thread is
+        * in flight and no more keys are requested than the subscriber can take
+     */
+    public Flux<CacheDTO> fetchAll(String namespace, Flux<String> keys);
+
+    public Mono<ApiResponseEnvelop<String>> remove(String namespace, String key);
+
+    public Mono<ApiResponseEnvelop<String>> removeAll(String namespace);
+
+    public Mono<ApiResponseEnvelop<String>> clear(String namespace);
+
+    public Mono<ApiResponseEnvelop<String>> removeAll();
+
+    public Mono<ApiResponseEnvelop<String>> clear();
+}
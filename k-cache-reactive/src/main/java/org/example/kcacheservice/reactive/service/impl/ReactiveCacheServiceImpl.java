@@ -0,0 +1,88 @@
+package org.example.kcacheservice.reactive.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+import org.example.kcacheservice.reactive.config.ReactiveConfig;
+import org.example.kcacheservice.reactive.service.ReactiveCacheService;
+import org.example.kcacheservice.service.CacheService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+@Service
+@Slf4j
+public class ReactiveCacheServiceImpl implements ReactiveCacheService {
+
+    private final CacheService cacheService;
+    private final Scheduler coldTier;
+    private final int coldTierConcurrency;
+
+    public ReactiveCacheServiceImpl(@Qualifier("CacheServiceV1") CacheService cacheService,
+                                    @Qualifier("coldTierScheduler") Scheduler coldTier,
+                                    ReactiveConfig reactiveConfig) {
+        this.cacheService = cacheService;
+        this.coldTier = coldTier;
+        this.coldTierConcurrency = reactiveConfig.getColdTierThreads();
+    }
+
+    /*
+        * Writes go to the cold tier since v1 deletes the previous DB record and may persist an evicted one
+     */
+    @Override
+    public Mono<ApiResponseEnvelop<CacheDTO>> add(String namespace, String key, byte[] value) {
+        return this.offload(() -> this.cacheService.add(namespace, key, value));
+    }
+
+    @Override
+    public Mono<ApiResponseEnvelop<CacheDTO>> fetch(String namespace, String key) {
+        return Mono.defer(() -> this.cacheService.peek(namespace, key)
+                .map(record -> {
+                    log.trace("Record with key {} served from memory", key);
+                    return Mono.just(ApiResponseEnvelop.success(record));
+                })
+                .orElseGet(() -> this.offload(() -> this.cacheService.fetch(namespace, key))));
+    }
+
+    @Override
+    public Flux<CacheDTO> fetchAll(String namespace, Flux<String> keys) {
+        return keys.flatMap(key -> this.fetch(namespace, key)
+                        .mapNotNull(ApiResponseEnvelop::getData)
+                        .onErrorResume(CacheNotFoundException.class, e -> Mono.empty()),
+                this.coldTierConcurrency);
+    }
+
+    @Override
+    public Mono<ApiResponseEnvelop<String>> remove(String namespace, String key) {
+        return this.offload(() -> this.cacheService.remove(namespace, key));
+    }
+
+    @Override
+    public Mono<ApiResponseEnvelop<String>> removeAll(String namespace) {
+        return this.offload(() -> this.cacheService.removeAll(namespace));
+    }
+
+    @Override
+    public Mono<ApiResponseEnvelop<String>> clear(String namespace) {
+        return Mono.fromCallable(() -> this.cacheService.clear(namespace));
+    }
+
+    @Override
+    public Mono<ApiResponseEnvelop<String>> removeAll() {
+        return this.offload(this.cacheService::removeAll);
+    }
+
+    @Override
+    public Mono<ApiResponseEnvelop<String>> clear() {
+        return Mono.fromCallable(this.cacheService::clear);
+    }
+
+    private <T> Mono<T> offload(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(this.coldTier);
+    }
+}
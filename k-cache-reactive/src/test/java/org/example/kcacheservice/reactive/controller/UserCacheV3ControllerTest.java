@@ -0,0 +1,86 @@
+package org.example.kcacheservice.reactive.controller;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.reactive.service.ReactiveCacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("User Cache V3 Controller Test")
+public class UserCacheV3ControllerTest {
+
+    private static final long VERSION = 1_700_000_000_000_000L;
+    private static final String ETAG = "\"1700000000000000\"";
+    private static final String LAST_MODIFIED = "Tue, 14 Nov 2023 22:13:20 GMT";
+
+    private ReactiveCacheService cacheService;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = mock(ReactiveCacheService.class);
+        webTestClient = WebTestClient.bindToController(new UserCacheV3Controller(cacheService)).build();
+    }
+
+    @Test
+    @DisplayName("GET /v3/user/cache/{id} - Should answer with the record version as ETag and its write time as Last-Modified")
+    void testGetCacheById_Validators() {
+        when(cacheService.fetch("default", "key1")).thenReturn(Mono.just(ApiResponseEnvelop.success(record("key1", VERSION))));
+
+        webTestClient.get().uri("/v3/user/cache/{id}", "key1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", ETAG)
+                .expectHeader().valueEquals("Last-Modified", LAST_MODIFIED)
+                .expectBody().jsonPath("$.data.id").isEqualTo("key1");
+        webTestClient.get().uri("/v3/user/cache/raw/{id}", "key1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", ETAG)
+                .expectHeader().valueEquals("Last-Modified", LAST_MODIFIED)
+                .expectBody(byte[].class).isEqualTo(bytes("value"));
+    }
+
+    @Test
+    @DisplayName("GET /v3/user/cache/{id} - Should answer 304 while If-None-Match or If-Modified-Since still matches")
+    void testGetCacheById_NotModified() {
+        when(cacheService.fetch("default", "key1")).thenReturn(Mono.just(ApiResponseEnvelop.success(record("key1", VERSION))));
+
+        webTestClient.get().uri("/v3/user/cache/{id}", "key1").header("If-None-Match", ETAG).exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        webTestClient.get().uri("/v3/user/cache/raw/{id}", "key1").header("If-None-Match", ETAG).exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        webTestClient.get().uri("/v3/user/cache/raw/{id}", "key1").header("If-Modified-Since", LAST_MODIFIED).exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        webTestClient.get().uri("/v3/user/cache/raw/{id}", "key1").header("If-None-Match", "\"1\"").exchange()
+                .expectStatus().isOk()
+                .expectBody(byte[].class).isEqualTo(bytes("value"));
+    }
+
+    @Test
+    @DisplayName("GET /v3/user/cache/{id} - Should send no validators for records without a version")
+    void testGetCacheById_NoVersion_NoValidators() {
+        when(cacheService.fetch("default", "key1")).thenReturn(Mono.just(ApiResponseEnvelop.success(record("key1", 0))));
+
+        webTestClient.get().uri("/v3/user/cache/{id}", "key1").exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist("ETag")
+                .expectHeader().doesNotExist("Last-Modified");
+    }
+
+    private static CacheDTO record(String key, long version) {
+        return CacheDTO.builder().namespace("default").id(key).value(bytes("value")).version(version).build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.kcacheservice.reactive.service;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+import org.example.kcacheservice.reactive.config.ReactiveConfig;
+import org.example.kcacheservice.reactive.service.impl.ReactiveCacheServiceImpl;
+import org.example.kcacheservice.service.CacheService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Reactive Cache Service Test")
+public class ReactiveCacheServiceTest {
+
+    private CacheService cacheService;
+    private Scheduler coldTier;
+    private ReactiveCacheServiceImpl reactiveCacheService;
+
+    @BeforeEach
+    void setUp() {
+        ReactiveConfig reactiveConfig = new ReactiveConfig();
+        reactiveConfig.setColdTierThreads(1);
+        reactiveConfig.setColdTierQueue(1);
+        cacheService = mock(CacheService.class);
+        coldTier = reactiveConfig.coldTierScheduler();
+        reactiveCacheService = new ReactiveCacheServiceImpl(cacheService, coldTier, reactiveConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coldTier.dispose();
+    }
+
+    @Test
+    @DisplayName("Should serve in memory hits on the calling thread without a cold tier load")
+    void testFetch_InMemoryHit() {
+        when(cacheService.peek("default", "key1")).thenReturn(Optional.of(record("key1")));
+
+        StepVerifier.create(reactiveCacheService.fetch("default", "key1"))
+                .assertNext(response -> assertThat(response.getData().getId()).isEqualTo("key1"))
+                .verifyComplete();
+        verify(cacheService, never()).fetch("default", "key1");
+    }
+
+    @Test
+    @DisplayName("Should load misses on the cold tier and skip missing keys of a batch")
+    void testFetchAll_LoadsMissesOnColdTier() {
+        AtomicReference<String> loadingThread = new AtomicReference<>();
+        when(cacheService.peek(eq("default"), anyString())).thenReturn(Optional.empty());
+        when(cacheService.fetch("default", "key1")).thenAnswer(invocation -> {
+            loadingThread.set(Thread.currentThread().getName());
+            return ApiResponseEnvelop.success(record("key1"));
+        });
+        when(cacheService.fetch("default", "key2")).thenThrow(new CacheNotFoundException("Record with key key2 not found in cache or DB"));
+
+        StepVerifier.create(reactiveCacheService.fetchAll("default", Flux.just("key1", "key2")))
+                .assertNext(record -> assertThat(record.getId()).isEqualTo("key1"))
+                .verifyComplete();
+        assertThat(loadingThread.get()).startsWith("cold-tier");
+    }
+
+    @Test
+    @DisplayName("Should reject cold tier work once threads and queue are taken")
+    void testAdd_RejectedWhenColdTierSaturated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        when(cacheService.add(eq("default"), anyString(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return ApiResponseEnvelop.success(record(invocation.getArgument(1)));
+        });
+
+        reactiveCacheService.add("default", "key1", bytes("value1")).subscribe();
+        started.await();
+        reactiveCacheService.add("default", "key2", bytes("value2")).subscribe();
+
+        StepVerifier.create(reactiveCacheService.add("default", "key3", bytes("value3")))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+        release.countDown();
+    }
+
+    private static CacheDTO record(String key) {
+        return CacheDTO.builder().namespace("default").id(key).value(bytes("value")).build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.kcacheservice.admission;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.AdmissionStats;
+import org.example.kcacheservice.exception.CacheOverloadedException;
+import org.example.kcacheservice.service.CachePersistenceService;
+import org.example.kcacheservice.tracing.SegmentLockWaits;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    * Decides whether a write enters the service, before it takes any lock or queue slot.
+    * Writes are shed while the service is saturated: too many calls wait for a cold tier thread or segment write locks
+    * are waited for too long, and for v2 too many keys wait for the flush to DB or the flush stopped reaching it.
+    * Signals are sampled on a schedule, so a write only reads the last sample. Each client additionally gets a token
+    * bucket when a per client rate is configured. A write turned away is answered with Retry-After, so clients back
+    * off instead of retrying at once.
+ */
+@Slf4j
+@Component
+public class AdmissionControl {
+    private final CacheConfig.Admission config;
+    private final ThreadPoolTaskExecutor coldTier;
+    private final CachePersistenceService persistenceService;
+    private final Map<String, TokenBucket> buckets;
+    private final LongAdder admitted;
+    private final LongAdder rateLimited;
+    private final LongAdder shed;
+    private volatile Signals signals;
+    private long sampledWaits;
+    private long sampledWaitNanos;
+
+    record Signals(int queueDepth, double lockWaitMillis, int pendingWrites, long flushLagMillis) { }
+
+    public AdmissionControl(CacheConfig cacheConfig,
+                            @Qualifier("coldTierExecutor") ThreadPoolTaskExecutor coldTier,
+                            CachePersistenceService persistenceService) {
+        this.config = cacheConfig.getAdmission();
+        this.coldTier = coldTier;
+        this.persistenceService = persistenceService;
+        this.buckets = new ConcurrentHashMap<>();
+        this.admitted = new LongAdder();
+        this.rateLimited = new LongAdder();
+        this.shed = new LongAdder();
+        this.signals = new Signals(0, 0, 0, 0);
+    }
+
+    /*
+        * Admits a write of the client or throws, v2 writes are also held back by the flush to DB.
+        * A null client is only checked for saturation, e.g. requests forwarded by another node which already charged
+        * the client.
+     */
+    public void admit(String client, boolean v2) {
+        String saturation = this.saturation(this.signals, v2);
+        if(null != saturation) {
+            this.shed.increment();
+            log.debug("Shedding write, {}", saturation);
+            throw new CacheOverloadedException("Cache is overloaded, " + saturation + ", retry later",
+                    this.config.getRetryAfterSeconds());
+        }
+
+        if(null != client && this.config.getClientWritesPerSecond() > 0) {
+            long now = System.nanoTime();
+            TokenBucket bucket = this.buckets.computeIfAbsent(client, c ->
+                    new TokenBucket(this.config.getClientWritesPerSecond(), this.config.getClientBurst(), now));
+            long waitNanos = bucket.tryAcquire(now);
+            if(waitNanos > 0) {
+                this.rateLimited.increment();
+                throw new CacheOverloadedException("Client " + client + " exceeds "
+                        + this.config.getClientWritesPerSecond() + " writes per second, retry later",
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+            }
+        }
+        this.admitted.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${cache.admission.sample-interval-millis:100}", timeUnit = TimeUnit.MILLISECONDS)
+    public void sample() {
+        long waits = SegmentLockWaits.waits();
+        long waitNanos = SegmentLockWaits.waitNanos();
+        long newWaits = waits - this.sampledWaits;
+        double lockWaitMillis = newWaits == 0 ? 0 : (double) (waitNanos - this.sampledWaitNanos) / newWaits / 1_000_000;
+        this.sampledWaits = waits;
+        this.sampledWaitNanos = waitNanos;
+        this.signals = new Signals(this.coldTier.getQueueSize(), lockWaitMillis,
+                this.persistenceService.pendingWrites(), this.persistenceService.flushLagMillis());
+    }
+
+    /*
+        * A full bucket behaves like a new one, dropping them keeps one bucket per active client only
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void dropIdleBuckets() {
+        long now = System.nanoTime();
+        this.buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    public AdmissionStats stats(boolean v2) {
+        Signals signals = this.signals;
+        return AdmissionStats.builder()
+                .queueDepth(signals.queueDepth())
+                .lockWaitMillis(signals.lockWaitMillis())
+                .pendingWrites(signals.pendingWrites())
+                .flushLagMillis(signals.flushLagMillis())
+                .saturation(this.saturation(signals, v2))
+                .clients(this.buckets.size())
+                .admitted(this.admitted.sum())
+                .rateLimited(this.rateLimited.sum())
+                .shed(this.shed.sum())
+                .build();
+    }
+
+    private String saturation(Signals signals, boolean v2) {
+        if(signals.queueDepth() >= this.config.getMaxQueueDepth()) {
+            return signals.queueDepth() + " calls wait for the cold tier";
+        }
+        if(signals.lockWaitMillis() >= this.config.getMaxLockWaitMillis()) {
+            return String.format("segment locks are waited for %.0f ms", signals.lockWaitMillis());
+        }
+        if(!v2) return null;
+        if(signals.pendingWrites() >= this.config.getMaxPendingWrites()) {
+            return signals.pendingWrites() + " keys wait for the flush to DB";
+        }
+        if(signals.flushLagMillis() >= this.config.getMaxFlushLagMillis()) {
+            return "the flush to DB lags " + signals.flushLagMillis() + " ms";
+        }
+        return null;
+    }
+}
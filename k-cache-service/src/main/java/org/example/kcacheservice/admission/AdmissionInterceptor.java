@@ -0,0 +1,44 @@
+package org.example.kcacheservice.admission;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.kcacheservice.cluster.ClusterMembership;
+import org.example.kcacheservice.config.CacheConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/*
+    * Puts user cache writes through admission control before they are routed or handled, reads always pass.
+    * Clients are named by the configured header or else their address. A request forwarded by another member was
+    * charged to its client there, it is only checked for saturation here. A forwarded header not sent by a member is
+    * ignored, so clients can not skip their bucket by sending it.
+ */
+@Component
+public class AdmissionInterceptor implements HandlerInterceptor {
+    private final AdmissionControl admissionControl;
+    private final ClusterMembership membership;
+    private final String clientHeader;
+
+    public AdmissionInterceptor(AdmissionControl admissionControl, ClusterMembership membership, CacheConfig cacheConfig) {
+        this.admissionControl = admissionControl;
+        this.membership = membership;
+        this.clientHeader = cacheConfig.getAdmission().getClientHeader();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if(DispatcherType.ASYNC == request.getDispatcherType()) return true;
+        String method = request.getMethod();
+        if("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) return true;
+
+        String client = null;
+        if(!this.membership.isForwardedByMember(request)) {
+            client = request.getHeader(this.clientHeader);
+            if(null == client || client.isBlank()) client = request.getRemoteAddr();
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        this.admissionControl.admit(client, path.startsWith("/v2/"));
+        return true;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.kcacheservice.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    * Write allowance of one client, refilled continuously at rate tokens per second up to burst tokens. Each admitted
+    * write takes one token.
+ */
+public class TokenBucket {
+    private final double tokensPerNano;
+    private final double burst;
+    private final ReentrantLock lock;
+    private double tokens;
+    private long refilledAt;
+
+    public TokenBucket(double ratePerSecond, double burst, long now) {
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.lock = new ReentrantLock();
+        this.tokens = burst;
+        this.refilledAt = now;
+    }
+
+    /*
+        * Takes a token and returns 0, or returns the nanos until the next token without taking one
+     */
+    public long tryAcquire(long now) {
+        try {
+            this.lock.lock();
+            this.refill(now);
+            if(this.tokens >= 1) {
+                this.tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - this.tokens) / this.tokensPerNano);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /*
+        * A full bucket can be dropped and created again on the next write without changing any decision
+     */
+    public boolean isFull(long now) {
+        try {
+            this.lock.lock();
+            this.refill(now);
+            return this.tokens >= this.burst;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void refill(long now) {
+        if(now <= this.refilledAt) return;
+        this.tokens = Math.min(this.burst, this.tokens + (now - this.refilledAt) * this.tokensPerNano);
+        this.refilledAt = now;
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.kcacheservice.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.exception.ClusterUnavailableException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/*
+    * Sends requests to other cluster nodes over one shared HTTP client, which keeps a pool of connections per node and
+    * upgrades them to HTTP/2 where the node supports it.
+    * Forwarded requests are marked, the receiving node always serves them itself, so differing views of the ring during
+    * a membership change can not bounce a request between nodes.
+ */
+@Component
+@Slf4j
+public class ClusterForwarder {
+    public static final String FORWARDED_HEADER = "X-KCache-Forwarded-By";
+    public static final String SECRET_HEADER = "X-KCache-Cluster-Secret";
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT,
+            HttpHeaders.IF_MATCH, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.RETRY_AFTER);
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final ClusterMembership membership;
+
+    public ClusterForwarder(ClusterMembership membership) {
+        this.membership = membership;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+    }
+
+    /*
+        * Replays the request on the owner node and copies status, content type, validators, retry after and body of its
+        * response, so conditional reads of keys owned by other nodes are answered with 304 as well
+     */
+    public void forward(String owner, String path, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String query = request.getQueryString();
+        HttpRequest.Builder builder = this.memberRequest(URI.create(owner + path + (null == query ? "" : "?" + query)));
+        for(String header : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if(null != value) builder.header(header, value);
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        builder.method(request.getMethod(), body.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(body));
+
+        HttpResponse<byte[]> forwarded = this.send(owner, builder.build());
+        response.setStatus(forwarded.statusCode());
+        forwarded.headers().firstValue(HttpHeaders.CONTENT_TYPE).ifPresent(response::setContentType);
+        for(String header : FORWARDED_RESPONSE_HEADERS) {
+            forwarded.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+        }
+        response.getOutputStream().write(forwarded.body());
+    }
+
+    /*
+        * Posts newline delimited records to the import endpoint of a node
+     */
+    public void push(String node, byte[] records) {
+        HttpRequest request = this.memberRequest(URI.create(node + "/v2/user/cluster/import"))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(records))
+                .build();
+        HttpResponse<byte[]> response = this.send(node, request);
+        if(response.statusCode() != 200) {
+            throw new ClusterUnavailableException("Cluster node " + node + " rejected records with status " + response.statusCode());
+        }
+    }
+
+    /*
+        * Request naming this node as forwarder, with the cluster secret when one is configured
+     */
+    private HttpRequest.Builder memberRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header(FORWARDED_HEADER, this.membership.self());
+        String secret = this.membership.secret();
+        if(null != secret && !secret.isEmpty()) builder.header(SECRET_HEADER, secret);
+        return builder;
+    }
+
+    private HttpResponse<byte[]> send(String node, HttpRequest request) {
+        try {
+            return this.httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch(IOException e) {
+            log.warn("Cluster node {} is unreachable: {}", node, e.toString());
+            throw new ClusterUnavailableException("Cluster node " + node + " is unavailable");
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ClusterUnavailableException("Interrupted while calling cluster node " + node);
+        }
+    }
+}
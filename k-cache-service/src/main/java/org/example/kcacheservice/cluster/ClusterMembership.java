@@ -0,0 +1,137 @@
+package org.example.kcacheservice.cluster;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.exception.CacheException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+    * Current node list of the cluster and the hash ring built from it.
+    * With a nodes file the list is reloaded periodically, every change swaps in a new ring and is announced with a
+    * ClusterRingChangedEvent so local records now owned by other nodes can be moved.
+ */
+@Component
+@Slf4j
+public class ClusterMembership {
+    private final CacheConfig.Cluster config;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String self;
+    private volatile HashRing ring;
+
+    public ClusterMembership(CacheConfig cacheConfig, ApplicationEventPublisher eventPublisher) {
+        this.config = cacheConfig.getCluster();
+        this.eventPublisher = eventPublisher;
+        this.self = this.config.isEnabled() ? normalize(this.config.getSelf()) : null;
+        if(this.config.isEnabled()) {
+            try {
+                this.ring = new HashRing(this.loadNodes(), this.config.getVirtualNodes());
+            } catch(IOException e) {
+                log.error("Error reading cluster nodes file {}", this.config.getNodesFile(), e);
+                throw new CacheException("Failed to read cluster nodes file");
+            }
+            if(!this.ring.getNodes().contains(this.self)) {
+                log.warn("Cluster node {} is not in the node list {}, it will own no keys", this.self, this.ring.getNodes());
+            }
+            log.info("Cluster node {} joined ring of {}", this.self, this.ring.getNodes());
+        } else {
+            this.ring = new HashRing(List.of(), this.config.getVirtualNodes());
+        }
+    }
+
+    public boolean isEnabled() {
+        return this.config.isEnabled();
+    }
+
+    public String self() {
+        return this.self;
+    }
+
+    public HashRing ring() {
+        return this.ring;
+    }
+
+    public boolean isSelf(String node) {
+        return node.equals(this.self);
+    }
+
+    /*
+        * Whether the request was forwarded by another member, which then already charged and routed it. The forwarded
+        * header must name a member and the request carry the cluster secret, or without a secret come from an address
+        * of that member. Anything else is a client request, whatever headers it sends.
+     */
+    public boolean isForwardedByMember(HttpServletRequest request) {
+        String node = request.getHeader(ClusterForwarder.FORWARDED_HEADER);
+        if(!this.config.isEnabled() || null == node) return false;
+        node = normalize(node);
+        if(this.isSelf(node) || !this.ring.getNodes().contains(node)) return false;
+
+        String secret = this.config.getSecret();
+        if(null != secret && !secret.isEmpty()) {
+            String token = request.getHeader(ClusterForwarder.SECRET_HEADER);
+            return null != token && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8), secret.getBytes(StandardCharsets.UTF_8));
+        }
+        try {
+            String host = URI.create(node).getHost();
+            return null != host && Arrays.stream(InetAddress.getAllByName(host))
+                    .anyMatch(address -> address.getHostAddress().equals(request.getRemoteAddr()));
+        } catch(UnknownHostException | IllegalArgumentException e) {
+            log.debug("Not trusting request forwarded by {}: {}", node, e.getMessage());
+            return false;
+        }
+    }
+
+    public String secret() {
+        return this.config.getSecret();
+    }
+
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+    public void refresh() {
+        if(!this.config.isEnabled() || null == this.config.getNodesFile()) return;
+        List<String> nodes;
+        try {
+            nodes = this.loadNodes();
+        } catch(IOException e) {
+            log.warn("Keeping cluster nodes, nodes file {} is not readable: {}", this.config.getNodesFile(), e.getMessage());
+            return;
+        }
+        if(nodes.isEmpty() || nodes.equals(this.ring.getNodes())) return;
+
+        HashRing previous = this.ring;
+        this.ring = new HashRing(nodes, this.config.getVirtualNodes());
+        log.info("Cluster nodes changed from {} to {}", previous.getNodes(), nodes);
+        this.eventPublisher.publishEvent(new ClusterRingChangedEvent(previous, this.ring));
+    }
+
+    private List<String> loadNodes() throws IOException {
+        Collection<String> nodes = null == this.config.getNodesFile()
+                ? this.config.getNodes()
+                : Files.readAllLines(Path.of(this.config.getNodesFile()));
+        return nodes.stream()
+                .map(String::trim)
+                .filter(node -> !node.isEmpty() && !node.startsWith("#"))
+                .map(ClusterMembership::normalize)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+
+    private static String normalize(String node) {
+        return node.trim().replaceAll("/+$", "");
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.kcacheservice.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.event.CacheChange;
+import org.example.kcacheservice.event.CacheMutationEvent;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.exception.CachePreconditionFailedException;
+import org.example.kcacheservice.service.CacheService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+    * Moves local records to the nodes owning them after the ring changed.
+    * Records are streamed to their new owner in batches and removed locally once the owner accepted them, unless they
+    * were written meanwhile. The owner only imports keys it does not hold yet, a write routed to it during the move is
+    * newer than the moved record.
+ */
+@Component
+@Slf4j
+public class ClusterRebalancer {
+    private static final int BATCH_SIZE = 500;
+
+    private final ClusterMembership membership;
+    private final ClusterForwarder forwarder;
+    private final CacheService cacheService;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService executor;
+
+    public ClusterRebalancer(ClusterMembership membership,
+                             ClusterForwarder forwarder,
+                             @Qualifier("CacheServiceV2") CacheService cacheService,
+                             ObjectMapper objectMapper) {
+        this.membership = membership;
+        this.forwarder = forwarder;
+        this.cacheService = cacheService;
+        this.objectMapper = objectMapper;
+        this.executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("cluster-rebalancer").factory());
+    }
+
+    @EventListener
+    public void onRingChanged(ClusterRingChangedEvent event) {
+        this.executor.execute(this::rebalance);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /*
+        * Imports newline delimited ADD records, returns the number of records added
+     */
+    public int importRecords(InputStream records) throws IOException {
+        int imported = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(records, StandardCharsets.UTF_8));
+        for(String line = reader.readLine(); null != line; line = reader.readLine()) {
+            if(line.isBlank()) continue;
+            CacheChange record = this.objectMapper.readValue(line, CacheChange.class);
+            try {
+                this.cacheService.putIfAbsent(record.getNamespace(), record.getKey(), record.getValue());
+                imported++;
+            } catch(CachePreconditionFailedException e) {
+                log.trace("Keeping record with key {}, it was written here during the move", record.getKey());
+            }
+        }
+        return imported;
+    }
+
+    void rebalance() {
+        HashRing ring = this.membership.ring();
+        log.info("Rebalancing local records over {}", ring.getNodes());
+        Map<String, List<CacheDTO>> batches = new HashMap<>();
+        int[] moved = new int[1];
+        try {
+            this.cacheService.export(record -> {
+                String owner = ring.owner(record.getNamespace(), record.getId());
+                if(this.membership.isSelf(owner)) return;
+                List<CacheDTO> batch = batches.computeIfAbsent(owner, node -> new ArrayList<>());
+                batch.add(record);
+                if(batch.size() >= BATCH_SIZE) {
+                    moved[0] += this.move(owner, batch);
+                    batch.clear();
+                }
+            });
+            for(Map.Entry<String, List<CacheDTO>> batch : batches.entrySet()) {
+                if(!batch.getValue().isEmpty()) {
+                    moved[0] += this.move(batch.getKey(), batch.getValue());
+                }
+            }
+            log.info("Rebalance moved {} records to other nodes", moved[0]);
+        } catch(CacheException | UncheckedIOException e) {
+            log.error("Rebalance stopped after moving {} records, the rest stays until the next ring change", moved[0], e);
+        }
+    }
+
+    private int move(String owner, List<CacheDTO> batch) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            for(CacheDTO record : batch) {
+                out.write(this.objectMapper.writeValueAsBytes(CacheChange.builder()
+                        .type(CacheMutationEvent.Type.ADD)
+                        .namespace(record.getNamespace())
+                        .key(record.getId())
+                        .value(record.getValue())
+                        .build()));
+                out.write('\n');
+            }
+        } catch(IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.forwarder.push(owner, out.toByteArray());
+        for(CacheDTO record : batch) {
+            try {
+                this.cacheService.removeIfVersion(record.getNamespace(), record.getId(), record.getVersion());
+            } catch(CachePreconditionFailedException e) {
+                log.debug("Keeping record with key {}, it was written here after it was exported", record.getId());
+            }
+        }
+        return batch.size();
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.kcacheservice.cluster;
+
+/*
+    * Published when the node list of the cluster changes
+ */
+public record ClusterRingChangedEvent(HashRing previous, HashRing current) { }
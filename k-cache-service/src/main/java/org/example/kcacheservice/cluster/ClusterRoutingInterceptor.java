@@ -0,0 +1,54 @@
+package org.example.kcacheservice.cluster;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.kcacheservice.config.CacheConfig;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.UUID;
+
+/*
+    * Routes cache requests to the node owning the key, requests for keys owned by this node continue to the controller.
+    * A POST without key gets its key generated here, so the record is created on the node owning that key.
+    * The async dispatch writing the response of a request already routed here passes through.
+ */
+@Component
+public class ClusterRoutingInterceptor implements HandlerInterceptor {
+    public static final String GENERATED_ID_ATTRIBUTE = "org.example.kcacheservice.cluster.ClusterRoutingInterceptor.generatedId";
+
+    private final ClusterMembership membership;
+    private final ClusterForwarder forwarder;
+
+    public ClusterRoutingInterceptor(ClusterMembership membership, ClusterForwarder forwarder) {
+        this.membership = membership;
+        this.forwarder = forwarder;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if(this.membership.isForwardedByMember(request)) return true;
+        if(DispatcherType.ASYNC == request.getDispatcherType()) return true;
+
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if(null == variables) return true;
+        String namespace = variables.getOrDefault("namespace", CacheConfig.DEFAULT_NAMESPACE);
+        String id = variables.get("id");
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if(null == id) {
+            if(!"POST".equals(request.getMethod())) return true;
+            id = UUID.randomUUID().toString();
+            request.setAttribute(GENERATED_ID_ATTRIBUTE, id);
+            path = path.replaceAll("/+$", "") + "/" + id;
+        }
+
+        String owner = this.membership.ring().owner(namespace, id);
+        if(this.membership.isSelf(owner)) return true;
+        this.forwarder.forward(owner, path, request, response);
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package org.example.kcacheservice.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/*
+    * Immutable consistent hash ring. Every node is placed at several points of a 64 bit ring and a key belongs to the
+    * first node point at or after the hash of the key, so a membership change only moves the keys between the changed
+    * node's points and their predecessors.
+ */
+public final class HashRing {
+    private final List<String> nodes;
+    private final NavigableMap<Long, String> points;
+
+    public HashRing(List<String> nodes, int virtualNodes) {
+        this.nodes = List.copyOf(nodes);
+        TreeMap<Long, String> points = new TreeMap<>();
+        for(String node : this.nodes) {
+            for(int i = 0; i < virtualNodes; i++) {
+                points.put(hash(node + "#" + i), node);
+            }
+        }
+        this.points = Collections.unmodifiableNavigableMap(points);
+    }
+
+    public List<String> getNodes() {
+        return this.nodes;
+    }
+
+    public boolean isEmpty() {
+        return this.points.isEmpty();
+    }
+
+    public String owner(String namespace, String key) {
+        if(this.points.isEmpty()) throw new IllegalStateException("Hash ring has no nodes");
+        Map.Entry<Long, String> point = this.points.ceilingEntry(hash(namespace + "/" + key));
+        return null != point ? point.getValue() : this.points.firstEntry().getValue();
+    }
+
+    /*
+        * 64 bit FNV-1a followed by the murmur3 finalizer, which spreads similar node and key names over the whole ring
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for(byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.kcacheservice.config;
+
+import org.example.kcacheservice.admission.AdmissionInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class AdmissionWebConfig implements WebMvcConfigurer {
+
+    private final CacheConfig cacheConfig;
+    private final AdmissionInterceptor admissionInterceptor;
+
+    public AdmissionWebConfig(CacheConfig cacheConfig, AdmissionInterceptor admissionInterceptor) {
+        this.cacheConfig = cacheConfig;
+        this.admissionInterceptor = admissionInterceptor;
+    }
+
+    /*
+        * Runs after tracing, so shed writes show up in the latency stats, and before cluster routing, so a shed write
+        * is never forwarded
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if(!this.cacheConfig.getAdmission().isEnabled()) return;
+        registry.addInterceptor(this.admissionInterceptor)
+                .addPathPatterns("/v1/user/cache", "/v1/user/cache/**", "/v2/user/cache", "/v2/user/cache/**")
+                .order(Ordered.HIGHEST_PRECEDENCE + 1);
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.kcacheservice.config;
+
+import org.example.kcacheservice.service.AsyncCacheService;
+import org.example.kcacheservice.service.CacheService;
+import org.example.kcacheservice.service.impl.AsyncCacheServiceImpl;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AsyncConfig {
+
+    /*
+        * Bounded in threads and queued tasks, a full queue rejects instead of piling up requests behind the database
+     */
+    @Bean("coldTierExecutor")
+    public ThreadPoolTaskExecutor coldTierExecutor(CacheConfig cacheConfig) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cacheConfig.getColdTier().getThreads());
+        executor.setMaxPoolSize(cacheConfig.getColdTier().getThreads());
+        executor.setQueueCapacity(cacheConfig.getColdTier().getQueue());
+        executor.setThreadNamePrefix("cold-tier-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    @Bean("AsyncCacheServiceV1")
+    public AsyncCacheService asyncCacheServiceV1(@Qualifier("CacheServiceV1") CacheService cacheService,
+                                                 @Qualifier("coldTierExecutor") ThreadPoolTaskExecutor coldTier) {
+        return new AsyncCacheServiceImpl(cacheService, coldTier);
+    }
+
+    @Bean("AsyncCacheServiceV2")
+    public AsyncCacheService asyncCacheServiceV2(@Qualifier("CacheServiceV2") CacheService cacheService,
+                                                 @Qualifier("coldTierExecutor") ThreadPoolTaskExecutor coldTier) {
+        return new AsyncCacheServiceImpl(cacheService, coldTier);
+    }
+}
@@ -0,0 +1,472 @@
+package org.example.kcacheservice.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.example.kcacheservice.engine.EvictionPolicy;
+import org.example.kcacheservice.repository.PersistenceBackend;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+@Validated
+@Data
+public class CacheConfig {
+
+    public static final String DEFAULT_NAMESPACE = "default";
+
+    /*
+        * Maximum size of the cache
+        * Default is 100
+     */
+    @Min(value = 1, message = "maxSize must be at least 1")
+    private int maxSize = 100;
+
+    /*
+        * Eviction policy of the default namespace
+        * Default is LRU
+     */
+    @NotNull
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+    /*
+        * Records of the default namespace kept off the heap after their eviction from the in memory cache, read back
+        * without the database
+        * Default is 0, no warm tier
+     */
+    @Min(value = 0, message = "warmMaxSize must not be negative")
+    private int warmMaxSize = 0;
+
+    /*
+        * Memory of the default namespace's warm tier, allocated as it fills
+        * Default is 64
+     */
+    @Min(value = 1, message = "warmMaxMemoryMb must be at least 1")
+    private int warmMaxMemoryMb = 64;
+
+    /*
+        * Number of most recent mutations each cache service keeps for change stream consumers, values of added
+        * records are retained with them for replicas
+        * Default is 10000
+     */
+    @Min(value = 1, message = "changeLogCapacity must be at least 1")
+    private int changeLogCapacity = 10_000;
+
+    /*
+        * Additional namespaces, each with its own capacity and eviction policy
+     */
+    private Map<String, @Valid NamespaceConfig> namespaces = new LinkedHashMap<>();
+
+    /*
+        * Replication from a primary instance, disabled unless a primary url is set
+     */
+    @Valid
+    private Replication replication = new Replication();
+
+    /*
+        * Consistent hash cluster of v2 cache nodes, disabled unless the url of this node is set
+     */
+    @Valid
+    private Cluster cluster = new Cluster();
+
+    /*
+        * Background re-promotion and reload of frequently read v1 keys
+     */
+    @Valid
+    private RefreshAhead refreshAhead = new RefreshAhead();
+
+    /*
+        * Keys of each v1 namespace remembered as missing, so repeated fetches of absent keys skip the database
+     */
+    @Valid
+    private NegativeCache negativeCache = new NegativeCache();
+
+    /*
+        * Counting bloom filter per v1 namespace over the keys persisted in DB, lookups of other keys skip the DB
+     */
+    @Valid
+    private BloomFilter bloomFilter = new BloomFilter();
+
+    /*
+        * Snapshots of the in memory tier, written periodically and on shutdown and restored on startup
+     */
+    @Valid
+    private Snapshot snapshot = new Snapshot();
+
+    /*
+        * Sampled top-K of the most read v2 keys per namespace, served from a lock free replica
+     */
+    @Valid
+    private HotKeys hotKeys = new HotKeys();
+
+    /*
+        * Latency per phase of the user cache requests, slow operation log and flight recorder events
+     */
+    @Valid
+    private Tracing tracing = new Tracing();
+
+    /*
+        * Sampled access trace of each cache service, input of the miss ratio simulator
+     */
+    @Valid
+    private AccessTrace accessTrace = new AccessTrace();
+
+    /*
+        * Database access of the v2 persistent store
+     */
+    @Valid
+    private Persistence persistence = new Persistence();
+
+    /*
+        * Threads the asynchronous user api runs database bound reads and writes on
+     */
+    @Valid
+    private ColdTier coldTier = new ColdTier();
+
+    /*
+        * Per client write limits and load shedding of the user cache writes
+     */
+    @Valid
+    private Admission admission = new Admission();
+
+    @Data
+    public static class NamespaceConfig {
+        @Min(value = 1, message = "maxSize must be at least 1")
+        private int maxSize = 100;
+
+        @NotNull
+        private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+        @Min(value = 0, message = "warmMaxSize must not be negative")
+        private int warmMaxSize = 0;
+
+        @Min(value = 1, message = "warmMaxMemoryMb must be at least 1")
+        private int warmMaxMemoryMb = 64;
+    }
+
+    @Data
+    public static class Replication {
+        /*
+            * Base url of the primary, e.g. http://localhost:5500/kCacheService/api
+         */
+        private String primaryUrl;
+    }
+
+    @Data
+    public static class RefreshAhead {
+        /*
+            * Default is true
+         */
+        private boolean enabled = true;
+
+        /*
+            * Recent reads from which a key counts as hot
+            * Default is 4
+         */
+        @Min(value = 1, message = "hotThreshold must be at least 1")
+        private int hotThreshold = 4;
+
+        /*
+            * Entries closest to eviction checked per namespace and run, and evicted hot keys remembered for reload
+            * Default is 16
+         */
+        @Min(value = 1, message = "window must be at least 1")
+        private int window = 16;
+    }
+
+    @Data
+    public static class NegativeCache {
+        /*
+            * Missing keys remembered per namespace, 0 disables
+            * Default is 10000
+         */
+        @Min(value = 0, message = "maxSize must not be negative")
+        private int maxSize = 10_000;
+    }
+
+    @Data
+    public static class BloomFilter {
+        /*
+            * Default is true
+         */
+        private boolean enabled = true;
+
+        /*
+            * Keys a filter is sized for at least, a rebuild sizes it for twice the persisted keys when more
+            * Default is 10000
+         */
+        @Min(value = 1, message = "expectedKeys must be at least 1")
+        private long expectedKeys = 10_000;
+
+        /*
+            * False positive probability at the sized number of keys
+            * Default is 0.01
+         */
+        @DecimalMin(value = "0.0001", message = "falsePositiveProbability must be at least 0.0001")
+        @DecimalMax(value = "0.5", message = "falsePositiveProbability must be at most 0.5")
+        private double falsePositiveProbability = 0.01;
+    }
+
+    @Data
+    public static class Snapshot {
+        /*
+            * Default is false
+         */
+        private boolean enabled = false;
+
+        /*
+            * Directory of the snapshot files, one per cache service version
+            * Default is ./snapshot
+         */
+        @NotBlank
+        private String directory = "./snapshot";
+    }
+
+    @Data
+    public static class HotKeys {
+        /*
+            * Default is true
+         */
+        private boolean enabled = true;
+
+        /*
+            * One in sampleRate reads is counted
+            * Default is 16
+         */
+        @Min(value = 1, message = "sampleRate must be at least 1")
+        private int sampleRate = 16;
+
+        /*
+            * Keys counted per namespace, the least counted one makes room for a new key
+            * Default is 64
+         */
+        @Min(value = 1, message = "trackedKeys must be at least 1")
+        private int trackedKeys = 64;
+
+        /*
+            * Most counted keys served from the replica per namespace, 0 only reports hot keys
+            * Default is 16
+         */
+        @Min(value = 0, message = "replicatedKeys must not be negative")
+        private int replicatedKeys = 16;
+
+        /*
+            * Samples within the current refresh interval, halved every interval, from which a key counts as hot
+            * Default is 8
+         */
+        @Min(value = 1, message = "minSamples must be at least 1")
+        private int minSamples = 8;
+    }
+
+    @Data
+    public static class Tracing {
+        /*
+            * Default is true
+         */
+        private boolean enabled = true;
+
+        /*
+            * Requests taking at least this long are logged with their phase breakdown
+            * Default is 100
+         */
+        @Min(value = 1, message = "slowThresholdMillis must be at least 1")
+        private long slowThresholdMillis = 100;
+
+        /*
+            * Slow requests logged per second at most, the others are only counted
+            * Default is 10
+         */
+        @Min(value = 0, message = "slowLogLimit must not be negative")
+        private int slowLogLimit = 10;
+    }
+
+    @Data
+    public static class AccessTrace {
+        /*
+            * Records from startup, otherwise only between start and stop on the admin api
+            * Default is false
+         */
+        private boolean enabled = false;
+
+        /*
+            * Directory of the trace files, one per cache service version
+            * Default is ./trace
+         */
+        @NotBlank
+        private String directory = "./trace";
+
+        /*
+            * One in sampleRate keys is recorded with all its accesses
+            * Default is 1
+         */
+        @Min(value = 1, message = "sampleRate must be at least 1")
+        private int sampleRate = 1;
+
+        /*
+            * Recording stops once the file reaches this size
+            * Default is 256
+         */
+        @Min(value = 1, message = "maxSizeMb must be at least 1")
+        private int maxSizeMb = 256;
+    }
+
+    @Data
+    public static class Persistence {
+        /*
+            * JPA or JDBC, JDBC writes each record with one upsert statement
+            * Default is JPA
+         */
+        @NotNull
+        private PersistenceBackend backend = PersistenceBackend.JPA;
+
+        /*
+            * Statements per JDBC batch of the JDBC backend
+            * Default is 500
+         */
+        @Min(value = 1, message = "batchSize must be at least 1")
+        private int batchSize = 500;
+
+        /*
+            * Rows fetched per round trip when the JDBC backend loads the store
+            * Default is 1000
+         */
+        @Min(value = 1, message = "fetchSize must be at least 1")
+        private int fetchSize = 1_000;
+    }
+
+    @Data
+    public static class ColdTier {
+        /*
+            * Threads loading from and writing to the database, there is no point in more threads than pooled connections
+            * Default is 10
+         */
+        @Min(value = 1, message = "threads must be at least 1")
+        private int threads = 10;
+
+        /*
+            * Requests allowed to wait for a thread, further requests are rejected with 503 instead of queuing without
+            * bound
+            * Default is 10000
+         */
+        @Min(value = 1, message = "queue must be at least 1")
+        private int queue = 10_000;
+    }
+
+    @Data
+    public static class Admission {
+        /*
+            * Default is true
+         */
+        private boolean enabled = true;
+
+        /*
+            * Writes each client may send per second on average, 0 for no limit
+            * Default is 0
+         */
+        @Min(value = 0, message = "clientWritesPerSecond must not be negative")
+        private int clientWritesPerSecond = 0;
+
+        /*
+            * Writes a client may send at once after being idle
+            * Default is 1000
+         */
+        @Min(value = 1, message = "clientBurst must be at least 1")
+        private int clientBurst = 1_000;
+
+        /*
+            * Header naming the client, requests without it are told apart by remote address
+            * Default is X-Client-Id
+         */
+        @NotBlank
+        private String clientHeader = "X-Client-Id";
+
+        /*
+            * Calls waiting for a cold tier thread from which writes are shed
+            * Default is 5000
+         */
+        @Min(value = 1, message = "maxQueueDepth must be at least 1")
+        private int maxQueueDepth = 5_000;
+
+        /*
+            * Mean wait for a segment write lock, over the last sample interval, from which writes are shed
+            * Default is 100
+         */
+        @Min(value = 1, message = "maxLockWaitMillis must be at least 1")
+        private long maxLockWaitMillis = 100;
+
+        /*
+            * Keys waiting for the v2 flush to DB from which v2 writes are shed
+            * Default is 100000
+         */
+        @Min(value = 1, message = "maxPendingWrites must be at least 1")
+        private int maxPendingWrites = 100_000;
+
+        /*
+            * Age of the last v2 flush to DB while keys are waiting from which v2 writes are shed, flushes run every
+            * 10 seconds
+            * Default is 60000
+         */
+        @Min(value = 1, message = "maxFlushLagMillis must be at least 1")
+        private long maxFlushLagMillis = 60_000;
+
+        /*
+            * Retry-After of writes shed for saturation
+            * Default is 1
+         */
+        @Min(value = 1, message = "retryAfterSeconds must be at least 1")
+        private int retryAfterSeconds = 1;
+
+        /*
+            * Interval at which queue depth, lock wait and flush backlog are sampled
+            * Default is 100
+         */
+        @Min(value = 10, message = "sampleIntervalMillis must be at least 10")
+        private long sampleIntervalMillis = 100;
+    }
+
+    @Data
+    public static class Cluster {
+        /*
+            * Base url of this node as listed in the node list, e.g. http://localhost:5500/kCacheService/api
+         */
+        private String self;
+
+        /*
+            * Base urls of all nodes, including this one
+         */
+        private List<String> nodes = new ArrayList<>();
+
+        /*
+            * File with one node url per line, takes precedence over nodes and is reloaded when it changes
+         */
+        private String nodesFile;
+
+        /*
+            * Points each node gets on the hash ring
+            * Default is 128
+         */
+        @Min(value = 1, message = "virtualNodes must be at least 1")
+        private int virtualNodes = 128;
+
+        /*
+            * Secret every node sends with requests it forwards, without it a forwarded request is only trusted when it
+            * comes from an address of the node it names
+         */
+        private String secret;
+
+        public boolean isEnabled() {
+            return null != this.self && !this.self.isBlank();
+        }
+    }
+}
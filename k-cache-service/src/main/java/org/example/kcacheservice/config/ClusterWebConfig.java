@@ -0,0 +1,26 @@
+package org.example.kcacheservice.config;
+
+import org.example.kcacheservice.cluster.ClusterMembership;
+import org.example.kcacheservice.cluster.ClusterRoutingInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ClusterWebConfig implements WebMvcConfigurer {
+
+    private final ClusterMembership membership;
+    private final ClusterRoutingInterceptor routingInterceptor;
+
+    public ClusterWebConfig(ClusterMembership membership, ClusterRoutingInterceptor routingInterceptor) {
+        this.membership = membership;
+        this.routingInterceptor = routingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if(!this.membership.isEnabled()) return;
+        registry.addInterceptor(this.routingInterceptor)
+                .addPathPatterns("/v2/user/cache", "/v2/user/cache/**");
+    }
+}
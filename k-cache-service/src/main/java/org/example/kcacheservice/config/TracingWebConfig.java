@@ -0,0 +1,27 @@
+package org.example.kcacheservice.config;
+
+import org.example.kcacheservice.tracing.LatencyTracingInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class TracingWebConfig implements WebMvcConfigurer {
+
+    private final CacheConfig cacheConfig;
+    private final LatencyTracingInterceptor tracingInterceptor;
+
+    public TracingWebConfig(CacheConfig cacheConfig, LatencyTracingInterceptor tracingInterceptor) {
+        this.cacheConfig = cacheConfig;
+        this.tracingInterceptor = tracingInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if(!this.cacheConfig.getTracing().isEnabled()) return;
+        registry.addInterceptor(this.tracingInterceptor)
+                .addPathPatterns("/v1/user/cache", "/v1/user/cache/**", "/v2/user/cache", "/v2/user/cache/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.kcacheservice.controller;
+
+import org.example.kcacheservice.admission.AdmissionControl;
+import org.example.kcacheservice.dto.AccessTraceStatus;
+import org.example.kcacheservice.dto.AdmissionStats;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheStats;
+import org.example.kcacheservice.dto.OperationLatencyStats;
+import org.example.kcacheservice.dto.HotKeyStats;
+import org.example.kcacheservice.service.CacheService;
+import org.example.kcacheservice.tracing.LatencyTracer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/v2/admin/cache")
+public class AdminControllerV2 {
+
+    private static final String PATH_PREFIX = "/v2/";
+
+    private final CacheService cacheService;
+    private final LatencyTracer latencyTracer;
+    private final AdmissionControl admissionControl;
+
+    public AdminControllerV2(@Qualifier("CacheServiceV2") CacheService cacheService, LatencyTracer latencyTracer,
+                             AdmissionControl admissionControl) {
+        this.cacheService = cacheService;
+        this.latencyTracer = latencyTracer;
+        this.admissionControl = admissionControl;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<ApiResponseEnvelop<List<CacheStats>>> stats() {
+        return ResponseEntity.ok(ApiResponseEnvelop.success(this.cacheService.stats()));
+    }
+
+    @GetMapping("/hot-keys")
+    public ResponseEntity<ApiResponseEnvelop<List<HotKeyStats>>> hotKeys() {
+        return ResponseEntity.ok(ApiResponseEnvelop.success(this.cacheService.hotKeys()));
+    }
+
+    @GetMapping("/latency")
+    public ResponseEntity<ApiResponseEnvelop<List<OperationLatencyStats>>> latency() {
+        return ResponseEntity.ok(ApiResponseEnvelop.success(this.latencyTracer.stats(PATH_PREFIX)));
+    }
+
+    @DeleteMapping("/latency")
+    public ResponseEntity<ApiResponseEnvelop<String>> resetLatency() {
+        this.latencyTracer.reset(PATH_PREFIX);
+        return ResponseEntity.ok(ApiResponseEnvelop.success("OK"));
+    }
+
+    @GetMapping("/admission")
+    public ResponseEntity<ApiResponseEnvelop<AdmissionStats>> admission() {
+        return ResponseEntity.ok(ApiResponseEnvelop.success(this.admissionControl.stats(true)));
+    }
+
+    @GetMapping("/trace")
+    public ResponseEntity<ApiResponseEnvelop<AccessTraceStatus>> trace() {
+        return ResponseEntity.ok(ApiResponseEnvelop.success(this.cacheService.accessTrace().status()));
+    }
+
+    @PostMapping("/trace/start")
+    public ResponseEntity<ApiResponseEnvelop<AccessTraceStatus>> startTrace() {
+        this.cacheService.accessTrace().start();
+        return ResponseEntity.ok(ApiResponseEnvelop.success(this.cacheService.accessTrace().status()));
+    }
+
+    @PostMapping("/trace/stop")
+    public ResponseEntity<ApiResponseEnvelop<AccessTraceStatus>> stopTrace() {
+        this.cacheService.accessTrace().stop();
+        return ResponseEntity.ok(ApiResponseEnvelop.success(this.cacheService.accessTrace().status()));
+    }
+
+    @DeleteMapping("/clear")
+    public ResponseEntity<ApiResponseEnvelop<String>> clear() {
+        ApiResponseEnvelop<String> response = this.cacheService.clear();
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/remove/all")
+    public ResponseEntity<ApiResponseEnvelop<String>> removeAll() {
+        ApiResponseEnvelop<String> response = this.cacheService.removeAll();
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{namespace}/clear")
+    public ResponseEntity<ApiResponseEnvelop<String>> clear(@PathVariable String namespace) {
+        ApiResponseEnvelop<String> response = this.cacheService.clear(namespace);
+        return ResponseEntity.ok(response);
+    }
+
+    @DeleteMapping("/{namespace}/remove/all")
+    public ResponseEntity<ApiResponseEnvelop<String>> removeAll(@PathVariable String namespace) {
+        ApiResponseEnvelop<String> response = this.cacheService.removeAll(namespace);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.kcacheservice.controller;
+
+import org.example.kcacheservice.event.CacheChangeLog;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/v2/user/changes")
+public class ChangeStreamControllerV2 {
+
+    private static final String SOURCE = "CacheServiceV2";
+
+    private final CacheChangeLog changeLog;
+
+    public ChangeStreamControllerV2(CacheChangeLog changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(@RequestParam(required = false) Long from,
+                                                   @RequestParam(required = false) String epoch,
+                                                   @RequestParam(defaultValue = "false") boolean values,
+                                                   @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        if(null == from && null != lastEventId) {
+            from = lastEventId + 1;
+        }
+        return ResponseEntity.ok()
+                .header(CacheChangeLog.EPOCH_HEADER, this.changeLog.epoch())
+                .body(this.changeLog.streamEvents(SOURCE, from, epoch, values));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamLines(@RequestParam(required = false) Long from,
+                                                           @RequestParam(required = false) String epoch,
+                                                           @RequestParam(defaultValue = "false") boolean values) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(CacheChangeLog.EPOCH_HEADER, this.changeLog.epoch())
+                .body(this.changeLog.streamLines(SOURCE, from, epoch, values));
+    }
+}
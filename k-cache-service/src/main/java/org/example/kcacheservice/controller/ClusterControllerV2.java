@@ -0,0 +1,38 @@
+package org.example.kcacheservice.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.example.kcacheservice.cluster.ClusterMembership;
+import org.example.kcacheservice.cluster.ClusterRebalancer;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/v2/user/cluster")
+public class ClusterControllerV2 {
+
+    private final ClusterMembership membership;
+    private final ClusterRebalancer rebalancer;
+
+    public ClusterControllerV2(ClusterMembership membership, ClusterRebalancer rebalancer) {
+        this.membership = membership;
+        this.rebalancer = rebalancer;
+    }
+
+    @GetMapping("/nodes")
+    public ResponseEntity<ApiResponseEnvelop<List<String>>> nodes() {
+        return ResponseEntity.ok(ApiResponseEnvelop.success(this.membership.ring().getNodes()));
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponseEnvelop<Integer>> importRecords(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(ApiResponseEnvelop.success(this.rebalancer.importRecords(request.getInputStream())));
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.kcacheservice.controller;
+
+import org.example.kcacheservice.event.CacheInvalidationBroadcaster;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/v1/user/invalidations")
+public class InvalidationControllerV1 {
+
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    public InvalidationControllerV1(CacheInvalidationBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe() {
+        return this.broadcaster.subscribe("CacheServiceV1");
+    }
+}
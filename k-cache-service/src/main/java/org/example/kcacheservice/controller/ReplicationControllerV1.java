@@ -0,0 +1,33 @@
+package org.example.kcacheservice.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.kcacheservice.replication.CacheSnapshotWriter;
+import org.example.kcacheservice.service.CacheService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/v1/user/replication")
+public class ReplicationControllerV1 {
+
+    private static final String SOURCE = "CacheServiceV1";
+
+    private final CacheService cacheService;
+    private final CacheSnapshotWriter snapshotWriter;
+
+    public ReplicationControllerV1(@Qualifier("CacheServiceV1") CacheService cacheService,
+                                   CacheSnapshotWriter snapshotWriter) {
+        this.cacheService = cacheService;
+        this.snapshotWriter = snapshotWriter;
+    }
+
+    @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void snapshot(HttpServletResponse response) throws IOException {
+        this.snapshotWriter.write(SOURCE, this.cacheService, response);
+    }
+}
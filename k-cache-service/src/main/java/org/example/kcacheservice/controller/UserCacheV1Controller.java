@@ -0,0 +1,161 @@
+package org.example.kcacheservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.dto.CacheScanPage;
+import org.example.kcacheservice.engine.RecordValidators;
+import org.example.kcacheservice.engine.WritePrecondition;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.example.kcacheservice.service.AsyncCacheService;
+import org.example.kcacheservice.service.CacheService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/*
+    * Handlers return futures of the asynchronous service, the request thread is released while a miss or a write waits
+    * on the database and the response is written by an async dispatch once the future completes
+ */
+@RestController
+@RequestMapping("/v1/user/cache")
+public class UserCacheV1Controller {
+
+    private static final int MAX_SCAN_LIMIT = 1000;
+
+    private final CacheService cacheService;
+    private final AsyncCacheService asyncCacheService;
+    private final ObjectMapper objectMapper;
+
+    public UserCacheV1Controller(@Qualifier("CacheServiceV1") CacheService cacheService,
+                                  @Qualifier("AsyncCacheServiceV1") AsyncCacheService asyncCacheService,
+                                  ObjectMapper objectMapper) {
+        this.cacheService = cacheService;
+        this.asyncCacheService = asyncCacheService;
+        this.objectMapper = objectMapper;
+    }
+
+    /*
+        * Page of records whose key starts with prefix, in key order, pass nextCursor of the response to read on
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<ApiResponseEnvelop<CacheScanPage>>> scan(@RequestParam(defaultValue = CacheConfig.DEFAULT_NAMESPACE) String namespace,
+                                                                                     @RequestParam(defaultValue = "") String prefix,
+                                                                                     @RequestParam(required = false) String cursor,
+                                                                                     @RequestParam(defaultValue = "100") int limit) {
+        return asyncCacheService.scan(namespace, prefix, cursor, scanLimit(limit))
+                .thenApply(page -> ResponseEntity.ok(ApiResponseEnvelop.success(page)));
+    }
+
+    /*
+        * Same page streamed as NDJSON while the tiers are merged, the key of the last line is the cursor of the next
+        * page when limit lines were returned. Runs on the request thread, which writes the lines as they are read.
+     */
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void scanStream(@RequestParam(defaultValue = CacheConfig.DEFAULT_NAMESPACE) String namespace,
+                           @RequestParam(defaultValue = "") String prefix,
+                           @RequestParam(required = false) String cursor,
+                           @RequestParam(defaultValue = "100") int limit,
+                           HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        try {
+            cacheService.scan(namespace, prefix, cursor, scanLimit(limit), record -> {
+                try {
+                    out.write(objectMapper.writeValueAsBytes(record));
+                    out.write('\n');
+                } catch(IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch(UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+    }
+
+    @GetMapping({"/{id}", "/{namespace}/{id}"})
+    public CompletableFuture<ResponseEntity<ApiResponseEnvelop<CacheDTO>>> getCacheById(@PathVariable Optional<String> namespace,
+                                                                                        @PathVariable String id) {
+        return asyncCacheService.fetch(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), id)
+                .thenApply(response -> RecordValidators.ok(response.getData()).body(response));
+    }
+
+    @GetMapping({"/raw/{id}", "/{namespace}/raw/{id}"})
+    public CompletableFuture<ResponseEntity<byte[]>> getRawCacheById(@PathVariable Optional<String> namespace, @PathVariable String id) {
+        return asyncCacheService.fetch(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), id).thenApply(response -> {
+            if(null == response.getData()) {
+                throw new CacheNotFoundException("Record with key " + id + " not found");
+            }
+            return RecordValidators.ok(response.getData())
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(response.getData().getValue());
+        });
+    }
+
+    @PostMapping(value = {"", "/{id}", "/{namespace}/{id}"},
+            consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public CompletableFuture<ResponseEntity<ApiResponseEnvelop<CacheDTO>>> add(@PathVariable Optional<String> namespace,
+                                                            @PathVariable Optional<String> id,
+                                                            @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                            @RequestBody byte[] value) {
+        String key = id.orElse(UUID.randomUUID().toString());
+        return this.write(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), key, ifMatch, ifNoneMatch, value)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /*
+        * Adds by to a value holding a decimal number, an absent key starts from 0
+     */
+    @PostMapping({"/increment/{id}", "/{namespace}/increment/{id}"})
+    public CompletableFuture<ResponseEntity<ApiResponseEnvelop<CacheDTO>>> increment(@PathVariable Optional<String> namespace,
+                                                                                     @PathVariable String id,
+                                                                                     @RequestParam(defaultValue = "1") long by) {
+        return asyncCacheService.incrementBy(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), id, by)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = {"/append/{id}", "/{namespace}/append/{id}"},
+            consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public CompletableFuture<ResponseEntity<ApiResponseEnvelop<CacheDTO>>> append(@PathVariable Optional<String> namespace,
+                                                                                  @PathVariable String id,
+                                                                                  @RequestBody byte[] value) {
+        return asyncCacheService.append(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), id, value)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @DeleteMapping({"/key/{id}", "/{namespace}/key/{id}"})
+    public CompletableFuture<ResponseEntity<ApiResponseEnvelop<String>>> remove(@PathVariable Optional<String> namespace,
+                                                                                @PathVariable String id) {
+        return asyncCacheService.remove(namespace.orElse(CacheConfig.DEFAULT_NAMESPACE), id)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /*
+        * If-Match: "<version>" or * writes only over a matching record, If-None-Match: * only when the key is absent,
+        * a failed precondition answers 412 and a malformed one 400
+     */
+    private CompletableFuture<ApiResponseEnvelop<CacheDTO>> write(String namespace, String key, String ifMatch, String ifNoneMatch, byte[] value) {
+        WritePrecondition precondition = WritePrecondition.of(ifMatch, ifNoneMatch);
+        if(precondition.isNone()) {
+            return asyncCacheService.add(namespace, key, value);
+        }
+        return asyncCacheService.putIf(namespace, key, precondition, value);
+    }
+
+    private static int scanLimit(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_SCAN_LIMIT);
+    }
+}
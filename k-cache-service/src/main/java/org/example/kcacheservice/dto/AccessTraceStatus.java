@@ -0,0 +1,21 @@
+package org.example.kcacheservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class AccessTraceStatus {
+    private boolean recording;
+    private String file;
+    /*
+        * One in sampleRate keys is recorded, 0 before the first recording
+     */
+    private int sampleRate;
+    private long records;
+    private long bytes;
+    private Instant startedAt;
+    private Instant stoppedAt;
+}
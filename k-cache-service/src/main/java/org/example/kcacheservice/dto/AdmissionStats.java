@@ -0,0 +1,30 @@
+package org.example.kcacheservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class AdmissionStats {
+    /*
+        * Signals of the last sample, calls waiting for a cold tier thread, mean wait of the segment write locks that
+        * had to wait and the backlog of the v2 flush to DB
+     */
+    private int queueDepth;
+    private double lockWaitMillis;
+    private int pendingWrites;
+    private long flushLagMillis;
+    /*
+        * Signal over its limit while writes are shed, absent otherwise
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String saturation;
+    private int clients;
+    /*
+        * Writes admitted, turned away by the client limit and shed for saturation since startup
+     */
+    private long admitted;
+    private long rateLimited;
+    private long shed;
+}
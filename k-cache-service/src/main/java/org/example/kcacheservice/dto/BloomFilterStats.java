@@ -0,0 +1,29 @@
+package org.example.kcacheservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class BloomFilterStats {
+    /*
+        * Keys the filter was sized for and keys it currently holds
+     */
+    private long capacity;
+    private long keys;
+    private long memoryBytes;
+    /*
+        * False positive probability the filter was sized for and the one its current fill gives
+     */
+    private double targetFalsePositiveRate;
+    private double estimatedFalsePositiveRate;
+    /*
+        * Share of lookups of absent keys which still went to DB, since startup
+     */
+    private double observedFalsePositiveRate;
+    private long lookups;
+    private long skippedLookups;
+    private Instant rebuiltAt;
+}
@@ -0,0 +1,18 @@
+package org.example.kcacheservice.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheDTO {
+    private String namespace;
+    private String id;
+    @JsonSerialize(using = Utf8ValueSerializer.class)
+    private byte[] value;
+    /*
+        * Changes on every write of the key, compared by conditional updates
+     */
+    private long version;
+}
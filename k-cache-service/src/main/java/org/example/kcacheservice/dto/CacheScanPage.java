@@ -0,0 +1,18 @@
+package org.example.kcacheservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class CacheScanPage {
+    private List<CacheDTO> records;
+    /*
+        * Key to pass as cursor for the next page, absent on the last page
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package org.example.kcacheservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CacheStats {
+    private String namespace;
+    private int size;
+    private int maxSize;
+    /*
+        * Keys remembered as missing, v1 only
+     */
+    private Integer missingKeys;
+    /*
+        * Filter over the keys persisted in DB, v1 only and absent until it was first built
+     */
+    private BloomFilterStats bloomFilter;
+    /*
+        * Keys served from the hot key replica and reads it answered since startup, v2 only
+     */
+    private Integer replicatedKeys;
+    private Long replicaHits;
+    /*
+        * Off heap tier below the in memory cache, absent unless configured
+     */
+    private WarmTierStats warm;
+}
@@ -0,0 +1,17 @@
+package org.example.kcacheservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class HotKeyStats {
+    private String namespace;
+    private String key;
+    /*
+        * Recent reads estimated from the samples, older intervals count for less, and how much may be overcounted
+     */
+    private long estimatedReads;
+    private long maxOverestimate;
+    private boolean replicated;
+}
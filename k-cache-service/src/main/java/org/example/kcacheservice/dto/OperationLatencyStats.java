@@ -0,0 +1,19 @@
+package org.example.kcacheservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import org.example.kcacheservice.tracing.TracePhase;
+
+import java.util.Map;
+
+@Data
+@Builder
+public class OperationLatencyStats {
+    /*
+        * Method and path pattern, e.g. POST /v1/user/cache/{id}
+     */
+    private String operation;
+    private long count;
+    private LatencyPercentiles total;
+    private Map<TracePhase, LatencyPercentiles> phases;
+}
@@ -0,0 +1,31 @@
+package org.example.kcacheservice.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/*
+    * Writes cache values as JSON strings straight from their UTF-8 bytes.
+    * Byte oriented generators (the one used for HTTP responses) copy the bytes without decoding them to a String,
+    * other generators fall back to a regular decode. Values which are not UTF-8 text should be read through the raw
+    * endpoints instead.
+ */
+public class Utf8ValueSerializer extends StdSerializer<byte[]> {
+
+    public Utf8ValueSerializer() {
+        super(byte[].class);
+    }
+
+    @Override
+    public void serialize(byte[] value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if(gen instanceof UTF8JsonGenerator) {
+            gen.writeUTF8String(value, 0, value.length);
+        } else {
+            gen.writeString(new String(value, StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.kcacheservice.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class WarmTierStats {
+    private int size;
+    private int maxSize;
+    /*
+        * Off heap bytes taken by the values held and allocated so far, at most the configured memory
+     */
+    private long usedBytes;
+    private long allocatedBytes;
+    /*
+        * Reads answered from the warm tier since the store was created
+     */
+    private long hits;
+}
@@ -0,0 +1,197 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/*
+    * Adaptive replacement cache of Megiddo and Modha.
+    * T1 holds entries used once since they entered the cache and T2 entries used again, B1 and B2 remember the keys
+    * last evicted from each without their values. Putting a key remembered in B1 means T1 was evicted too early and
+    * raises the target size of T1, a key remembered in B2 lowers it. Eviction takes the least recently used entry of T1
+    * while T1 is above its target and of T2 otherwise, so a scan of new keys only cycles through T1 and the entries
+    * in T2 survive it.
+    * The services evict before they put, so the target adapts to a remembered key one eviction later than in the paper.
+ */
+public class ArcCacheStore implements CacheStore {
+
+    private final int capacity;
+    private final LinkedHashMap<String, CacheDTO> t1;
+    private final LinkedHashMap<String, CacheDTO> t2;
+    private final LinkedHashSet<String> b1;
+    private final LinkedHashSet<String> b2;
+    /*
+        * Key ordered copy of the entries for prefix scans, kept in step with T1 and T2
+     */
+    private final NavigableMap<String, CacheDTO> index;
+    /*
+        * Target size of T1
+     */
+    private double target;
+
+    public ArcCacheStore(int capacity) {
+        this.capacity = capacity;
+        this.t1 = new LinkedHashMap<>();
+        this.t2 = new LinkedHashMap<>();
+        this.b1 = new LinkedHashSet<>();
+        this.b2 = new LinkedHashSet<>();
+        this.index = new ConcurrentSkipListMap<>();
+    }
+
+    @Override
+    public CacheDTO get(String key) {
+        CacheDTO record = this.t1.remove(key);
+        if(null == record) record = this.t2.remove(key);
+        if(null != record) this.t2.put(key, record);
+        return record;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return this.t1.containsKey(key) || this.t2.containsKey(key);
+    }
+
+    @Override
+    public void put(String key, CacheDTO record) {
+        this.index.put(key, record);
+        if(null != this.t1.remove(key) || null != this.t2.remove(key)) {
+            this.t2.put(key, record);
+            return;
+        }
+
+        if(this.b1.remove(key)) {
+            this.target = Math.min(this.capacity, this.target + Math.max((double) this.b2.size() / Math.max(1, this.b1.size()), 1));
+            this.t2.put(key, record);
+        } else if(this.b2.remove(key)) {
+            this.target = Math.max(0, this.target - Math.max((double) this.b1.size() / Math.max(1, this.b2.size()), 1));
+            this.t2.put(key, record);
+        } else {
+            this.t1.put(key, record);
+        }
+
+        if(this.t1.size() + this.b1.size() > this.capacity) {
+            removeFirst(this.b1);
+        }
+        if(this.t1.size() + this.t2.size() + this.b1.size() + this.b2.size() > 2 * this.capacity) {
+            removeFirst(this.b2);
+        }
+    }
+
+    @Override
+    public CacheDTO remove(String key) {
+        this.index.remove(key);
+        CacheDTO record = this.t1.remove(key);
+        return null != record ? record : this.t2.remove(key);
+    }
+
+    @Override
+    public CacheDTO evict() {
+        boolean fromT1 = this.evictsFromT1(this.t1.size(), this.t2.size());
+        Map.Entry<String, CacheDTO> eldest = fromT1 ? pollFirst(this.t1) : pollFirst(this.t2);
+        if(null == eldest) return null;
+        (fromT1 ? this.b1 : this.b2).add(eldest.getKey());
+        this.index.remove(eldest.getKey());
+        return eldest.getValue();
+    }
+
+    /*
+        * Follows the choices evict would make without changing anything
+     */
+    @Override
+    public List<String> evictionCandidates(int limit) {
+        List<String> keys = new ArrayList<>(Math.min(limit, this.size()));
+        Iterator<String> first = this.t1.keySet().iterator();
+        Iterator<String> second = this.t2.keySet().iterator();
+        int t1Size = this.t1.size();
+        int t2Size = this.t2.size();
+        while(keys.size() < limit && (first.hasNext() || second.hasNext())) {
+            if(this.evictsFromT1(t1Size, t2Size)) {
+                keys.add(first.next());
+                t1Size--;
+            } else {
+                keys.add(second.next());
+                t2Size--;
+            }
+        }
+        return keys;
+    }
+
+    /*
+        * Moves the entry to the most recently used end of its own list
+     */
+    @Override
+    public void promote(String key) {
+        CacheDTO record = this.t1.remove(key);
+        if(null != record) {
+            this.t1.put(key, record);
+            return;
+        }
+        record = this.t2.remove(key);
+        if(null != record) {
+            this.t2.put(key, record);
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.t1.size() + this.t2.size();
+    }
+
+    @Override
+    public boolean isFull() {
+        return this.size() >= this.capacity;
+    }
+
+    @Override
+    public void clear() {
+        this.t1.clear();
+        this.t2.clear();
+        this.b1.clear();
+        this.b2.clear();
+        this.index.clear();
+        this.target = 0;
+    }
+
+    @Override
+    public List<CacheDTO> entries() {
+        List<CacheDTO> records = new ArrayList<>(this.size());
+        for(String key : this.evictionCandidates(this.size())) {
+            CacheDTO record = this.t1.get(key);
+            records.add(null != record ? record : this.t2.get(key));
+        }
+        return records;
+    }
+
+    @Override
+    public Iterator<CacheDTO> scan(String prefix, String cursor) {
+        return KeyScan.range(this.index, prefix, cursor).map(Map.Entry::getValue).iterator();
+    }
+
+    private boolean evictsFromT1(int t1Size, int t2Size) {
+        return t1Size > 0 && (t1Size > this.target || t2Size == 0);
+    }
+
+    private static Map.Entry<String, CacheDTO> pollFirst(LinkedHashMap<String, CacheDTO> entries) {
+        Iterator<Map.Entry<String, CacheDTO>> it = entries.entrySet().iterator();
+        if(!it.hasNext()) return null;
+        Map.Entry<String, CacheDTO> eldest = it.next();
+        Map.Entry<String, CacheDTO> copy = Map.entry(eldest.getKey(), eldest.getValue());
+        it.remove();
+        return copy;
+    }
+
+    private static void removeFirst(LinkedHashSet<String> keys) {
+        Iterator<String> it = keys.iterator();
+        if(it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.kcacheservice.engine;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.example.kcacheservice.dto.WarmTierStats;
+import org.example.kcacheservice.tracing.TracedLock;
+import org.example.kcacheservice.tracing.TracedReadWriteLock;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    * Independent slice of the in memory cache owned by one namespace.
+    * Each segment has its own capacity, eviction policy and lock, so traffic on one namespace never evicts or blocks
+    * entries of another.
+    * The segment lock only guards the in memory store and is never held across I/O. Work on a single key that has to
+    * touch the database is serialized by a striped key lock instead, taken before and never while holding the
+    * segment lock.
+    * Both locks report their wait and hold times to the trace of the operation taking them.
+ */
+@Getter
+public class CacheSegment {
+    private static final int KEY_LOCK_STRIPES = 256;
+
+    private final String namespace;
+    private final int maxSize;
+    private final EvictionPolicy evictionPolicy;
+    /*
+        * Records and memory of the off heap warm tier, no warm tier when warmMaxSize is 0
+     */
+    private final int warmMaxSize;
+    private final long warmMaxMemoryBytes;
+    private volatile CacheStore store;
+    private final ReentrantReadWriteLock lock;
+    private final FrequencySketch frequency;
+    @Getter(AccessLevel.NONE)
+    private final ReentrantLock[] keyLocks;
+
+    public CacheSegment(String namespace, int maxSize, EvictionPolicy evictionPolicy) {
+        this(namespace, maxSize, evictionPolicy, 0, 0);
+    }
+
+    public CacheSegment(String namespace, int maxSize, EvictionPolicy evictionPolicy,
+                        int warmMaxSize, long warmMaxMemoryBytes) {
+        this.namespace = namespace;
+        this.maxSize = maxSize;
+        this.evictionPolicy = evictionPolicy;
+        this.warmMaxSize = warmMaxSize;
+        this.warmMaxMemoryBytes = warmMaxMemoryBytes;
+        this.store = this.newStore();
+        this.lock = new TracedReadWriteLock();
+        this.frequency = new FrequencySketch(maxSize);
+        this.keyLocks = new ReentrantLock[KEY_LOCK_STRIPES];
+        for(int i = 0; i < KEY_LOCK_STRIPES; i++) {
+            this.keyLocks[i] = new TracedLock();
+        }
+    }
+
+    public ReentrantLock keyLock(String key) {
+        return this.keyLocks[Math.floorMod(key.hashCode(), KEY_LOCK_STRIPES)];
+    }
+
+    /*
+        * Drops all entries in constant time by swapping in an empty store, callers must hold the write lock
+     */
+    public void reset() {
+        this.store = this.newStore();
+    }
+
+    public boolean isFull() {
+        return this.store.isFull();
+    }
+
+    /*
+        * Warm tier of the current store, null without one
+     */
+    public WarmTierStats warmStats() {
+        if(!(this.store instanceof TieredCacheStore tiered)) return null;
+        OffHeapStore warm = tiered.warm();
+        return WarmTierStats.builder()
+                .size(warm.size())
+                .maxSize(warm.maxSize())
+                .usedBytes(warm.usedBytes())
+                .allocatedBytes(warm.allocatedBytes())
+                .hits(tiered.warmHits())
+                .build();
+    }
+
+    /*
+        * Records the in memory tiers hold together
+     */
+    public int getCapacity() {
+        return this.maxSize + this.warmMaxSize;
+    }
+
+    private CacheStore newStore() {
+        CacheStore hot = switch(this.evictionPolicy) {
+            case LRU -> new LinkedHashCacheStore(this.maxSize, true);
+            case FIFO -> new LinkedHashCacheStore(this.maxSize, false);
+            case ARC -> new ArcCacheStore(this.maxSize);
+        };
+        return this.warmMaxSize > 0
+                ? new TieredCacheStore(hot, this.maxSize, new OffHeapStore(this.warmMaxSize, this.warmMaxMemoryBytes))
+                : hot;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    * Registry of cache segments, one per configured namespace plus the default namespace.
+ */
+public class CacheSegments {
+    /*
+        * Names which collide with literal path segments of the user cache endpoints or with the generation row
+        * covering all namespaces
+     */
+    private static final Set<String> RESERVED_NAMESPACES = Set.of("raw", "key", "increment", "append", "*");
+
+    private final Map<String, CacheSegment> segments;
+
+    public CacheSegments(CacheConfig cacheConfig) {
+        Map<String, CacheSegment> segments = new LinkedHashMap<>();
+        segments.put(CacheConfig.DEFAULT_NAMESPACE, new CacheSegment(CacheConfig.DEFAULT_NAMESPACE,
+                cacheConfig.getMaxSize(), cacheConfig.getEvictionPolicy(),
+                cacheConfig.getWarmMaxSize(), megabytes(cacheConfig.getWarmMaxMemoryMb())));
+        cacheConfig.getNamespaces().forEach((name, namespaceConfig) -> {
+            if(RESERVED_NAMESPACES.contains(name)) {
+                throw new CacheException("Namespace name " + name + " is reserved");
+            }
+            segments.put(name, new CacheSegment(name, namespaceConfig.getMaxSize(), namespaceConfig.getEvictionPolicy(),
+                    namespaceConfig.getWarmMaxSize(), megabytes(namespaceConfig.getWarmMaxMemoryMb())));
+        });
+        this.segments = Collections.unmodifiableMap(segments);
+    }
+
+    public CacheSegment get(String namespace) {
+        CacheSegment segment = this.segments.get(namespace);
+        if(null == segment) {
+            throw new CacheNotFoundException("Namespace " + namespace + " is not configured");
+        }
+        return segment;
+    }
+
+    public Collection<CacheSegment> all() {
+        return this.segments.values();
+    }
+
+    private static long megabytes(int megabytes) {
+        return (long) megabytes << 20;
+    }
+}
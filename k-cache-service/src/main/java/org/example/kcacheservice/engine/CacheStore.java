@@ -0,0 +1,55 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+
+import java.util.Iterator;
+import java.util.List;
+
+/*
+    * In memory store backing a single cache segment.
+    * Implementations are not thread safe, callers guard them with the segment lock.
+ */
+public interface CacheStore {
+    public CacheDTO get(String key);
+
+    public boolean containsKey(String key);
+
+    public void put(String key, CacheDTO record);
+
+    public CacheDTO remove(String key);
+
+    /*
+        * Removes and returns the entry chosen by the eviction policy, null if the store is empty
+     */
+    public CacheDTO evict();
+
+    /*
+        * Keys of the next entries the eviction policy would pick, the first one is evicted first
+     */
+    public List<String> evictionCandidates(int limit);
+
+    /*
+        * Moves the entry to the position the eviction policy picks last, without counting as a read
+     */
+    public void promote(String key);
+
+    public int size();
+
+    /*
+        * Whether a new key needs an eviction first
+     */
+    public boolean isFull();
+
+    public void clear();
+
+    /*
+        * Copy of all entries in eviction order, callers hold at least the segment read lock
+     */
+    public List<CacheDTO> entries();
+
+    /*
+        * Entries whose key starts with prefix and sorts after cursor, read lazily in key order, safe to read without
+        * the segment lock
+     */
+    public Iterator<CacheDTO> scan(String prefix, String cursor);
+}
@@ -0,0 +1,141 @@
+package org.example.kcacheservice.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+    * Bloom filter with 4 bit counters instead of bits, so keys can be removed again.
+    * A counter that reached 15 stays there, removing never makes the filter answer absent for a key still added.
+    * Removing a key which was never added may, callers only remove keys they know were added.
+    * Lock free, counters are packed 16 to a long and updated with compare and set.
+ */
+public class CountingBloomFilter {
+    private static final int COUNTER_BITS = 4;
+    private static final int COUNTERS_PER_WORD = Long.SIZE / COUNTER_BITS;
+    private static final long MAX_COUNT = (1L << COUNTER_BITS) - 1;
+    private static final int MIN_COUNTERS = 1_024;
+
+    private final AtomicLongArray words;
+    private final long counters;
+    private final int hashes;
+    private final long capacity;
+    private final double targetProbability;
+    private final AtomicLong count;
+
+    /*
+        * Sized so that capacity keys give the false positive probability
+     */
+    public CountingBloomFilter(long capacity, double falsePositiveProbability) {
+        double ln2 = Math.log(2);
+        long size = (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (ln2 * ln2));
+        long words = Math.max(MIN_COUNTERS, size) / COUNTERS_PER_WORD + 1;
+        if(words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter for " + capacity + " keys is too large");
+        }
+        this.words = new AtomicLongArray((int) words);
+        this.counters = words * COUNTERS_PER_WORD;
+        this.hashes = Math.max(1, (int) Math.round((double) this.counters / Math.max(1, capacity) * ln2));
+        this.capacity = capacity;
+        this.targetProbability = falsePositiveProbability;
+        this.count = new AtomicLong();
+    }
+
+    public void add(String key) {
+        long hash = hash(key);
+        for(int i = 0; i < this.hashes; i++) {
+            this.update(this.index(hash, i), 1);
+        }
+        this.count.incrementAndGet();
+    }
+
+    public void remove(String key) {
+        long hash = hash(key);
+        for(int i = 0; i < this.hashes; i++) {
+            this.update(this.index(hash, i), -1);
+        }
+        this.count.decrementAndGet();
+    }
+
+    public boolean mightContain(String key) {
+        long hash = hash(key);
+        for(int i = 0; i < this.hashes; i++) {
+            if(this.counter(this.index(hash, i)) == 0) return false;
+        }
+        return true;
+    }
+
+    public long capacity() {
+        return this.capacity;
+    }
+
+    public double targetProbability() {
+        return this.targetProbability;
+    }
+
+    /*
+        * Keys added and not removed, keys added twice count twice
+     */
+    public long count() {
+        return this.count.get();
+    }
+
+    public long memoryBytes() {
+        return (long) this.words.length() * Long.BYTES;
+    }
+
+    /*
+        * False positive probability for the current fill, the share of non zero counters to the power of hashes
+     */
+    public double falsePositiveProbability() {
+        long used = 0;
+        for(int i = 0; i < this.words.length(); i++) {
+            long word = this.words.get(i);
+            for(int slot = 0; slot < COUNTERS_PER_WORD; slot++) {
+                if(((word >>> (slot * COUNTER_BITS)) & MAX_COUNT) != 0) used++;
+            }
+        }
+        return Math.pow((double) used / this.counters, this.hashes);
+    }
+
+    private void update(long index, int delta) {
+        int word = (int) (index / COUNTERS_PER_WORD);
+        int shift = (int) (index % COUNTERS_PER_WORD) * COUNTER_BITS;
+        while(true) {
+            long current = this.words.get(word);
+            long counter = (current >>> shift) & MAX_COUNT;
+            if(counter == MAX_COUNT || (delta < 0 && counter == 0)) return;
+            long next = current + ((long) delta << shift);
+            if(this.words.compareAndSet(word, current, next)) return;
+        }
+    }
+
+    private long counter(long index) {
+        long word = this.words.get((int) (index / COUNTERS_PER_WORD));
+        return (word >>> ((index % COUNTERS_PER_WORD) * COUNTER_BITS)) & MAX_COUNT;
+    }
+
+    /*
+        * Double hashing, the i-th index is h1 + i * h2 of two halves of a 64 bit hash
+     */
+    private long index(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod((long) h1 + (long) i * h2, this.counters);
+    }
+
+    /*
+        * 64 bit FNV-1a of the UTF-8 bytes with a final avalanche, String.hashCode is too narrow for large filters
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for(byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
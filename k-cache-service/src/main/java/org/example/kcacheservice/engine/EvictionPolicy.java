@@ -0,0 +1,16 @@
+package org.example.kcacheservice.engine;
+
+public enum EvictionPolicy {
+    /*
+        * Least recently used entry is evicted first, reads move the entry to the top of the order
+     */
+    LRU,
+    /*
+        * Oldest inserted entry is evicted first, reads do not change the order
+     */
+    FIFO,
+    /*
+        * Adaptive replacement, balances entries read once against entries read again by the misses it observes
+     */
+    ARC
+}
@@ -0,0 +1,65 @@
+package org.example.kcacheservice.engine;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    * Approximate read counts of the keys of one segment, a count-min sketch with small saturating counters.
+    * Every counter is halved after a fixed number of samples, so frequencies follow recent traffic and a key that
+    * stopped being read cools down. Lock free, a lost update under contention only makes an estimate slightly low.
+ */
+public class FrequencySketch {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final int MIN_WIDTH = 64;
+    private static final int SAMPLES_PER_COUNTER = 10;
+    private static final int[] SEEDS = {0x97cb3127, 0x7ed55d16, 0xc761c23c, 0x165667b1};
+
+    private final AtomicIntegerArray table;
+    private final AtomicLong samples;
+    private final int width;
+    private final long sampleSize;
+
+    public FrequencySketch(int maxSize) {
+        this.width = Math.max(MIN_WIDTH, Integer.highestOneBit(Math.max(1, maxSize * 4) - 1) << 1);
+        this.table = new AtomicIntegerArray(DEPTH * this.width);
+        this.samples = new AtomicLong();
+        this.sampleSize = (long) SAMPLES_PER_COUNTER * this.width;
+    }
+
+    public void increment(String key) {
+        int hash = key.hashCode();
+        boolean added = false;
+        for(int row = 0; row < DEPTH; row++) {
+            int index = this.indexOf(hash, row);
+            int count = this.table.get(index);
+            if(count < MAX_COUNT && this.table.compareAndSet(index, count, count + 1)) {
+                added = true;
+            }
+        }
+        if(added && this.samples.incrementAndGet() % this.sampleSize == 0) {
+            this.age();
+        }
+    }
+
+    public int frequency(String key) {
+        int hash = key.hashCode();
+        int frequency = MAX_COUNT;
+        for(int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, this.table.get(this.indexOf(hash, row)));
+        }
+        return frequency;
+    }
+
+    private void age() {
+        for(int i = 0; i < this.table.length(); i++) {
+            this.table.set(i, this.table.get(i) >>> 1);
+        }
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+        h ^= h >>> 16;
+        return row * this.width + (h & (this.width - 1));
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.kcacheservice.engine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    * Most read keys of one segment, space saving top-K over a sample of the reads.
+    * Tracks at most capacity keys, a key that is not tracked takes the place of the least counted one and inherits its
+    * count as error, so a count overestimates the reads of its key by at most its error.
+    * One in sampleRate reads is counted, chosen per thread without shared state. A sample that finds the counters busy
+    * is dropped instead of waiting, reads never block on the detector.
+ */
+public class HotKeyDetector {
+    private final int capacity;
+    private final int sampleRate;
+    private final Map<String, Counter> counters;
+    private final ReentrantLock lock;
+
+    public record HotKey(String key, long count, long error) { }
+
+    public HotKeyDetector(int capacity, int sampleRate) {
+        this.capacity = capacity;
+        this.sampleRate = sampleRate;
+        this.counters = new HashMap<>();
+        this.lock = new ReentrantLock();
+    }
+
+    public void sample(String key) {
+        if(this.sampleRate > 1 && ThreadLocalRandom.current().nextInt(this.sampleRate) != 0) return;
+        if(!this.lock.tryLock()) return;
+        try {
+            Counter counter = this.counters.get(key);
+            if(null != counter) {
+                counter.count++;
+            } else if(this.counters.size() < this.capacity) {
+                this.counters.put(key, new Counter(1, 0));
+            } else {
+                Map.Entry<String, Counter> least = this.counters.entrySet().stream()
+                        .min(Comparator.comparingLong(entry -> entry.getValue().count))
+                        .orElseThrow();
+                this.counters.remove(least.getKey());
+                this.counters.put(key, new Counter(least.getValue().count + 1, least.getValue().count));
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /*
+        * Up to limit keys counted at least minCount times, most counted first
+     */
+    public List<HotKey> top(int limit, long minCount) {
+        List<HotKey> hotKeys = new ArrayList<>();
+        try {
+            this.lock.lock();
+            this.counters.forEach((key, counter) -> {
+                if(counter.count >= minCount) hotKeys.add(new HotKey(key, counter.count, counter.error));
+            });
+        } finally {
+            this.lock.unlock();
+        }
+        hotKeys.sort(Comparator.comparingLong(HotKey::count).reversed());
+        return hotKeys.size() > limit ? hotKeys.subList(0, limit) : hotKeys;
+    }
+
+    /*
+        * Halves every count, so keys that stopped being read cool down and make room
+     */
+    public void age() {
+        try {
+            this.lock.lock();
+            Iterator<Counter> iterator = this.counters.values().iterator();
+            while(iterator.hasNext()) {
+                Counter counter = iterator.next();
+                counter.count >>>= 1;
+                counter.error >>>= 1;
+                if(counter.count == 0) iterator.remove();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public int sampleRate() {
+        return this.sampleRate;
+    }
+
+    private static final class Counter {
+        private long count;
+        private long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    * Immutable copy of the hot records of one segment, read without the segment lock.
+    * Reads only load the volatile map and look the key up, they write nothing shared, so every core serves them from
+    * its own cached copy of the map however skewed the traffic. Hits are counted in a striped adder.
+    * Holds only keys present in the segment store. Callers hold the segment write lock to publish or drop records,
+    * any write to a replicated key drops it in the same critical section, so a read never returns a value older
+    * than the last completed write.
+ */
+public class HotKeyReplica {
+    private volatile Map<String, CacheDTO> records;
+    private final LongAdder hits;
+
+    public HotKeyReplica() {
+        this.records = Map.of();
+        this.hits = new LongAdder();
+    }
+
+    public CacheDTO get(String key) {
+        CacheDTO record = this.records.get(key);
+        if(null != record) this.hits.increment();
+        return record;
+    }
+
+    public boolean contains(String key) {
+        return this.records.containsKey(key);
+    }
+
+    public void publish(Map<String, CacheDTO> records) {
+        this.records = Map.copyOf(records);
+    }
+
+    public void invalidate(String key) {
+        Map<String, CacheDTO> records = this.records;
+        if(!records.containsKey(key)) return;
+        Map<String, CacheDTO> copy = new HashMap<>(records);
+        copy.remove(key);
+        this.records = Map.copyOf(copy);
+    }
+
+    public void clear() {
+        this.records = Map.of();
+    }
+
+    public int size() {
+        return this.records.size();
+    }
+
+    public long hits() {
+        return this.hits.sum();
+    }
+}
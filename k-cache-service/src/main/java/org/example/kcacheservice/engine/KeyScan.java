@@ -0,0 +1,90 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/*
+    * Ordered prefix scans over the tiers of a namespace.
+    * Every tier supplies its matching records in key order from a sorted structure, the scan merges them and stops
+    * after limit records, so a page costs O(log n + limit) per tier instead of a pass over all keys.
+ */
+public final class KeyScan {
+
+    private KeyScan() {
+    }
+
+    /*
+        * Entries whose key starts with prefix and sorts after cursor, read lazily in key order
+     */
+    public static <V> Stream<Map.Entry<String, V>> range(NavigableMap<String, V> map, String prefix, String cursor) {
+        NavigableMap<String, V> tail = null == cursor || cursor.compareTo(prefix) < 0
+                ? map.tailMap(prefix, true)
+                : map.tailMap(cursor, false);
+        return tail.entrySet().stream().takeWhile(entry -> entry.getKey().startsWith(prefix));
+    }
+
+    /*
+        * Passes on at most limit records of the union of sources.
+        * Returns the key of the last record passed on when more records follow, null once all sources ran out.
+     */
+    @SafeVarargs
+    public static String merge(int limit, Consumer<CacheDTO> consumer, Iterator<CacheDTO>... sources) {
+        Iterator<CacheDTO> records = union(sources);
+        String last = null;
+        for(int passed = 0; passed < limit && records.hasNext(); passed++) {
+            CacheDTO record = records.next();
+            consumer.accept(record);
+            last = record.getId();
+        }
+        return records.hasNext() ? last : null;
+    }
+
+    /*
+        * Lazy merge of sources sorted by key, a key present in several sources is taken from the first of them
+     */
+    @SafeVarargs
+    public static Iterator<CacheDTO> union(Iterator<CacheDTO>... sources) {
+        CacheDTO[] heads = new CacheDTO[sources.length];
+        for(int i = 0; i < sources.length; i++) {
+            heads[i] = next(sources[i]);
+        }
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                for(CacheDTO head : heads) {
+                    if(null != head) return true;
+                }
+                return false;
+            }
+
+            @Override
+            public CacheDTO next() {
+                int pick = -1;
+                for(int i = 0; i < heads.length; i++) {
+                    if(null != heads[i] && (pick < 0 || heads[i].getId().compareTo(heads[pick].getId()) < 0)) {
+                        pick = i;
+                    }
+                }
+                if(pick < 0) throw new NoSuchElementException();
+
+                CacheDTO record = heads[pick];
+                for(int i = 0; i < heads.length; i++) {
+                    while(null != heads[i] && heads[i].getId().equals(record.getId())) {
+                        heads[i] = KeyScan.next(sources[i]);
+                    }
+                }
+                return record;
+            }
+        };
+    }
+
+    private static CacheDTO next(Iterator<CacheDTO> source) {
+        return source.hasNext() ? source.next() : null;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class LinkedHashCacheStore implements CacheStore {
+
+    private final int maxSize;
+    private final Map<String, CacheDTO> cache;
+    /*
+        * Key ordered copy of the entries for prefix scans, kept in step with the eviction ordered map
+     */
+    private final NavigableMap<String, CacheDTO> index;
+
+    public LinkedHashCacheStore(int maxSize, boolean accessOrder) {
+        this.maxSize = maxSize;
+        this.cache = new LinkedHashMap<>(maxSize, 0.75f, accessOrder);
+        this.index = new ConcurrentSkipListMap<>();
+    }
+
+    @Override
+    public CacheDTO get(String key) {
+        return this.cache.get(key);
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return this.cache.containsKey(key);
+    }
+
+    @Override
+    public void put(String key, CacheDTO record) {
+        this.cache.put(key, record);
+        this.index.put(key, record);
+    }
+
+    @Override
+    public CacheDTO remove(String key) {
+        this.index.remove(key);
+        return this.cache.remove(key);
+    }
+
+    @Override
+    public CacheDTO evict() {
+        Iterator<Map.Entry<String, CacheDTO>> it = this.cache.entrySet().iterator();
+        if(!it.hasNext()) return null;
+        Map.Entry<String, CacheDTO> eldest = it.next();
+        it.remove();
+        this.index.remove(eldest.getKey());
+        return eldest.getValue();
+    }
+
+    @Override
+    public List<String> evictionCandidates(int limit) {
+        List<String> keys = new ArrayList<>(Math.min(limit, this.cache.size()));
+        Iterator<String> it = this.cache.keySet().iterator();
+        while(it.hasNext() && keys.size() < limit) {
+            keys.add(it.next());
+        }
+        return keys;
+    }
+
+    /*
+        * Re-inserting moves the entry to the tail for both insertion and access order
+     */
+    @Override
+    public void promote(String key) {
+        CacheDTO record = this.cache.remove(key);
+        if(null != record) {
+            this.cache.put(key, record);
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.cache.size();
+    }
+
+    @Override
+    public boolean isFull() {
+        return this.cache.size() >= this.maxSize;
+    }
+
+    @Override
+    public void clear() {
+        this.cache.clear();
+        this.index.clear();
+    }
+
+    @Override
+    public List<CacheDTO> entries() {
+        return new ArrayList<>(this.cache.values());
+    }
+
+    @Override
+    public Iterator<CacheDTO> scan(String prefix, String cursor) {
+        return KeyScan.range(this.index, prefix, cursor).map(Map.Entry::getValue).iterator();
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.kcacheservice.engine;
+
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    * Bounded set of keys known to be absent from every tier of a namespace, the oldest key is forgotten first.
+    * Keys are only added and removed under the key lock of the key, so a key is never remembered as missing while it
+    * is being written. Lookups take no lock.
+    * Removed keys leave their place in the insertion order behind, which at worst forgets a key early.
+ */
+public class NegativeCache {
+    private final int maxSize;
+    private final Set<String> keys;
+    private final Queue<String> order;
+    private final AtomicInteger ordered;
+
+    public NegativeCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.keys = ConcurrentHashMap.newKeySet();
+        this.order = new ConcurrentLinkedQueue<>();
+        this.ordered = new AtomicInteger();
+    }
+
+    public boolean contains(String key) {
+        return this.keys.contains(key);
+    }
+
+    public void add(String key) {
+        if(this.maxSize == 0 || !this.keys.add(key)) return;
+        this.order.offer(key);
+        this.ordered.incrementAndGet();
+        while(this.ordered.get() > this.maxSize) {
+            String oldest = this.order.poll();
+            if(null == oldest) break;
+            this.ordered.decrementAndGet();
+            this.keys.remove(oldest);
+        }
+    }
+
+    public void remove(String key) {
+        this.keys.remove(key);
+    }
+
+    public int size() {
+        return this.keys.size();
+    }
+}
@@ -0,0 +1,258 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    * Values of records held outside the Java heap, in direct buffers the garbage collector never scans or copies.
+    * Memory is allocated in pages of 1 MB up to maxMemoryBytes and split into blocks of 128 bytes, a value takes as
+    * many blocks as it needs from a free list, so freed space is reused without compaction. Keys, versions and block
+    * numbers stay on the heap, about 100 bytes per record plus the key.
+    * Records are kept oldest first, put evicts the oldest ones when maxSize records or all blocks are in use and
+    * returns them to the caller.
+    * Callers guard writes with the segment lock, reads take an internal read lock so scans need no segment lock.
+ */
+public class OffHeapStore {
+    private static final int PAGE_SIZE = 1 << 20;
+    private static final int BLOCK_SIZE = 128;
+    private static final int BLOCKS_PER_PAGE = PAGE_SIZE / BLOCK_SIZE;
+
+    private final int maxSize;
+    private final int maxBlocks;
+    private final List<ByteBuffer> pages;
+    private int[] freeBlocks;
+    private int freeCount;
+    private final Map<String, Slot> slots;
+    /*
+        * Key ordered copy of the slots for prefix scans
+     */
+    private final NavigableMap<String, Slot> index;
+    private final ReentrantReadWriteLock lock;
+    private long usedBytes;
+
+    private record Slot(String namespace, long version, int length, int[] blocks) { }
+
+    public OffHeapStore(int maxSize, long maxMemoryBytes) {
+        this.maxSize = maxSize;
+        this.maxBlocks = (int) Math.min(Integer.MAX_VALUE, maxMemoryBytes / BLOCK_SIZE);
+        this.pages = new ArrayList<>();
+        this.freeBlocks = new int[0];
+        this.slots = new LinkedHashMap<>();
+        this.index = new ConcurrentSkipListMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    public boolean containsKey(String key) {
+        return this.slots.containsKey(key);
+    }
+
+    /*
+        * Copies the record back to the heap without removing it, null if absent
+     */
+    public CacheDTO get(String key) {
+        try {
+            this.lock.readLock().lock();
+            Slot slot = this.index.get(key);
+            return null == slot ? null : this.read(key, slot);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /*
+        * Stores the record, replacing the key, and returns the records evicted to make room, oldest first. A record
+        * larger than all blocks together is not stored and returned itself.
+     */
+    public List<CacheDTO> put(CacheDTO record) {
+        List<CacheDTO> evicted = new ArrayList<>();
+        int blocks = blocksFor(record.getValue().length);
+        try {
+            this.lock.writeLock().lock();
+            this.release(record.getId());
+            if(blocks > this.maxBlocks) {
+                evicted.add(record);
+                return evicted;
+            }
+            while(!this.slots.isEmpty() && (this.slots.size() >= this.maxSize || !this.reserve(blocks))) {
+                evicted.add(this.pollEldest());
+            }
+            this.reserve(blocks);
+            Slot slot = new Slot(record.getNamespace(), record.getVersion(), record.getValue().length, new int[blocks]);
+            for(int i = 0; i < blocks; i++) {
+                slot.blocks()[i] = this.freeBlocks[--this.freeCount];
+            }
+            this.write(slot, record.getValue());
+            this.slots.put(record.getId(), slot);
+            this.index.put(record.getId(), slot);
+            this.usedBytes += (long) blocks * BLOCK_SIZE;
+            return evicted;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /*
+        * Removes the record and copies it back to the heap, null if absent
+     */
+    public CacheDTO remove(String key) {
+        try {
+            this.lock.writeLock().lock();
+            Slot slot = this.slots.get(key);
+            if(null == slot) return null;
+            CacheDTO record = this.read(key, slot);
+            this.release(key);
+            return record;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /*
+        * Removes and returns the oldest record, null if empty
+     */
+    public CacheDTO evict() {
+        try {
+            this.lock.writeLock().lock();
+            return this.slots.isEmpty() ? null : this.pollEldest();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /*
+        * Keys oldest first
+     */
+    public List<String> keys(int limit) {
+        List<String> keys = new ArrayList<>(Math.min(limit, this.slots.size()));
+        Iterator<String> it = this.slots.keySet().iterator();
+        while(it.hasNext() && keys.size() < limit) {
+            keys.add(it.next());
+        }
+        return keys;
+    }
+
+    /*
+        * Records whose key starts with prefix and sorts after cursor, read lazily in key order. A record removed while
+        * the scan runs is skipped.
+     */
+    public Iterator<CacheDTO> scan(String prefix, String cursor) {
+        return KeyScan.range(this.index, prefix, cursor)
+                .map(entry -> this.get(entry.getKey()))
+                .filter(record -> null != record)
+                .iterator();
+    }
+
+    public void clear() {
+        try {
+            this.lock.writeLock().lock();
+            this.slots.clear();
+            this.index.clear();
+            this.pages.clear();
+            this.freeBlocks = new int[0];
+            this.freeCount = 0;
+            this.usedBytes = 0;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        return this.slots.size();
+    }
+
+    public int maxSize() {
+        return this.maxSize;
+    }
+
+    /*
+        * Bytes of the blocks in use
+     */
+    public long usedBytes() {
+        return this.usedBytes;
+    }
+
+    /*
+        * Bytes of the pages allocated so far
+     */
+    public long allocatedBytes() {
+        return (long) this.pages.size() * PAGE_SIZE;
+    }
+
+    /*
+        * Makes sure blocks are free, allocating pages while below the memory limit
+     */
+    private boolean reserve(int blocks) {
+        while(this.freeCount < blocks && (long) this.pages.size() * BLOCKS_PER_PAGE < this.maxBlocks) {
+            int first = this.pages.size() * BLOCKS_PER_PAGE;
+            int count = Math.min(BLOCKS_PER_PAGE, this.maxBlocks - first);
+            this.pages.add(ByteBuffer.allocateDirect(count * BLOCK_SIZE));
+            this.freeBlocks = Arrays.copyOf(this.freeBlocks, first + count);
+            for(int block = first + count - 1; block >= first; block--) {
+                this.freeBlocks[this.freeCount++] = block;
+            }
+        }
+        return this.freeCount >= blocks;
+    }
+
+    private CacheDTO pollEldest() {
+        Map.Entry<String, Slot> eldest = this.slots.entrySet().iterator().next();
+        CacheDTO record = this.read(eldest.getKey(), eldest.getValue());
+        this.release(eldest.getKey());
+        return record;
+    }
+
+    private void release(String key) {
+        Slot slot = this.slots.remove(key);
+        if(null == slot) return;
+        this.index.remove(key);
+        for(int block : slot.blocks()) {
+            this.freeBlocks[this.freeCount++] = block;
+        }
+        this.usedBytes -= (long) slot.blocks().length * BLOCK_SIZE;
+    }
+
+    private void write(Slot slot, byte[] value) {
+        for(int i = 0; i < slot.blocks().length; i++) {
+            int block = slot.blocks()[i];
+            int offset = i * BLOCK_SIZE;
+            this.page(block).put(this.offset(block), value, offset, Math.min(BLOCK_SIZE, value.length - offset));
+        }
+    }
+
+    private CacheDTO read(String key, Slot slot) {
+        byte[] value = new byte[slot.length()];
+        for(int i = 0; i < slot.blocks().length; i++) {
+            int block = slot.blocks()[i];
+            int offset = i * BLOCK_SIZE;
+            this.page(block).get(this.offset(block), value, offset, Math.min(BLOCK_SIZE, value.length - offset));
+        }
+        return CacheDTO.builder()
+                .namespace(slot.namespace())
+                .id(key)
+                .value(value)
+                .version(slot.version())
+                .build();
+    }
+
+    private ByteBuffer page(int block) {
+        return this.pages.get(block / BLOCKS_PER_PAGE);
+    }
+
+    private int offset(int block) {
+        return (block % BLOCKS_PER_PAGE) * BLOCK_SIZE;
+    }
+
+    private static int blocksFor(int length) {
+        return Math.max(1, (length + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    }
+}
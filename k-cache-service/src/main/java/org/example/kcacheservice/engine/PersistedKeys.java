@@ -0,0 +1,112 @@
+package org.example.kcacheservice.engine;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    * Tracks which keys of one namespace may have a live record in DB, so lookups of keys that were never persisted
+    * skip the DB. Answers absent only when the key is surely not there.
+    * Until the first rebuild every key may be persisted. A rebuild fills a fresh filter from the DB while keys
+    * persisted meanwhile are added to both filters, then swaps it in and drops the false positives the old one
+    * gathered from removals it could not account for.
+    * Callers capture filter() once per lookup and pass it back with removed, a key is only removed from the filter
+    * instance that was asked about it.
+ */
+public class PersistedKeys {
+    private volatile CountingBloomFilter live;
+    private volatile CountingBloomFilter rebuilding;
+    private volatile Instant rebuiltAt;
+    private final LongAdder lookups;
+    private final LongAdder falsePositives;
+    private final LongAdder skipped;
+
+    public PersistedKeys() {
+        this.lookups = new LongAdder();
+        this.falsePositives = new LongAdder();
+        this.skipped = new LongAdder();
+    }
+
+    /*
+        * Current filter, null while none was built yet
+     */
+    public CountingBloomFilter filter() {
+        return this.live;
+    }
+
+    public boolean mightContain(CountingBloomFilter filter, String key) {
+        return null == filter || filter.mightContain(key);
+    }
+
+    /*
+        * Counts a lookup whose DB outcome is known, for the observed false positive rate
+     */
+    public void record(CountingBloomFilter filter, boolean mightContain, boolean found) {
+        if(null == filter) return;
+        this.lookups.increment();
+        if(!mightContain) {
+            this.skipped.increment();
+        } else if(!found) {
+            this.falsePositives.increment();
+        }
+    }
+
+    /*
+        * Callers hold the segment write lock, so the key lands in a filter that a concurrent clear or rebuild keeps.
+        * The rebuilding filter is read first, a rebuild finishing in between has already made it live.
+     */
+    public void added(String key) {
+        CountingBloomFilter rebuilding = this.rebuilding;
+        CountingBloomFilter live = this.live;
+        if(null != rebuilding) rebuilding.add(key);
+        if(null != live && live != rebuilding) live.add(key);
+    }
+
+    public void removed(CountingBloomFilter filter, String key) {
+        if(null != filter) filter.remove(key);
+    }
+
+    /*
+        * All records of the namespace were invalidated, callers hold the segment write lock
+     */
+    public void clear() {
+        CountingBloomFilter live = this.live;
+        if(null != live) {
+            this.live = new CountingBloomFilter(live.capacity(), live.targetProbability());
+        }
+    }
+
+    public void startRebuild(CountingBloomFilter filter) {
+        this.rebuilding = filter;
+    }
+
+    public void finishRebuild(CountingBloomFilter filter) {
+        this.live = filter;
+        this.rebuilding = null;
+        this.rebuiltAt = Instant.now();
+    }
+
+    public void abortRebuild() {
+        this.rebuilding = null;
+    }
+
+    public Instant rebuiltAt() {
+        return this.rebuiltAt;
+    }
+
+    public long lookups() {
+        return this.lookups.sum();
+    }
+
+    public long skipped() {
+        return this.skipped.sum();
+    }
+
+    /*
+        * Share of lookups of absent keys the filter failed to rule out
+     */
+    public double observedFalsePositiveRate() {
+        long falsePositives = this.falsePositives.sum();
+        long negatives = falsePositives + this.skipped.sum();
+        return negatives == 0 ? 0 : (double) falsePositives / negatives;
+    }
+}
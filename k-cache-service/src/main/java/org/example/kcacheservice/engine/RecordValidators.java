@@ -0,0 +1,23 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+import org.springframework.http.ResponseEntity;
+
+/*
+    * ETag and Last-Modified of a record for every user cache api, a GET whose If-None-Match or If-Modified-Since still
+    * matches is answered with 304 and no body. Records persisted before versions existed carry neither.
+ */
+public final class RecordValidators {
+
+    private RecordValidators() {
+    }
+
+    public static ResponseEntity.BodyBuilder ok(CacheDTO record) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if(null != record && record.getVersion() > 0) {
+            builder.eTag(Long.toString(record.getVersion()))
+                    .lastModified(VersionClock.epochMillis(record.getVersion()));
+        }
+        return builder;
+    }
+}
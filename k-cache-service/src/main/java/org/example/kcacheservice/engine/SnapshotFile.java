@@ -0,0 +1,121 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/*
+    * Binary snapshot of the in memory tier, records of every namespace in eviction order so a restore rebuilds the
+    * same order.
+    * Layout: magic, format version, namespace count, then per namespace its name, generation and records as key,
+    * version and value, strings and values prefixed by their length. A CRC32 of everything before it closes the file.
+    * Written to a temporary file and moved in place, so a crash mid write leaves the previous snapshot intact.
+    * Read through a memory mapping, files are limited to 2 GB.
+ */
+public final class SnapshotFile {
+    private static final int MAGIC = 0x4b435331;
+    private static final int FORMAT_VERSION = 1;
+
+    public record Segment(String namespace, long generation, List<CacheDTO> records) { }
+
+    private SnapshotFile() {
+    }
+
+    public static void write(Path path, List<Segment> segments) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        CRC32 crc = new CRC32();
+        try(OutputStream file = Files.newOutputStream(temporary);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(file, crc), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(segments.size());
+            for(Segment segment : segments) {
+                writeBytes(out, segment.namespace().getBytes(StandardCharsets.UTF_8));
+                out.writeLong(segment.generation());
+                out.writeInt(segment.records().size());
+                for(CacheDTO record : segment.records()) {
+                    writeBytes(out, record.getId().getBytes(StandardCharsets.UTF_8));
+                    out.writeLong(record.getVersion());
+                    writeBytes(out, record.getValue());
+                }
+            }
+            out.flush();
+            file.write(longBytes(crc.getValue()));
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static List<Segment> read(Path path) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if(size < Long.BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot " + path + " has invalid size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, (int) size - Long.BYTES));
+            if(crc.getValue() != buffer.getLong((int) size - Long.BYTES)) {
+                throw new IOException("Snapshot " + path + " is corrupt");
+            }
+            if(buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                throw new IOException("Snapshot " + path + " has an unknown format");
+            }
+
+            int segmentCount = buffer.getInt();
+            List<Segment> segments = new ArrayList<>(segmentCount);
+            for(int i = 0; i < segmentCount; i++) {
+                String namespace = new String(readBytes(buffer), StandardCharsets.UTF_8);
+                long generation = buffer.getLong();
+                int recordCount = buffer.getInt();
+                List<CacheDTO> records = new ArrayList<>(recordCount);
+                for(int j = 0; j < recordCount; j++) {
+                    String key = new String(readBytes(buffer), StandardCharsets.UTF_8);
+                    long version = buffer.getLong();
+                    records.add(CacheDTO.builder()
+                            .namespace(namespace)
+                            .id(key)
+                            .version(version)
+                            .value(readBytes(buffer))
+                            .build());
+                }
+                segments.add(new Segment(namespace, generation, records));
+            }
+            return segments;
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(MappedByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static byte[] longBytes(long value) {
+        byte[] bytes = new byte[Long.BYTES];
+        for(int i = Long.BYTES - 1; i >= 0; i--) {
+            bytes[i] = (byte) value;
+            value >>>= 8;
+        }
+        return bytes;
+    }
+}
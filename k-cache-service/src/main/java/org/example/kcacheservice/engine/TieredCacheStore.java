@@ -0,0 +1,150 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    * Hot records on the heap in the store of the eviction policy, warm records off the heap.
+    * A record evicted from the hot store is demoted to the warm store, a read of a warm record promotes it back, so the
+    * services see one store holding both tiers and only what the warm store lets go reaches the database.
+    * The warm store is bounded by records and by memory. Records it drops to fit a larger one wait in a small spill
+    * store on the heap and are evicted first, the segment reports full until they are gone. Only moves between tiers
+    * fill the spill store, so it never holds more records than the warm store gave up.
+ */
+public class TieredCacheStore implements CacheStore {
+    private final CacheStore hot;
+    private final int hotMaxSize;
+    private final OffHeapStore warm;
+    private final LinkedHashCacheStore spill;
+    private final LongAdder warmHits;
+
+    public TieredCacheStore(CacheStore hot, int hotMaxSize, OffHeapStore warm) {
+        this.hot = hot;
+        this.hotMaxSize = hotMaxSize;
+        this.warm = warm;
+        this.spill = new LinkedHashCacheStore(16, false);
+        this.warmHits = new LongAdder();
+    }
+
+    @Override
+    public CacheDTO get(String key) {
+        CacheDTO record = this.hot.get(key);
+        if(null != record) return record;
+
+        record = this.spill.remove(key);
+        if(null == record) record = this.warm.remove(key);
+        if(null == record) return null;
+        this.warmHits.increment();
+        this.admit(key, record);
+        return record;
+    }
+
+    @Override
+    public boolean containsKey(String key) {
+        return this.hot.containsKey(key) || this.warm.containsKey(key) || this.spill.containsKey(key);
+    }
+
+    @Override
+    public void put(String key, CacheDTO record) {
+        if(this.hot.containsKey(key)) {
+            this.hot.put(key, record);
+            return;
+        }
+        if(null == this.spill.remove(key)) this.warm.remove(key);
+        this.admit(key, record);
+    }
+
+    @Override
+    public CacheDTO remove(String key) {
+        CacheDTO record = this.hot.remove(key);
+        if(null == record) record = this.spill.remove(key);
+        if(null == record) record = this.warm.remove(key);
+        return record;
+    }
+
+    @Override
+    public CacheDTO evict() {
+        CacheDTO record = this.spill.evict();
+        if(null == record) record = this.warm.evict();
+        if(null == record) record = this.hot.evict();
+        return record;
+    }
+
+    @Override
+    public List<String> evictionCandidates(int limit) {
+        List<String> keys = new ArrayList<>(this.spill.evictionCandidates(limit));
+        keys.addAll(this.warm.keys(limit - keys.size()));
+        keys.addAll(this.hot.evictionCandidates(limit - keys.size()));
+        return keys;
+    }
+
+    /*
+        * A warm record is moved back to the hot store
+     */
+    @Override
+    public void promote(String key) {
+        if(this.hot.containsKey(key)) {
+            this.hot.promote(key);
+        } else {
+            this.get(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.hot.size() + this.warm.size() + this.spill.size();
+    }
+
+    @Override
+    public boolean isFull() {
+        return this.spill.size() > 0 || (this.hot.isFull() && this.warm.size() >= this.warm.maxSize());
+    }
+
+    @Override
+    public void clear() {
+        this.hot.clear();
+        this.warm.clear();
+        this.spill.clear();
+    }
+
+    @Override
+    public List<CacheDTO> entries() {
+        List<CacheDTO> records = new ArrayList<>(this.spill.entries());
+        for(String key : this.warm.keys(this.warm.size())) {
+            records.add(this.warm.get(key));
+        }
+        records.addAll(this.hot.entries());
+        return records;
+    }
+
+    @Override
+    public Iterator<CacheDTO> scan(String prefix, String cursor) {
+        return KeyScan.union(this.hot.scan(prefix, cursor), this.spill.scan(prefix, cursor),
+                this.warm.scan(prefix, cursor));
+    }
+
+    public OffHeapStore warm() {
+        return this.warm;
+    }
+
+    /*
+        * Reads served by the warm tier since the store was created
+     */
+    public long warmHits() {
+        return this.warmHits.sum();
+    }
+
+    private void admit(String key, CacheDTO record) {
+        this.hot.put(key, record);
+        if(this.hot.size() <= this.hotMaxSize) return;
+
+        CacheDTO demoted = this.hot.evict();
+        for(CacheDTO dropped : this.warm.put(demoted)) {
+            this.spill.put(dropped.getId(), dropped);
+        }
+    }
+}
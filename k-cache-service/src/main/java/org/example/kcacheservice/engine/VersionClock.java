@@ -0,0 +1,28 @@
+package org.example.kcacheservice.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+    * Source of record versions for optimistic updates.
+    * Versions are microseconds since the epoch, bumped by one when two writes fall into the same microsecond, so they
+    * increase strictly within a process and do not repeat after a restart.
+ */
+public class VersionClock {
+    private final AtomicLong last;
+
+    public VersionClock() {
+        this.last = new AtomicLong();
+    }
+
+    public long next() {
+        long now = System.currentTimeMillis() * 1_000;
+        return this.last.updateAndGet(previous -> Math.max(previous + 1, now));
+    }
+
+    /*
+        * Time of the write which produced the version, at most a few milliseconds late when writes were bumped
+     */
+    public static long epochMillis(long version) {
+        return version / 1_000;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.exception.CacheBadRequestException;
+import org.example.kcacheservice.exception.CachePreconditionFailedException;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+    * Condition of a write on the current record, from the If-Match and If-None-Match headers.
+    * If-Match holds * for any existing record or a list of entity tags compared strongly, so weak tags never match.
+    * If-None-Match holds * for an absent key or a list of entity tags compared weakly. Entity tags are record versions,
+    * quoted or bare, a quoted tag that is no version is valid but matches no record.
+ */
+public final class WritePrecondition {
+    private static final WritePrecondition NONE = new WritePrecondition(null, null);
+
+    /*
+        * Tags of a header, any for "*". A null header places no condition.
+     */
+    private record Tags(boolean any, Set<Long> versions) {
+        boolean matches(CacheDTO current) {
+            return null != current && (this.any || this.versions.contains(current.getVersion()));
+        }
+    }
+
+    private final Tags ifMatch;
+    private final Tags ifNoneMatch;
+
+    private WritePrecondition(Tags ifMatch, Tags ifNoneMatch) {
+        this.ifMatch = ifMatch;
+        this.ifNoneMatch = ifNoneMatch;
+    }
+
+    public static WritePrecondition of(String ifMatch, String ifNoneMatch) {
+        if(null == ifMatch && null == ifNoneMatch) return NONE;
+        return new WritePrecondition(null == ifMatch ? null : parse(ifMatch, true),
+                null == ifNoneMatch ? null : parse(ifNoneMatch, false));
+    }
+
+    public static WritePrecondition version(long version) {
+        return new WritePrecondition(new Tags(false, Set.of(version)), null);
+    }
+
+    public static WritePrecondition absent() {
+        return new WritePrecondition(null, new Tags(true, Set.of()));
+    }
+
+    public boolean isNone() {
+        return null == this.ifMatch && null == this.ifNoneMatch;
+    }
+
+    /*
+        * Throws unless the current record, null when the key is absent, satisfies the condition
+     */
+    public void check(String key, CacheDTO current) {
+        if(null != this.ifMatch && !this.ifMatch.matches(current)) {
+            if(null == current) {
+                throw new CachePreconditionFailedException("Record with key " + key + " does not exist");
+            }
+            throw new CachePreconditionFailedException("Record with key " + key + " is not at a matching version, it is at " + current.getVersion());
+        }
+        if(null != this.ifNoneMatch && this.ifNoneMatch.matches(current)) {
+            if(this.ifNoneMatch.any()) {
+                throw new CachePreconditionFailedException("Record with key " + key + " already exists");
+            }
+            throw new CachePreconditionFailedException("Record with key " + key + " is at version " + current.getVersion());
+        }
+    }
+
+    /*
+        * Weak tags are skipped under the strong comparison of If-Match and count under the weak one of If-None-Match
+     */
+    private static Tags parse(String header, boolean strong) {
+        Set<Long> versions = new HashSet<>();
+        for(String token : header.split(",", -1)) {
+            String tag = token.trim();
+            if("*".equals(tag)) return new Tags(true, Set.of());
+            boolean weak = tag.startsWith("W/");
+            if(weak) tag = tag.substring(2);
+            String opaque;
+            if(tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                opaque = tag.substring(1, tag.length() - 1);
+                if(opaque.contains("\"")) throw malformed(header);
+            } else if(!weak && !tag.isEmpty() && tag.chars().allMatch(Character::isDigit)) {
+                opaque = tag;
+            } else {
+                throw malformed(header);
+            }
+            if(weak && strong) continue;
+            try {
+                versions.add(Long.parseLong(opaque));
+            } catch(NumberFormatException e) {
+                /*
+                    * Not a version of ours, matches no record
+                 */
+            }
+        }
+        return new Tags(false, versions);
+    }
+
+    private static CacheBadRequestException malformed(String header) {
+        return new CacheBadRequestException("Entity tags must be quoted record versions or *, got " + header);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.kcacheservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "tbl_k_cache", indexes = {
+        @Index(name = "idx_k_cache_namespace", columnList = "namespace"),
+        @Index(name = "idx_k_cache_generation", columnList = "namespace, generation"),
+        @Index(name = "idx_k_cache_namespace_id", columnList = "namespace, id")
+})
+@IdClass(CacheEntityId.class)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEntity {
+    @Id
+    @Column(name = "namespace", nullable = false)
+    private String namespace;
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private String id;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Lob
+    @Column(name = "cache_value", nullable = false)
+    private byte[] value;
+
+    @Column(name = "generation", nullable = false)
+    private long generation;
+
+    /*
+        * Version of the record when it was evicted, null for records written before versions existed
+     */
+    @Column(name = "version")
+    private Long version;
+
+    /*
+        * Set by writers that know the record has no row yet, save then inserts it without reading the row first.
+        * Never set on rows read from DB.
+     */
+    @Transient
+    private boolean created;
+
+    public long versionOrZero() {
+        return null == this.version ? 0 : this.version;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+        this.updatedAt = Instant.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = Instant.now();
+    }
+}
@@ -0,0 +1,15 @@
+package org.example.kcacheservice.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheEntityId implements Serializable {
+    private String namespace;
+    private String id;
+}
@@ -0,0 +1,22 @@
+package org.example.kcacheservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "tbl_k_cache_generation")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheGenerationEntity {
+    @Id
+    @Column(name = "namespace", nullable = false)
+    private String namespace;
+
+    @Column(name = "generation", nullable = false)
+    private long generation;
+}
@@ -0,0 +1,28 @@
+package org.example.kcacheservice.event;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/*
+    * Entry of the change stream, a mutation event stamped with its position in the log of the publishing service.
+    * A REMOVE_ALL without sequence tells the consumer that changes were lost and it has to resync.
+    * Values of ADD and EVICT changes are only sent to consumers asking for them.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CacheChange {
+    private Long sequence;
+    private Instant timestamp;
+    private CacheMutationEvent.Type type;
+    private String namespace;
+    private String key;
+    private byte[] value;
+}
@@ -0,0 +1,293 @@
+package org.example.kcacheservice.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.config.CacheConfig;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    * Bounded, sequenced log of cache mutations, one ring per publishing service.
+    * Events are appended on the publishing thread, so sequence numbers follow the order in which mutations were applied
+    * under the segment locks. Consumers tail a ring from a sequence number on their own virtual thread; a consumer the
+    * ring has wrapped past receives a resync marker before continuing from the oldest retained change.
+    * Sequences restart with every run of the service, consumers presenting the epoch of another run are resynced too.
+ */
+@Component
+@Slf4j
+public class CacheChangeLog {
+    public static final String EPOCH_HEADER = "X-Change-Log-Epoch";
+    private static final String EVENT_NAME = "change";
+    private static final String RESYNC_EVENT_NAME = "resync";
+    private static final int BATCH_SIZE = 256;
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+
+    private final String epoch;
+    private final int capacity;
+    private final ObjectMapper objectMapper;
+    private final Map<String, ChangeRing> rings;
+    private final ExecutorService streams;
+
+    public CacheChangeLog(CacheConfig cacheConfig, ObjectMapper objectMapper) {
+        this.epoch = UUID.randomUUID().toString();
+        this.capacity = cacheConfig.getChangeLogCapacity();
+        this.objectMapper = objectMapper;
+        this.rings = new ConcurrentHashMap<>();
+        this.streams = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("change-stream-", 0).factory());
+    }
+
+    @EventListener
+    public void onMutation(CacheMutationEvent event) {
+        this.ring(event.getSource()).append(event);
+    }
+
+    public String epoch() {
+        return this.epoch;
+    }
+
+    /*
+        * Sequence number the next change of the source will get
+     */
+    public long nextSequence(String source) {
+        return this.ring(source).nextSequence();
+    }
+
+    /*
+        * Reads up to max changes starting at the given sequence without waiting for new ones
+     */
+    public ChangeBatch read(String source, long fromSequence, int max) {
+        return this.ring(source).read(fromSequence, max);
+    }
+
+    /*
+        * Streams changes as server sent events, each carrying its sequence as event id.
+        * Without a starting sequence only changes made after subscribing are sent.
+     */
+    public SseEmitter streamEvents(String source, Long fromSequence, String epoch, boolean includeValues) {
+        SseEmitter emitter = new SseEmitter(0L);
+        this.stream(source, fromSequence, epoch, includeValues, emitter, new ChangeSink() {
+            @Override
+            public void send(CacheChange change) throws IOException {
+                if(null == change.getSequence()) {
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT_NAME).data(change));
+                } else {
+                    emitter.send(SseEmitter.event().id(String.valueOf(change.getSequence())).name(EVENT_NAME).data(change));
+                }
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+        });
+        return emitter;
+    }
+
+    /*
+        * Streams changes as newline delimited JSON. Empty lines are heartbeats and should be skipped by consumers.
+     */
+    public ResponseBodyEmitter streamLines(String source, Long fromSequence, String epoch, boolean includeValues) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(0L);
+        this.stream(source, fromSequence, epoch, includeValues, emitter, new ChangeSink() {
+            @Override
+            public void send(CacheChange change) throws IOException {
+                emitter.send(objectMapper.writeValueAsString(change) + "\n", MediaType.TEXT_PLAIN);
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send("\n", MediaType.TEXT_PLAIN);
+            }
+        });
+        return emitter;
+    }
+
+    /*
+        * Ends open streams when the context starts closing, graceful shutdown of the web server would otherwise wait
+        * for these never ending requests
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        this.streams.shutdownNow();
+        try {
+            this.streams.awaitTermination(1, TimeUnit.SECONDS);
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void stream(String source, Long fromSequence, String epoch, boolean includeValues,
+                        ResponseBodyEmitter emitter, ChangeSink sink) {
+        ChangeRing ring = this.ring(source);
+        boolean staleEpoch = null != epoch && !this.epoch.equals(epoch);
+        long start = null == fromSequence || staleEpoch ? ring.nextSequence() : fromSequence;
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+
+        this.streams.execute(() -> {
+            long cursor = start;
+            try {
+                /*
+                    * First write commits the response, consumers see the stream open without waiting for a change
+                 */
+                if(staleEpoch) {
+                    sink.send(this.resyncMarker());
+                } else {
+                    sink.heartbeat();
+                }
+                while(open.get()) {
+                    ChangeBatch batch = ring.await(cursor, BATCH_SIZE, HEARTBEAT);
+                    if(batch.gap()) {
+                        sink.send(this.resyncMarker());
+                    } else if(batch.changes().isEmpty()) {
+                        sink.heartbeat();
+                    }
+                    for(CacheChange change : batch.changes()) {
+                        sink.send(includeValues || null == change.getValue() ? change : this.withoutValue(change));
+                    }
+                    cursor = batch.nextSequence();
+                }
+            } catch(InterruptedException e) {
+                emitter.complete();
+            } catch(Exception e) {
+                log.debug("Closing change stream of {} at sequence {}", source, cursor, e);
+                emitter.completeWithError(e);
+            }
+        });
+    }
+
+    private CacheChange resyncMarker() {
+        return CacheChange.builder()
+                .timestamp(Instant.now())
+                .type(CacheMutationEvent.Type.REMOVE_ALL)
+                .build();
+    }
+
+    private CacheChange withoutValue(CacheChange change) {
+        return CacheChange.builder()
+                .sequence(change.getSequence())
+                .timestamp(change.getTimestamp())
+                .type(change.getType())
+                .namespace(change.getNamespace())
+                .key(change.getKey())
+                .build();
+    }
+
+    private ChangeRing ring(String source) {
+        return this.rings.computeIfAbsent(source, s -> new ChangeRing(this.capacity));
+    }
+
+    /*
+        * Changes read from a ring. Gap is set when changes between the requested and the first returned sequence
+        * are no longer retained, next sequence is where the following read should start.
+     */
+    public record ChangeBatch(boolean gap, List<CacheChange> changes, long nextSequence) { }
+
+    private interface ChangeSink {
+        void send(CacheChange change) throws IOException;
+
+        void heartbeat() throws IOException;
+    }
+
+    private static final class ChangeRing {
+        private final CacheChange[] changes;
+        private final ReentrantLock lock;
+        private final Condition appended;
+        private long nextSequence;
+
+        private ChangeRing(int capacity) {
+            this.changes = new CacheChange[capacity];
+            this.lock = new ReentrantLock();
+            this.appended = this.lock.newCondition();
+            this.nextSequence = 1;
+        }
+
+        private void append(CacheMutationEvent event) {
+            this.lock.lock();
+            try {
+                long sequence = this.nextSequence++;
+                this.changes[(int) (sequence % this.changes.length)] = CacheChange.builder()
+                        .sequence(sequence)
+                        .timestamp(Instant.now())
+                        .type(event.getType())
+                        .namespace(event.getNamespace())
+                        .key(event.getKey())
+                        .value(event.getValue())
+                        .build();
+                this.appended.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private long nextSequence() {
+            this.lock.lock();
+            try {
+                return this.nextSequence;
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private ChangeBatch read(long fromSequence, int max) {
+            this.lock.lock();
+            try {
+                return this.readLocked(fromSequence, max);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private ChangeBatch await(long fromSequence, int max, Duration timeout) throws InterruptedException {
+            this.lock.lock();
+            try {
+                long nanos = timeout.toNanos();
+                while(Math.max(1, fromSequence) == this.nextSequence && nanos > 0) {
+                    nanos = this.appended.awaitNanos(nanos);
+                }
+                return this.readLocked(fromSequence, max);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        private ChangeBatch readLocked(long fromSequence, int max) {
+            long requested = Math.max(1, fromSequence);
+            long firstSequence = Math.max(1, this.nextSequence - this.changes.length);
+            /*
+                * A sequence ahead of the log comes from before a restart, everything retained is replayed after the
+                * resync marker.
+             */
+            boolean gap = requested < firstSequence || requested > this.nextSequence;
+            long sequence = gap ? firstSequence : requested;
+
+            List<CacheChange> batch = new ArrayList<>();
+            while(sequence < this.nextSequence && batch.size() < max) {
+                batch.add(this.changes[(int) (sequence % this.changes.length)]);
+                sequence++;
+            }
+            return new ChangeBatch(gap, batch, sequence);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.kcacheservice.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+    * Pushes cache mutations to near cache clients over server sent events.
+    * Events are handed over to a dedicated thread, so services publishing under their segment lock never wait on
+    * network I/O.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBroadcaster {
+    private static final String EVENT_NAME = "invalidation";
+
+    private final List<Subscriber> subscribers;
+    private final ExecutorService dispatcher;
+
+    public CacheInvalidationBroadcaster() {
+        this.subscribers = new CopyOnWriteArrayList<>();
+        this.dispatcher = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("invalidation-dispatcher").factory());
+    }
+
+    public SseEmitter subscribe(String source) {
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(source, emitter);
+        emitter.onCompletion(() -> this.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> this.subscribers.remove(subscriber));
+        emitter.onError(e -> this.subscribers.remove(subscriber));
+        this.subscribers.add(subscriber);
+        log.debug("Invalidation subscriber registered for {}, total subscribers {}", source, this.subscribers.size());
+        return emitter;
+    }
+
+    @EventListener
+    public void onMutation(CacheMutationEvent event) {
+        if(this.subscribers.isEmpty() || event.getType() == CacheMutationEvent.Type.EVICT) return;
+        this.dispatcher.execute(() -> this.dispatch(event));
+    }
+
+    /*
+        * Completes subscriber streams before graceful shutdown of the web server starts waiting for them
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        this.dispatcher.shutdownNow();
+        this.subscribers.forEach(subscriber -> subscriber.emitter().complete());
+    }
+
+    private void dispatch(CacheMutationEvent event) {
+        for(Subscriber subscriber : this.subscribers) {
+            if(!subscriber.source().equals(event.getSource())) continue;
+            try {
+                subscriber.emitter().send(SseEmitter.event().name(EVENT_NAME).data(event));
+            } catch(Exception e) {
+                log.debug("Dropping invalidation subscriber after send failure", e);
+                this.subscribers.remove(subscriber);
+                subscriber.emitter().completeWithError(e);
+            }
+        }
+    }
+
+    private record Subscriber(String source, SseEmitter emitter) { }
+}
@@ -0,0 +1,35 @@
+package org.example.kcacheservice.event;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/*
+    * Published by the cache services whenever a key changes value or becomes absent.
+    * Namespace is null for operations covering all namespaces, key is null for operations covering a whole namespace.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CacheMutationEvent {
+    private String source;
+    private Type type;
+    private String namespace;
+    private String key;
+
+    /*
+        * Value written by an ADD or moved to the DB by an EVICT, kept for replicas and never pushed to invalidation
+        * subscribers
+     */
+    @JsonIgnore
+    private byte[] value;
+
+    public enum Type {
+        ADD,
+        REMOVE,
+        REMOVE_ALL,
+        CLEAR,
+        EVICT
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.kcacheservice.exception;
+
+/*
+    * Raised when a request carries a header or parameter the cache can not interpret
+ */
+public class CacheBadRequestException extends CacheException {
+    public CacheBadRequestException(String message) {
+        super(message);
+    }
+}
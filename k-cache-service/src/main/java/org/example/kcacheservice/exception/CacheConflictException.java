@@ -0,0 +1,10 @@
+package org.example.kcacheservice.exception;
+
+/*
+    * Raised when a conditional operation finds the record in a state it cannot be applied to
+ */
+public class CacheConflictException extends CacheException {
+    public CacheConflictException(String message) {
+        super(message);
+    }
+}
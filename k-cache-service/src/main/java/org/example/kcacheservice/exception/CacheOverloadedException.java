@@ -0,0 +1,16 @@
+package org.example.kcacheservice.exception;
+
+import lombok.Getter;
+
+/*
+    * Raised when admission control turns a write away, the client should retry after the given delay
+ */
+@Getter
+public class CacheOverloadedException extends CacheException {
+    private final long retryAfterSeconds;
+
+    public CacheOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.kcacheservice.exception;
+
+/*
+    * Raised when a write conditioned by If-Match or If-None-Match finds the record in a state the condition excludes
+ */
+public class CachePreconditionFailedException extends CacheConflictException {
+    public CachePreconditionFailedException(String message) {
+        super(message);
+    }
+}
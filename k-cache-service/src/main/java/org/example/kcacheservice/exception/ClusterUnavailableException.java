@@ -0,0 +1,10 @@
+package org.example.kcacheservice.exception;
+
+/*
+    * Raised when the cluster node owning a key cannot be reached
+ */
+public class ClusterUnavailableException extends CacheException {
+    public ClusterUnavailableException(String message) {
+        super(message);
+    }
+}
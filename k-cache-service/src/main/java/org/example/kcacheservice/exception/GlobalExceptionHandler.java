@@ -0,0 +1,90 @@
+package org.example.kcacheservice.exception;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.ArrayList;
+import java.util.concurrent.RejectedExecutionException;
+
+@ControllerAdvice
+@ResponseBody
+public class GlobalExceptionHandler {
+    @ExceptionHandler(Exception.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ApiResponseEnvelop<Object> handleException(Exception e) {
+        ArrayList<String> errors = new ArrayList<>();
+        errors.add(e.getMessage());
+        return ApiResponseEnvelop.error(errors);
+    }
+
+    @ExceptionHandler(CacheException.class)
+    @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+    public ApiResponseEnvelop<Object> handleCacheException(CacheException e) {
+        return prepareAPIResponse(e);
+    }
+
+    @ExceptionHandler(CacheNotFoundException.class)
+    @ResponseStatus(HttpStatus.PARTIAL_CONTENT)
+    public ApiResponseEnvelop<Object> handleCacheNotFoundException(CacheNotFoundException e) {
+        return prepareAPIResponse(e);
+    }
+
+    @ExceptionHandler(CacheConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ApiResponseEnvelop<Object> handleCacheConflictException(CacheConflictException e) {
+        return prepareAPIResponse(e);
+    }
+
+    /*
+        * A conditional write found the record in a state its If-Match or If-None-Match excludes
+     */
+    @ExceptionHandler(CachePreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ApiResponseEnvelop<Object> handleCachePreconditionFailedException(CachePreconditionFailedException e) {
+        return prepareAPIResponse(e);
+    }
+
+    @ExceptionHandler(CacheBadRequestException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiResponseEnvelop<Object> handleCacheBadRequestException(CacheBadRequestException e) {
+        return prepareAPIResponse(e);
+    }
+
+    @ExceptionHandler(ClusterUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponseEnvelop<Object> handleClusterUnavailableException(ClusterUnavailableException e) {
+        return prepareAPIResponse(e);
+    }
+
+    /*
+        * Admission control turned a write away, Retry-After tells the client when to try again
+     */
+    @ExceptionHandler(CacheOverloadedException.class)
+    public ResponseEntity<ApiResponseEnvelop<Object>> handleCacheOverloadedException(CacheOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(prepareAPIResponse(e));
+    }
+
+    /*
+        * The cold tier queue of the asynchronous api is full
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ApiResponseEnvelop<Object> handleRejectedExecutionException(RejectedExecutionException e) {
+        ArrayList<String> errors = new ArrayList<>();
+        errors.add("Cold tier is saturated, retry later");
+        return ApiResponseEnvelop.error(errors);
+    }
+
+    private ApiResponseEnvelop<Object> prepareAPIResponse(CacheException e) {
+        return ApiResponseEnvelop.error(e.getDisplayMessages());
+    }
+}
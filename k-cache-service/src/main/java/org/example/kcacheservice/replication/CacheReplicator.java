@@ -0,0 +1,70 @@
+package org.example.kcacheservice.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.service.CacheService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+    * Runs this instance as an asynchronous replica of the primary configured in cache.replication.primary-url.
+    * Each cache service version follows the same version of the primary on its own virtual thread.
+ */
+@Component
+@Slf4j
+public class CacheReplicator {
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final CacheConfig cacheConfig;
+    private final Map<String, CacheService> services;
+    private final ObjectMapper objectMapper;
+    private final List<ReplicationFollower> followers;
+    private ExecutorService executor;
+
+    public CacheReplicator(CacheConfig cacheConfig,
+                           @Qualifier("CacheServiceV1") CacheService cacheServiceV1,
+                           @Qualifier("CacheServiceV2") CacheService cacheServiceV2,
+                           ObjectMapper objectMapper) {
+        this.cacheConfig = cacheConfig;
+        this.services = Map.of("v1", cacheServiceV1, "v2", cacheServiceV2);
+        this.objectMapper = objectMapper;
+        this.followers = new ArrayList<>();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        String primaryUrl = this.cacheConfig.getReplication().getPrimaryUrl();
+        if(null == primaryUrl || primaryUrl.isBlank()) return;
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(CONNECT_TIMEOUT)
+                .build();
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("replication-", 0).factory());
+        this.services.forEach((version, cacheService) -> {
+            String baseUrl = primaryUrl.replaceAll("/+$", "") + "/" + version + "/user";
+            ReplicationFollower follower = new ReplicationFollower(httpClient, baseUrl, cacheService, this.objectMapper);
+            this.followers.add(follower);
+            this.executor.execute(follower);
+        });
+        log.info("Replicating from primary {}", primaryUrl);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if(null == this.executor) return;
+        this.followers.forEach(ReplicationFollower::close);
+        this.executor.shutdownNow();
+    }
+}
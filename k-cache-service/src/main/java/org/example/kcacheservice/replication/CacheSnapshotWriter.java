@@ -0,0 +1,64 @@
+package org.example.kcacheservice.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.event.CacheChange;
+import org.example.kcacheservice.event.CacheChangeLog;
+import org.example.kcacheservice.event.CacheMutationEvent;
+import org.example.kcacheservice.service.CacheService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/*
+    * Writes every live record of a cache service as newline delimited ADD changes for bootstrapping a replica.
+    * The change log epoch and sequence are read before exporting and returned in headers, a replica tailing the change
+    * stream from them replays every mutation the export may have missed.
+ */
+@Component
+@Slf4j
+public class CacheSnapshotWriter {
+    public static final String SEQUENCE_HEADER = "X-Snapshot-Sequence";
+
+    private final CacheChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+
+    public CacheSnapshotWriter(CacheChangeLog changeLog, ObjectMapper objectMapper) {
+        this.changeLog = changeLog;
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(String source, CacheService cacheService, HttpServletResponse response) throws IOException {
+        long sequence = this.changeLog.nextSequence(source);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setHeader(CacheChangeLog.EPOCH_HEADER, this.changeLog.epoch());
+        response.setHeader(SEQUENCE_HEADER, String.valueOf(sequence));
+        OutputStream out = response.getOutputStream();
+        long[] count = new long[1];
+        try {
+            cacheService.export(record -> {
+                try {
+                    out.write(this.objectMapper.writeValueAsBytes(CacheChange.builder()
+                            .type(CacheMutationEvent.Type.ADD)
+                            .namespace(record.getNamespace())
+                            .key(record.getId())
+                            .value(record.getValue())
+                            .build()));
+                    out.write('\n');
+                    count[0]++;
+                } catch(IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch(UncheckedIOException e) {
+            throw e.getCause();
+        }
+        out.flush();
+        log.info("Wrote snapshot of {} records of {} at sequence {}", count[0], source, sequence);
+    }
+}
@@ -0,0 +1,183 @@
+package org.example.kcacheservice.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.event.CacheChange;
+import org.example.kcacheservice.event.CacheChangeLog;
+import org.example.kcacheservice.exception.CacheConflictException;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.service.CacheService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/*
+    * Keeps one local cache service in sync with the same service version of the primary.
+    * The follower bootstraps from a snapshot, then tails the change stream from the snapshot sequence. After a
+    * disconnect it catches up from the last applied sequence, and it bootstraps again once the primary signals that
+    * the changes it needs are no longer retained or that it restarted since the snapshot.
+ */
+@Slf4j
+class ReplicationFollower implements Runnable {
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(500);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(10);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final CacheService cacheService;
+    private final ObjectMapper objectMapper;
+    private String epoch;
+    private long nextSequence;
+    private boolean bootstrapped;
+    private volatile boolean closed;
+
+    ReplicationFollower(HttpClient httpClient, String baseUrl, CacheService cacheService, ObjectMapper objectMapper) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.cacheService = cacheService;
+        this.objectMapper = objectMapper;
+    }
+
+    void close() {
+        this.closed = true;
+    }
+
+    @Override
+    public void run() {
+        Duration backoff = MIN_BACKOFF;
+        while(!this.closed) {
+            try {
+                if(!this.bootstrapped) {
+                    this.bootstrap();
+                }
+                long resumedAt = this.nextSequence;
+                this.tail();
+                if(!this.bootstrapped) {
+                    backoff = MIN_BACKOFF;
+                    continue;
+                }
+                if(this.nextSequence > resumedAt) {
+                    backoff = MIN_BACKOFF;
+                }
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch(Exception e) {
+                log.warn("Replication from {} failed at sequence {}: {}", this.baseUrl, this.nextSequence, e.toString());
+            }
+            if(this.closed) return;
+            try {
+                Thread.sleep(backoff);
+            } catch(InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+        }
+    }
+
+    /*
+        * Replaces all local records with the snapshot of the primary
+     */
+    private void bootstrap() throws IOException, InterruptedException {
+        HttpResponse<Stream<String>> response = this.open(URI.create(this.baseUrl + "/replication/snapshot"));
+        String epoch = response.headers().firstValue(CacheChangeLog.EPOCH_HEADER)
+                .orElseThrow(() -> new IOException("Snapshot response has no epoch"));
+        long sequence = response.headers().firstValueAsLong(CacheSnapshotWriter.SEQUENCE_HEADER)
+                .orElseThrow(() -> new IOException("Snapshot response has no sequence"));
+        this.cacheService.removeAll();
+        long count = 0;
+        try(Stream<String> lines = response.body()) {
+            Iterator<String> it = lines.iterator();
+            while(!this.closed && it.hasNext()) {
+                String line = it.next();
+                if(line.isBlank()) continue;
+                this.apply(this.objectMapper.readValue(line, CacheChange.class));
+                count++;
+            }
+        }
+        this.epoch = epoch;
+        this.nextSequence = sequence;
+        this.bootstrapped = true;
+        log.info("Bootstrapped {} records from {} at sequence {}", count, this.baseUrl, sequence);
+    }
+
+    private void tail() throws IOException, InterruptedException {
+        HttpResponse<Stream<String>> response = this.open(URI.create(this.baseUrl + "/changes?values=true&from="
+                + this.nextSequence + "&epoch=" + URLEncoder.encode(this.epoch, StandardCharsets.UTF_8)));
+        log.debug("Tailing changes of {} from sequence {}", this.baseUrl, this.nextSequence);
+        try(Stream<String> lines = response.body()) {
+            Iterator<String> it = lines.iterator();
+            while(!this.closed && it.hasNext()) {
+                String line = it.next();
+                if(line.isBlank()) continue;
+                CacheChange change = this.objectMapper.readValue(line, CacheChange.class);
+                if(null == change.getSequence()) {
+                    log.warn("Changes of {} from sequence {} are not available, bootstrapping again",
+                            this.baseUrl, this.nextSequence);
+                    this.bootstrapped = false;
+                    return;
+                }
+                this.apply(change);
+                this.nextSequence = change.getSequence() + 1;
+            }
+        }
+    }
+
+    void apply(CacheChange change) {
+        String namespace = change.getNamespace();
+        try {
+            switch(change.getType()) {
+                case ADD -> this.cacheService.add(namespace, change.getKey(), change.getValue());
+                case REMOVE -> this.cacheService.remove(namespace, change.getKey());
+                case REMOVE_ALL -> {
+                    if(null == namespace) this.cacheService.removeAll();
+                    else this.cacheService.removeAll(namespace);
+                }
+                case CLEAR -> {
+                    if(null == namespace) this.cacheService.clear();
+                    else this.cacheService.clear(namespace);
+                }
+                case EVICT -> this.restoreEvicted(change);
+            }
+        } catch(CacheException e) {
+            log.warn("Skipping replicated {} of {}/{}: {}", change.getType(), namespace, change.getKey(), e.getMessage());
+        }
+    }
+
+    /*
+        * Eviction does not change values, the local hot tier makes its own eviction decisions. The evicted value is
+        * only added when the key is missing here, which happens when the snapshot was taken while the record moved
+        * from memory to the DB of the primary.
+     */
+    private void restoreEvicted(CacheChange change) {
+        if(null == change.getValue()) return;
+        try {
+            this.cacheService.putIfAbsent(change.getNamespace(), change.getKey(), change.getValue());
+            log.debug("Restored evicted record {}/{} missing from the snapshot", change.getNamespace(), change.getKey());
+        } catch(CacheConflictException e) {
+            log.trace("Evicted record {}/{} is already present", change.getNamespace(), change.getKey());
+        }
+    }
+
+    private HttpResponse<Stream<String>> open(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Accept", "application/x-ndjson")
+                .GET()
+                .build();
+        HttpResponse<Stream<String>> response = this.httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+        if(response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Primary returned status " + response.statusCode() + " for " + uri.getPath());
+        }
+        return response;
+    }
+}
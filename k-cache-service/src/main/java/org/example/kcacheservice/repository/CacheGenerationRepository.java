@@ -0,0 +1,6 @@
+package org.example.kcacheservice.repository;
+
+import org.example.kcacheservice.entity.CacheGenerationEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface CacheGenerationRepository extends JpaRepository<CacheGenerationEntity, String> { }
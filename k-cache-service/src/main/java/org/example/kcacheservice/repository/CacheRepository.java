@@ -0,0 +1,82 @@
+package org.example.kcacheservice.repository;
+
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface CacheRepository extends JpaRepository<CacheEntity, CacheEntityId>, CacheRepositoryCustom {
+
+    /*
+        * Id based writes are served by CacheRepositoryCustom, redeclared so calls resolve to it. They run their own
+        * transactions, a failed insert is repeated in a new one.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public <S extends CacheEntity> S save(S entity);
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public <S extends CacheEntity> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<CacheEntity> findAllById(Iterable<CacheEntityId> ids);
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void deleteById(CacheEntityId id);
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void deleteAllById(Iterable<? extends CacheEntityId> ids);
+
+    @Query("select e.id from CacheEntity e where e.namespace = :namespace and e.generation < :generation")
+    public List<String> findStaleIds(@Param("namespace") String namespace,
+                                     @Param("generation") long generation,
+                                     Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("delete from CacheEntity e where e.namespace = :namespace and e.generation < :generation and e.id in :ids")
+    public int deleteStale(@Param("namespace") String namespace,
+                           @Param("generation") long generation,
+                           @Param("ids") List<String> ids);
+
+    @Transactional
+    @Modifying
+    @Query("delete from CacheEntity e where e.generation < :generation")
+    public int deleteAllByGenerationBefore(@Param("generation") long generation);
+
+    @Query("select count(e) from CacheEntity e where e.namespace = :namespace and e.generation >= :generation")
+    public long countLive(@Param("namespace") String namespace, @Param("generation") long generation);
+
+    /*
+        * Keys of live records of a namespace in key order, read page by page after cursor
+     */
+    @Query("select e.id from CacheEntity e where e.namespace = :namespace and e.id > :cursor " +
+            "and e.generation >= :generation order by e.id")
+    public List<String> findLiveIds(@Param("namespace") String namespace,
+                                    @Param("cursor") String cursor,
+                                    @Param("generation") long generation,
+                                    Pageable pageable);
+
+    /*
+        * Live records of a namespace in key order, pattern is a like pattern escaped with '!', served by the
+        * namespace and id index
+     */
+    @Query("select e from CacheEntity e where e.namespace = :namespace and e.id like :pattern escape '!' " +
+            "and e.id > :cursor and e.generation >= :generation order by e.id")
+    public List<CacheEntity> scan(@Param("namespace") String namespace,
+                                  @Param("pattern") String pattern,
+                                  @Param("cursor") String cursor,
+                                  @Param("generation") long generation,
+                                  Pageable pageable);
+}
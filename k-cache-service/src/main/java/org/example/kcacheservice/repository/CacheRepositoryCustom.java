@@ -0,0 +1,23 @@
+package org.example.kcacheservice.repository;
+
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+
+import java.util.List;
+
+/*
+    * Replaces the id based methods of JpaRepository, which read every row by its composite id before writing or
+    * deleting it, with writes that need no read for records known to be new and set based statements per namespace
+ */
+public interface CacheRepositoryCustom {
+
+    public <S extends CacheEntity> S save(S entity);
+
+    public <S extends CacheEntity> List<S> saveAll(Iterable<S> entities);
+
+    public List<CacheEntity> findAllById(Iterable<CacheEntityId> ids);
+
+    public void deleteById(CacheEntityId id);
+
+    public void deleteAllById(Iterable<? extends CacheEntityId> ids);
+}
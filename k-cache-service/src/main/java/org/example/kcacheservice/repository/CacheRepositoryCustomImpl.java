@@ -0,0 +1,113 @@
+package org.example.kcacheservice.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+    * Records marked created are persisted, a single insert batched with the others by hibernate.jdbc.batch_size.
+    * The rest are merged after their rows were loaded with one query per namespace, so merge finds them in the
+    * persistence context instead of selecting each.
+    * A record marked created that has a row after all, written by the other service version or left over from an old
+    * generation, fails the insert. The whole write is rolled back and repeated with every record merged.
+ */
+@Slf4j
+public class CacheRepositoryCustomImpl implements CacheRepositoryCustom {
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public CacheRepositoryCustomImpl(EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public <S extends CacheEntity> S save(S entity) {
+        this.saveAll(List.of(entity));
+        return entity;
+    }
+
+    @Override
+    public <S extends CacheEntity> List<S> saveAll(Iterable<S> entities) {
+        List<S> records = new ArrayList<>();
+        entities.forEach(records::add);
+        if(records.isEmpty()) return records;
+
+        try {
+            this.write(records);
+        } catch(DataIntegrityViolationException | PersistenceException e) {
+            if(records.stream().noneMatch(CacheEntity::isCreated)) throw e;
+            log.debug("Records marked created already had rows, writing {} records again with merge", records.size());
+            records.forEach(record -> record.setCreated(false));
+            this.write(records);
+        }
+        return records;
+    }
+
+    @Override
+    public List<CacheEntity> findAllById(Iterable<CacheEntityId> ids) {
+        List<CacheEntity> records = new ArrayList<>();
+        byNamespace(ids).forEach((namespace, keys) -> records.addAll(this.find(namespace, keys)));
+        return records;
+    }
+
+    @Override
+    public void deleteById(CacheEntityId id) {
+        this.deleteAllById(List.of(id));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends CacheEntityId> ids) {
+        Map<String, List<String>> keys = byNamespace(ids);
+        if(keys.isEmpty()) return;
+        this.transactionTemplate.executeWithoutResult(status -> keys.forEach((namespace, namespaceKeys) ->
+                this.entityManager.createQuery("delete from CacheEntity e where e.namespace = :namespace and e.id in :ids")
+                        .setParameter("namespace", namespace)
+                        .setParameter("ids", namespaceKeys)
+                        .executeUpdate()));
+    }
+
+    private <S extends CacheEntity> void write(List<S> records) {
+        this.transactionTemplate.executeWithoutResult(status -> {
+            List<CacheEntityId> existing = records.stream()
+                    .filter(record -> !record.isCreated())
+                    .map(record -> new CacheEntityId(record.getNamespace(), record.getId()))
+                    .toList();
+            if(existing.size() > 1) {
+                byNamespace(existing).forEach(this::find);
+            }
+            for(S record : records) {
+                if(record.isCreated()) {
+                    this.entityManager.persist(record);
+                } else {
+                    this.entityManager.merge(record);
+                }
+            }
+            this.entityManager.flush();
+        });
+    }
+
+    private List<CacheEntity> find(String namespace, List<String> keys) {
+        return this.entityManager
+                .createQuery("select e from CacheEntity e where e.namespace = :namespace and e.id in :ids", CacheEntity.class)
+                .setParameter("namespace", namespace)
+                .setParameter("ids", keys)
+                .getResultList();
+    }
+
+    private static Map<String, List<String>> byNamespace(Iterable<? extends CacheEntityId> ids) {
+        Map<String, List<String>> keys = new LinkedHashMap<>();
+        ids.forEach(id -> keys.computeIfAbsent(id.getNamespace(), namespace -> new ArrayList<>()).add(id.getId()));
+        return keys;
+    }
+}
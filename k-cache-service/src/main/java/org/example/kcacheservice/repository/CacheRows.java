@@ -0,0 +1,25 @@
+package org.example.kcacheservice.repository;
+
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+    * Rows of tbl_k_cache written by the write behind flush of the v2 persistence service
+ */
+public interface CacheRows {
+
+    /*
+        * Passes every row to the consumer, rows of old generations included
+     */
+    public void forEach(Consumer<CacheEntity> consumer);
+
+    /*
+        * Inserts the records without a row and updates the others
+     */
+    public void saveAll(List<CacheEntity> records);
+
+    public void deleteAll(List<CacheEntityId> ids);
+}
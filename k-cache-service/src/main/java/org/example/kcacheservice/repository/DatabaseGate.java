@@ -0,0 +1,61 @@
+package org.example.kcacheservice.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.tracing.OperationTrace;
+import org.example.kcacheservice.tracing.TracePhase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/*
+    * Bounds concurrent repository calls to the size of the connection pool.
+    * Thousands of virtual threads then wait on a cheap semaphore instead of timing out in the pool, and a call only
+    * holds a connection while it actually talks to the database.
+    * Time spent waiting here and in the call is reported to the trace of the calling operation.
+ */
+@Component
+@Slf4j
+public class DatabaseGate {
+    private static final int DEFAULT_PERMITS = 10;
+
+    private final Semaphore permits;
+
+    @Autowired
+    public DatabaseGate(DataSource dataSource) {
+        this(dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_PERMITS);
+    }
+
+    public DatabaseGate(int permits) {
+        this.permits = new Semaphore(permits, true);
+        log.debug("Database gate allows {} concurrent calls", permits);
+    }
+
+    public <T> T call(Supplier<T> call) {
+        long start = OperationTrace.start();
+        try {
+            this.permits.acquire();
+        } catch(InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CacheException("Interrupted while waiting for database");
+        }
+        start = OperationTrace.record(TracePhase.DATABASE_WAIT, start);
+        try {
+            return call.get();
+        } finally {
+            this.permits.release();
+            OperationTrace.record(TracePhase.DATABASE, start);
+        }
+    }
+
+    public void run(Runnable call) {
+        this.call(() -> {
+            call.run();
+            return null;
+        });
+    }
+}
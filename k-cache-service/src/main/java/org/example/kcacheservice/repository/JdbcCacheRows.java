@@ -0,0 +1,126 @@
+package org.example.kcacheservice.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Consumer;
+
+/*
+    * Rows of tbl_k_cache through plain JDBC, without Hibernate's persistence context and without reading a row before
+    * writing it. Each record is one upsert in the dialect of the database, sent in batches of batchSize statements
+    * within one transaction. Rows are loaded through a cursor of fetchSize rows.
+    * cache_value is read and written as bytes, on PostgreSQL the column must be bytea.
+ */
+@Slf4j
+public class JdbcCacheRows implements CacheRows {
+
+    public enum UpsertDialect {
+        /*
+            * PostgreSQL
+         */
+        ON_CONFLICT("insert into tbl_k_cache (namespace, id, created_at, updated_at, cache_value, generation, version) " +
+                "values (?, ?, ?, ?, ?, ?, ?) " +
+                "on conflict (namespace, id) do update set updated_at = excluded.updated_at, " +
+                "cache_value = excluded.cache_value, generation = excluded.generation, version = excluded.version"),
+        /*
+            * SQL standard merge, H2 in every compatibility mode and PostgreSQL 15 or later
+         */
+        MERGE("merge into tbl_k_cache t " +
+                "using (values (?, ?, ?, ?, ?, ?, ?)) as s(namespace, id, created_at, updated_at, cache_value, generation, version) " +
+                "on t.namespace = s.namespace and t.id = s.id " +
+                "when matched then update set updated_at = s.updated_at, cache_value = s.cache_value, " +
+                "generation = s.generation, version = s.version " +
+                "when not matched then insert (namespace, id, created_at, updated_at, cache_value, generation, version) " +
+                "values (s.namespace, s.id, s.created_at, s.updated_at, s.cache_value, s.generation, s.version)");
+
+        private final String upsert;
+
+        UpsertDialect(String upsert) {
+            this.upsert = upsert;
+        }
+
+        public String upsert() {
+            return this.upsert;
+        }
+
+        public static UpsertDialect of(String databaseProductName) {
+            return "PostgreSQL".equalsIgnoreCase(databaseProductName) ? ON_CONFLICT : MERGE;
+        }
+    }
+
+    private static final String SELECT = "select namespace, id, cache_value, generation, version from tbl_k_cache";
+    private static final String DELETE = "delete from tbl_k_cache where namespace = ? and id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UpsertDialect dialect;
+    private final int batchSize;
+
+    public JdbcCacheRows(DataSource dataSource, PlatformTransactionManager transactionManager, int batchSize, int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        String product = this.jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        this.dialect = UpsertDialect.of(product);
+        log.info("JDBC persistence on {} writes with {} upserts", product, this.dialect);
+    }
+
+    /*
+        * Within a transaction, PostgreSQL only streams a result set through a cursor when auto commit is off
+     */
+    @Override
+    public void forEach(Consumer<CacheEntity> consumer) {
+        this.transactionTemplate.executeWithoutResult(status -> this.jdbcTemplate.query(SELECT, resultSet -> {
+            long version = resultSet.getLong("version");
+            consumer.accept(CacheEntity.builder()
+                    .namespace(resultSet.getString("namespace"))
+                    .id(resultSet.getString("id"))
+                    .value(resultSet.getBytes("cache_value"))
+                    .generation(resultSet.getLong("generation"))
+                    .version(resultSet.wasNull() ? null : version)
+                    .build());
+        }));
+    }
+
+    @Override
+    public void saveAll(List<CacheEntity> records) {
+        if(records.isEmpty()) return;
+        OffsetDateTime now = OffsetDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+        this.transactionTemplate.executeWithoutResult(status ->
+                this.jdbcTemplate.batchUpdate(this.dialect.upsert(), records, this.batchSize, (statement, record) -> {
+                    statement.setString(1, record.getNamespace());
+                    statement.setString(2, record.getId());
+                    statement.setObject(3, now);
+                    statement.setObject(4, now);
+                    statement.setBytes(5, record.getValue());
+                    statement.setLong(6, record.getGeneration());
+                    statement.setLong(7, record.versionOrZero());
+                }));
+    }
+
+    @Override
+    public void deleteAll(List<CacheEntityId> ids) {
+        if(ids.isEmpty()) return;
+        this.transactionTemplate.executeWithoutResult(status ->
+                this.jdbcTemplate.batchUpdate(DELETE, ids, this.batchSize, (statement, id) -> {
+                    statement.setString(1, id.getNamespace());
+                    statement.setString(2, id.getId());
+                }));
+    }
+
+    public UpsertDialect dialect() {
+        return this.dialect;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.kcacheservice.repository;
+
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public class JpaCacheRows implements CacheRows {
+    private final CacheRepository cacheRepository;
+
+    public JpaCacheRows(CacheRepository cacheRepository) {
+        this.cacheRepository = cacheRepository;
+    }
+
+    @Override
+    public void forEach(Consumer<CacheEntity> consumer) {
+        this.cacheRepository.findAll().forEach(consumer);
+    }
+
+    @Override
+    public void saveAll(List<CacheEntity> records) {
+        this.cacheRepository.saveAll(records);
+    }
+
+    @Override
+    public void deleteAll(List<CacheEntityId> ids) {
+        this.cacheRepository.deleteAllById(ids);
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.kcacheservice.repository;
+
+public enum PersistenceBackend {
+    /*
+        * Through CacheRepository and Hibernate
+     */
+    JPA,
+    /*
+        * Plain JDBC with one upsert statement per record, sent in batches
+     */
+    JDBC
+}
@@ -0,0 +1,32 @@
+package org.example.kcacheservice.service;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.dto.CacheScanPage;
+import org.example.kcacheservice.engine.WritePrecondition;
+
+import java.util.concurrent.CompletableFuture;
+
+/*
+    * Non blocking view of a cache service. Reads the in memory tier answers complete before the call returns, the
+    * rest complete when the database work finished on a cold tier thread. Failures complete the future exceptionally,
+    * a saturated cold tier with a RejectedExecutionException.
+ */
+public interface AsyncCacheService {
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> add(String namespace, String key, byte[] value);
+
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> fetch(String namespace, String key);
+
+    public CompletableFuture<ApiResponseEnvelop<String>> remove(String namespace, String key);
+
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> putIf(String namespace, String key, WritePrecondition precondition, byte[] value);
+
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> incrementBy(String namespace, String key, long delta);
+
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> append(String namespace, String key, byte[] suffix);
+
+    /*
+        * Page of at most limit records of the namespace whose key starts with prefix and sorts after cursor
+     */
+    public CompletableFuture<CacheScanPage> scan(String namespace, String prefix, String cursor, int limit);
+}
@@ -0,0 +1,31 @@
+package org.example.kcacheservice.service;
+
+/*
+    * Tracks the generation of every namespace. Records persisted with an older generation than their namespace are
+    * logically deleted and are physically removed by a background purge.
+ */
+public interface CacheGenerationService {
+    public long currentGeneration(String namespace);
+
+    public boolean isStale(String namespace, long generation);
+
+    /*
+        * Invalidates all persisted records of one namespace, returns the new generation.
+        * Only changes the generation in memory, so callers may advance inside their critical section and persist the
+        * namespace after leaving it.
+     */
+    public long advance(String namespace);
+
+    /*
+        * Invalidates all persisted records of all namespaces, returns the new generation, persist with a null namespace
+     */
+    public long advanceAll();
+
+    /*
+        * Writes the current generation of the namespace, or of all namespaces when null, to the DB. Throws when the
+        * write fails, the invalidated records would come back after a restart.
+     */
+    public void persist(String namespace);
+
+    public void purgeStaleGenerations();
+}
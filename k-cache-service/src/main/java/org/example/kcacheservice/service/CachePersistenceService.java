@@ -0,0 +1,35 @@
+package org.example.kcacheservice.service;
+
+import org.example.kcacheservice.dto.CacheDTO;
+
+import java.util.Iterator;
+import java.util.Optional;
+
+public interface CachePersistenceService {
+    public void initPersistenceStore();
+
+    public void persistToStore(CacheDTO cacheDTO);
+
+    public Optional<CacheDTO> getFromStore(String namespace, String key);
+
+    public void removeFromStore(String namespace, String key);
+
+    public void removeAll(String namespace);
+
+    public void removeAll();
+
+    /*
+        * Records of the namespace whose key starts with prefix and sorts after cursor, read lazily in key order
+     */
+    public Iterator<CacheDTO> scan(String namespace, String prefix, String cursor);
+
+    /*
+        * Keys waiting for the next flush to DB
+     */
+    public int pendingWrites();
+
+    /*
+        * Time since the last flush that reached the DB while keys are waiting, 0 when none wait
+     */
+    public long flushLagMillis();
+}
@@ -0,0 +1,155 @@
+package org.example.kcacheservice.service;
+
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.dto.CacheStats;
+import org.example.kcacheservice.dto.HotKeyStats;
+import org.example.kcacheservice.engine.WritePrecondition;
+import org.example.kcacheservice.exception.CacheConflictException;
+import org.example.kcacheservice.trace.AccessTraceRecorder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public interface CacheService {
+    public ApiResponseEnvelop<CacheDTO> add(String namespace, String key, byte[] value);
+
+    public ApiResponseEnvelop<CacheDTO> fetch(String namespace, String key);
+
+    /*
+        * Looks the key up in the in memory tier only, never blocking on the persistent tier. An empty result does not
+        * mean the key is absent, callers fall back to fetch.
+     */
+    public Optional<CacheDTO> peek(String namespace, String key);
+
+    /*
+        * Answers the read when that needs no database call and counts it like fetch. An empty result leaves the read
+        * uncounted, callers continue with fetch.
+     */
+    public default Optional<ApiResponseEnvelop<CacheDTO>> tryFetch(String namespace, String key) {
+        return Optional.empty();
+    }
+
+    public ApiResponseEnvelop<String> remove(String namespace, String key);
+
+    /*
+        * Removes the record only while it is at expectedVersion, else throws CachePreconditionFailedException
+     */
+    public ApiResponseEnvelop<String> removeIfVersion(String namespace, String key, long expectedVersion);
+
+    /*
+        * Atomically replaces the value of the key with the result of update, which gets the current record or null when
+        * the key is absent. No other write to the key runs in between, update throws to leave the record unchanged.
+     */
+    public ApiResponseEnvelop<CacheDTO> compute(String namespace, String key, Function<CacheDTO, byte[]> update);
+
+    /*
+        * Removes all records of one namespace from memory and database
+     */
+    public ApiResponseEnvelop<String> removeAll(String namespace);
+
+    /*
+        * Clears in memory records of one namespace
+     */
+    public ApiResponseEnvelop<String> clear(String namespace);
+
+    public ApiResponseEnvelop<String> removeAll();
+
+    public ApiResponseEnvelop<String> clear();
+
+    /*
+        * Passes every live record of every namespace to the consumer. Persistent records go first and in memory records
+        * last, so a record moving between tiers during the export ends with its in memory value. A record evicted after
+        * its segment was copied may be missed, its EVICT change carries the value so a replica restores it.
+     */
+    public void export(Consumer<CacheDTO> consumer);
+
+    /*
+        * Passes records of the namespace whose key starts with prefix and sorts after cursor to the consumer, in key
+        * order across both tiers and at most limit of them. Returns the cursor of the next page, null on the last page.
+        * Weakly consistent, a record moving between tiers while the page is read may be missed.
+     */
+    public String scan(String namespace, String prefix, String cursor, int limit, Consumer<CacheDTO> consumer);
+
+    /*
+        * Size and tuning figures of every namespace
+     */
+    public List<CacheStats> stats();
+
+    /*
+        * Most read keys of every namespace by sampled estimate, empty where reads are not sampled
+     */
+    public default List<HotKeyStats> hotKeys() {
+        return List.of();
+    }
+
+    /*
+        * Recorder of the sampled access trace of this service
+     */
+    public AccessTraceRecorder accessTrace();
+
+    /*
+        * Writes value only when the current record satisfies the precondition, else throws CachePreconditionFailedException
+     */
+    public default ApiResponseEnvelop<CacheDTO> putIf(String namespace, String key, WritePrecondition precondition, byte[] value) {
+        return this.compute(namespace, key, current -> {
+            precondition.check(key, current);
+            return value;
+        });
+    }
+
+    public default ApiResponseEnvelop<CacheDTO> compareAndSet(String namespace, String key, long expectedVersion, byte[] value) {
+        return this.putIf(namespace, key, WritePrecondition.version(expectedVersion), value);
+    }
+
+    public default ApiResponseEnvelop<CacheDTO> putIfAbsent(String namespace, String key, byte[] value) {
+        return this.putIf(namespace, key, WritePrecondition.absent(), value);
+    }
+
+    /*
+        * Adds delta to a value holding a decimal number, an absent key counts as 0
+     */
+    public default ApiResponseEnvelop<CacheDTO> incrementBy(String namespace, String key, long delta) {
+        return this.compute(namespace, key, current -> {
+            long number = 0;
+            if(null != current) {
+                try {
+                    number = Long.parseLong(new String(current.getValue(), StandardCharsets.UTF_8).trim());
+                } catch(NumberFormatException e) {
+                    throw new CacheConflictException("Value of key " + key + " is not a number");
+                }
+            }
+            try {
+                return Long.toString(Math.addExact(number, delta)).getBytes(StandardCharsets.UTF_8);
+            } catch(ArithmeticException e) {
+                throw new CacheConflictException("Value of key " + key + " would overflow");
+            }
+        });
+    }
+
+    public default ApiResponseEnvelop<CacheDTO> append(String namespace, String key, byte[] suffix) {
+        return this.compute(namespace, key, current -> {
+            if(null == current) return suffix;
+            byte[] value = Arrays.copyOf(current.getValue(), current.getValue().length + suffix.length);
+            System.arraycopy(suffix, 0, value, current.getValue().length, suffix.length);
+            return value;
+        });
+    }
+
+    public default ApiResponseEnvelop<CacheDTO> add(String key, byte[] value) {
+        return add(CacheConfig.DEFAULT_NAMESPACE, key, value);
+    }
+
+    public default ApiResponseEnvelop<CacheDTO> fetch(String key) {
+        return fetch(CacheConfig.DEFAULT_NAMESPACE, key);
+    }
+
+    public default ApiResponseEnvelop<String> remove(String key) {
+        return remove(CacheConfig.DEFAULT_NAMESPACE, key);
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.kcacheservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.dto.CacheScanPage;
+import org.example.kcacheservice.engine.WritePrecondition;
+import org.example.kcacheservice.service.AsyncCacheService;
+import org.example.kcacheservice.service.CacheService;
+import org.example.kcacheservice.tracing.OperationTrace;
+import org.example.kcacheservice.tracing.TracePhase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/*
+    * Runs the calls of a cache service on the cold tier executor, except reads its in memory tier answers, which
+    * complete on the calling thread. The trace of the calling request moves along to the cold tier thread, the time
+    * spent queued for it is its cold tier wait.
+ */
+@Slf4j
+public class AsyncCacheServiceImpl implements AsyncCacheService {
+
+    private final CacheService cacheService;
+    private final Executor coldTier;
+
+    public AsyncCacheServiceImpl(CacheService cacheService, Executor coldTier) {
+        this.cacheService = cacheService;
+        this.coldTier = coldTier;
+    }
+
+    /*
+        * Writes go to the cold tier since v1 deletes the previous DB record and may persist an evicted one
+     */
+    @Override
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> add(String namespace, String key, byte[] value) {
+        return this.offload(() -> this.cacheService.add(namespace, key, value));
+    }
+
+    @Override
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> fetch(String namespace, String key) {
+        Optional<ApiResponseEnvelop<CacheDTO>> cached;
+        try {
+            cached = this.cacheService.tryFetch(namespace, key);
+        } catch(RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        if(cached.isPresent()) {
+            log.trace("Record with key {} served from memory", key);
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        return this.offload(() -> this.cacheService.fetch(namespace, key));
+    }
+
+    @Override
+    public CompletableFuture<ApiResponseEnvelop<String>> remove(String namespace, String key) {
+        return this.offload(() -> this.cacheService.remove(namespace, key));
+    }
+
+    @Override
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> putIf(String namespace, String key, WritePrecondition precondition, byte[] value) {
+        return this.offload(() -> this.cacheService.putIf(namespace, key, precondition, value));
+    }
+
+    @Override
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> incrementBy(String namespace, String key, long delta) {
+        return this.offload(() -> this.cacheService.incrementBy(namespace, key, delta));
+    }
+
+    @Override
+    public CompletableFuture<ApiResponseEnvelop<CacheDTO>> append(String namespace, String key, byte[] suffix) {
+        return this.offload(() -> this.cacheService.append(namespace, key, suffix));
+    }
+
+    @Override
+    public CompletableFuture<CacheScanPage> scan(String namespace, String prefix, String cursor, int limit) {
+        return this.offload(() -> {
+            List<CacheDTO> records = new ArrayList<>();
+            String nextCursor = this.cacheService.scan(namespace, prefix, cursor, limit, records::add);
+            return CacheScanPage.builder()
+                    .records(records)
+                    .nextCursor(nextCursor)
+                    .build();
+        });
+    }
+
+    private <T> CompletableFuture<T> offload(Supplier<T> call) {
+        OperationTrace trace = OperationTrace.current();
+        long submittedAt = OperationTrace.start();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                OperationTrace.resume(trace);
+                try {
+                    OperationTrace.record(TracePhase.COLD_TIER_WAIT, submittedAt);
+                    return call.get();
+                } finally {
+                    OperationTrace.end();
+                }
+            }, this.coldTier);
+        } catch(RejectedExecutionException e) {
+            log.warn("Cold tier is saturated, rejecting request");
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.example.kcacheservice.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.entity.CacheGenerationEntity;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.repository.CacheGenerationRepository;
+import org.example.kcacheservice.repository.CacheRepository;
+import org.example.kcacheservice.repository.DatabaseGate;
+import org.example.kcacheservice.service.CacheGenerationService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@Slf4j
+public class CacheGenerationServiceImpl implements CacheGenerationService {
+    /*
+        * Generation row applying to every namespace, written by advanceAll
+     */
+    private static final String ALL_NAMESPACES = "*";
+    private static final int PURGE_BATCH_SIZE = 500;
+
+    private final Map<String, Long> generations;
+    private final Map<String, Long> pendingPurges;
+    private final AtomicLong pendingBulkPurge;
+    private final ReentrantLock lock;
+    /*
+        * Orders generation writes, each writes the generation current when it runs so the last one stored is the latest
+     */
+    private final ReentrantLock persistLock;
+    private final CacheGenerationRepository cacheGenerationRepository;
+    private final CacheRepository cacheRepository;
+    private final DatabaseGate databaseGate;
+    private long lastGeneration;
+
+    public CacheGenerationServiceImpl(CacheGenerationRepository cacheGenerationRepository,
+                                      CacheRepository cacheRepository,
+                                      DatabaseGate databaseGate) {
+        this.generations = new ConcurrentHashMap<>();
+        this.pendingPurges = new ConcurrentHashMap<>();
+        this.pendingBulkPurge = new AtomicLong();
+        this.lock = new ReentrantLock();
+        this.persistLock = new ReentrantLock();
+        this.cacheGenerationRepository = cacheGenerationRepository;
+        this.cacheRepository = cacheRepository;
+        this.databaseGate = databaseGate;
+        this.lastGeneration = 0;
+    }
+
+    @PostConstruct
+    public void init() {
+        log.debug("Loading namespace generations from DB");
+        try {
+            for(CacheGenerationEntity entity : this.cacheGenerationRepository.findAll()) {
+                this.generations.put(entity.getNamespace(), entity.getGeneration());
+                this.lastGeneration = Math.max(this.lastGeneration, entity.getGeneration());
+                if(ALL_NAMESPACES.equals(entity.getNamespace())) {
+                    this.pendingBulkPurge.set(entity.getGeneration());
+                } else {
+                    this.pendingPurges.put(entity.getNamespace(), entity.getGeneration());
+                }
+            }
+        } catch(Exception e) {
+            log.error("Error while loading namespace generations from DB", e);
+            throw new CacheException("Error loading namespace generations");
+        }
+    }
+
+    @Override
+    public long currentGeneration(String namespace) {
+        return Math.max(this.generations.getOrDefault(namespace, 0L), this.generations.getOrDefault(ALL_NAMESPACES, 0L));
+    }
+
+    @Override
+    public boolean isStale(String namespace, long generation) {
+        return generation < this.currentGeneration(namespace);
+    }
+
+    @Override
+    public long advance(String namespace) {
+        log.debug("Advancing generation of namespace {}", namespace);
+        try {
+            this.lock.lock();
+            long generation = ++this.lastGeneration;
+            this.generations.put(namespace, generation);
+            this.pendingPurges.put(namespace, generation);
+            return generation;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public long advanceAll() {
+        log.debug("Advancing generation of all namespaces");
+        try {
+            this.lock.lock();
+            long generation = ++this.lastGeneration;
+            this.generations.put(ALL_NAMESPACES, generation);
+            this.pendingPurges.clear();
+            this.pendingBulkPurge.set(generation);
+            return generation;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    @Override
+    public void persist(String namespace) {
+        String row = null == namespace ? ALL_NAMESPACES : namespace;
+        try {
+            this.persistLock.lock();
+            long generation = this.generations.getOrDefault(row, 0L);
+            this.databaseGate.run(() -> this.cacheGenerationRepository.save(new CacheGenerationEntity(row, generation)));
+            log.debug("Persisted generation {} of namespace {}", generation, row);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error while persisting generation of namespace {}", row, e);
+            throw new CacheException("Error persisting namespace generation");
+        } finally {
+            this.persistLock.unlock();
+        }
+    }
+
+    /*
+        * Physically removes records of old generations.
+        * A flush of all namespaces is purged with a single set based delete over the generation index, a flush of one
+        * namespace is purged in small batches so the table is never locked for long.
+     */
+    @Override
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+    public void purgeStaleGenerations() {
+        long bulkGeneration = this.pendingBulkPurge.get();
+        if(bulkGeneration > 0) {
+            try {
+                int deleted = this.cacheRepository.deleteAllByGenerationBefore(bulkGeneration);
+                this.pendingBulkPurge.compareAndSet(bulkGeneration, 0);
+                log.debug("Purged {} records older than generation {}", deleted, bulkGeneration);
+            } catch(Exception e) {
+                log.error("Error while purging records older than generation {}", bulkGeneration, e);
+            }
+        }
+
+        for(Map.Entry<String, Long> pending : this.pendingPurges.entrySet()) {
+            String namespace = pending.getKey();
+            long generation = pending.getValue();
+            try {
+                List<String> ids;
+                do {
+                    ids = this.cacheRepository.findStaleIds(namespace, generation, PageRequest.of(0, PURGE_BATCH_SIZE));
+                    if(!ids.isEmpty()) {
+                        this.cacheRepository.deleteStale(namespace, generation, ids);
+                    }
+                } while(ids.size() == PURGE_BATCH_SIZE);
+                this.pendingPurges.remove(namespace, generation);
+                log.debug("Purged namespace {} records older than generation {}", namespace, generation);
+            } catch(Exception e) {
+                log.error("Error while purging namespace {} records older than generation {}", namespace, generation, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package org.example.kcacheservice.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.engine.KeyScan;
+import org.example.kcacheservice.engine.NegativeCache;
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.repository.CacheRepository;
+import org.example.kcacheservice.repository.CacheRows;
+import org.example.kcacheservice.repository.DatabaseGate;
+import org.example.kcacheservice.repository.JdbcCacheRows;
+import org.example.kcacheservice.repository.JpaCacheRows;
+import org.example.kcacheservice.service.CacheGenerationService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/*
+    * Persistent store of v2, the rows of tbl_k_cache behind a write behind buffer.
+    * Records evicted from memory wait in the buffer until the next flush, then live only in DB and are read back on a
+    * miss. The heap holds the records of one flush interval, bounded by admission control through pendingWrites, and
+    * a bounded set of keys known to be missing per namespace, never the whole store.
+    * Callers hold the segment write lock of the namespace for every call except scan.
+ */
+@Service
+@Slf4j
+public class CachePersistenceServiceImpl implements org.example.kcacheservice.service.CachePersistenceService {
+    private static final int SCAN_PAGE_SIZE = 256;
+
+    /*
+        * Records not flushed to DB yet by namespace, ordered by key for prefix scans. A record without value marks a
+        * removed key whose row is deleted by the next flush. Entries are dropped once the flush wrote them, unless a
+        * newer one replaced them meanwhile.
+     */
+    private final Map<String, NavigableMap<String, CacheDTO>> pending;
+    /*
+        * Keys with neither a pending record nor a live row, so repeated misses skip the DB
+     */
+    private final Map<String, NegativeCache> missing;
+    private final int missingMaxSize;
+    private final BlockingQueue<CacheEntityId> evictionQueue;
+    private boolean isInit;
+    private final CacheRepository cacheRepository;
+    private final CacheRows cacheRows;
+    private final ScheduledExecutorService dbSyncExecutor;
+    private final CacheGenerationService cacheGenerationService;
+    private final DatabaseGate databaseGate;
+    private volatile long flushedAt;
+
+    public CachePersistenceServiceImpl(CacheRepository cacheRepository,
+                                       CacheGenerationService cacheGenerationService,
+                                       DatabaseGate databaseGate,
+                                       CacheConfig cacheConfig,
+                                       DataSource dataSource,
+                                       PlatformTransactionManager transactionManager) {
+        this.pending = new ConcurrentHashMap<>();
+        this.missing = new ConcurrentHashMap<>();
+        this.missingMaxSize = cacheConfig.getNegativeCache().getMaxSize();
+        this.evictionQueue = new LinkedBlockingDeque<>();
+        this.isInit = false;
+        this.cacheRepository = cacheRepository;
+        CacheConfig.Persistence persistence = cacheConfig.getPersistence();
+        this.cacheRows = switch(persistence.getBackend()) {
+            case JPA -> new JpaCacheRows(cacheRepository);
+            case JDBC -> new JdbcCacheRows(dataSource, transactionManager, persistence.getBatchSize(), persistence.getFetchSize());
+        };
+        this.cacheGenerationService = cacheGenerationService;
+        this.databaseGate = databaseGate;
+        this.dbSyncExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("db-sync-thread").factory());
+        this.flushedAt = System.nanoTime();
+    }
+
+    @Override
+    public void initPersistenceStore() {
+        log.debug("Initializing persistent store");
+        if(this.isInit) return;
+        try {
+            this.dbSyncExecutor.scheduleAtFixedRate(this::flushEvictingQueue, 10, 10, TimeUnit.SECONDS);
+            this.isInit = true;
+        } catch(Exception e) {
+            log.error("Error while initializing persistent store", e);
+            throw new CacheException("Error initializing persistent store");
+        }
+    }
+
+    @Override
+    public void persistToStore(CacheDTO cacheDTO) {
+        log.debug("Persisting record to persistent store - Namespace: {}, Key: {}, Value size: {}",
+                cacheDTO.getNamespace(), cacheDTO.getId(), cacheDTO.getValue().length);
+        if(!this.isInit) throw new CacheException("Persistent store not initialized");
+        try {
+            this.namespaceStore(cacheDTO.getNamespace()).put(cacheDTO.getId(), cacheDTO);
+            this.missing(cacheDTO.getNamespace()).remove(cacheDTO.getId());
+            this.evictionQueue.offer(new CacheEntityId(cacheDTO.getNamespace(), cacheDTO.getId()));
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error while persisting record to database", e);
+            throw new CacheException("Error persisting record to database");
+        }
+    }
+
+    /*
+        * A pending record, else the live row of the key unless the key is known to be missing
+     */
+    @Override
+    public Optional<CacheDTO> getFromStore(String namespace, String key) {
+        log.debug("Getting record from persistent store - Namespace: {}, Key: {}", namespace, key);
+        if(!this.isInit) throw new CacheException("Persistent store not initialized");
+        try {
+            CacheDTO record = this.namespaceStore(namespace).get(key);
+            if(null != record) {
+                return isRemoved(record) ? Optional.empty() : Optional.of(record);
+            }
+            NegativeCache missing = this.missing(namespace);
+            if(missing.contains(key)) {
+                return Optional.empty();
+            }
+            Optional<CacheDTO> persisted = this.databaseGate.call(() -> this.cacheRepository.findById(new CacheEntityId(namespace, key)))
+                    .filter(entity -> !this.cacheGenerationService.isStale(namespace, entity.getGeneration()))
+                    .map(this::toRecord);
+            if(persisted.isEmpty()) {
+                missing.add(key);
+            }
+            return persisted;
+        } catch(CacheException e) {
+           throw e;
+        } catch(Exception e) {
+            log.error("Error while fetching record from database", e);
+            throw new CacheException("Error fetching record from database");
+        }
+    }
+
+    /*
+        * Without knowing whether the key has a row, the removal is queued unless the key is known to be missing
+     */
+    @Override
+    public void removeFromStore(String namespace, String key) {
+        log.debug("Removing record from persistent store - Namespace: {}, Key: {}", namespace, key);
+        try {
+            if(!this.isInit) throw new CacheException("Persistent store not initialized");
+            NavigableMap<String, CacheDTO> store = this.namespaceStore(namespace);
+            NegativeCache missing = this.missing(namespace);
+            if(!store.containsKey(key) && missing.contains(key)) return;
+            store.put(key, CacheDTO.builder().namespace(namespace).id(key).build());
+            missing.add(key);
+            this.evictionQueue.offer(new CacheEntityId(namespace, key));
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error while removing record from database", e);
+            throw new CacheException("Error removing record from database");
+        }
+    }
+
+    /*
+        * Queued keys of the removed records are left in the eviction queue, the flush finds no pending record for them
+        * and skips them. Rows of the namespace are invalidated by its generation.
+     */
+    @Override
+    public void removeAll(String namespace) {
+        log.debug("Removing all records of namespace {} from persistent store", namespace);
+        try {
+            if(!this.isInit) throw new CacheException("Persistent store not initialized");
+            this.pending.put(namespace, new ConcurrentSkipListMap<>());
+            this.cacheGenerationService.advance(namespace);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error while clearing namespace {} of persistent store from database", namespace, e);
+            throw new CacheException("Error clearing persistent store from database");
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        log.debug("Removing all records from persistent store");
+        try {
+            if(!this.isInit) throw new CacheException("Persistent store not initialized");
+            this.pending.clear();
+            this.cacheGenerationService.advanceAll();
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error while clearing persistent store from database", e);
+            throw new CacheException("Error clearing persistent store from database");
+        }
+    }
+
+    /*
+        * Pending records merged with the live rows read a page at a time, a pending record shadows the row of its key
+     */
+    @Override
+    public Iterator<CacheDTO> scan(String namespace, String prefix, String cursor) {
+        if(!this.isInit) throw new CacheException("Persistent store not initialized");
+        Iterator<CacheDTO> records = KeyScan.union(
+                KeyScan.range(this.namespaceStore(namespace), prefix, cursor).map(Map.Entry::getValue).iterator(),
+                this.rows(namespace, prefix, cursor));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED), false)
+                .filter(record -> !isRemoved(record))
+                .iterator();
+    }
+
+    @Override
+    public int pendingWrites() {
+        return this.evictionQueue.size();
+    }
+
+    @Override
+    public long flushLagMillis() {
+        if(this.evictionQueue.isEmpty()) return 0;
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.flushedAt);
+    }
+
+    private NavigableMap<String, CacheDTO> namespaceStore(String namespace) {
+        return this.pending.computeIfAbsent(namespace, ns -> new ConcurrentSkipListMap<>());
+    }
+
+    private NegativeCache missing(String namespace) {
+        return this.missing.computeIfAbsent(namespace, ns -> new NegativeCache(this.missingMaxSize));
+    }
+
+    private static boolean isRemoved(CacheDTO record) {
+        return null == record.getValue();
+    }
+
+    /*
+        * Live rows of the namespace whose key starts with prefix and sorts after cursor, the next page is read once the
+        * previous one is used up
+     */
+    private Iterator<CacheDTO> rows(String namespace, String prefix, String cursor) {
+        String pattern = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        return Stream.iterate(this.rowsAfter(namespace, pattern, null == cursor ? "" : cursor),
+                        page -> !page.isEmpty(),
+                        page -> page.size() < SCAN_PAGE_SIZE
+                                ? List.of()
+                                : this.rowsAfter(namespace, pattern, page.get(page.size() - 1).getId()))
+                .flatMap(List::stream)
+                .map(this::toRecord)
+                .iterator();
+    }
+
+    private List<CacheEntity> rowsAfter(String namespace, String pattern, String cursor) {
+        return this.databaseGate.call(() -> this.cacheRepository.scan(namespace, pattern, cursor,
+                this.cacheGenerationService.currentGeneration(namespace), PageRequest.of(0, SCAN_PAGE_SIZE)));
+    }
+
+    private CacheDTO toRecord(CacheEntity entity) {
+        return CacheDTO.builder()
+                .namespace(entity.getNamespace())
+                .id(entity.getId())
+                .value(entity.getValue())
+                .version(entity.versionOrZero())
+                .build();
+    }
+
+    /*
+        * Writes the pending records of the queued keys and deletes the rows of removed keys, then drops the entries
+        * that were not replaced meanwhile. Keys without pending entry were written by an earlier flush or belong to a
+        * removed namespace.
+     */
+    void flushEvictingQueue() {
+        log.debug("Flushing evicting queue to DB");
+        if(this.evictionQueue.isEmpty()) {
+            this.flushedAt = System.nanoTime();
+            return;
+        }
+
+        List<CacheEntityId> keys = new ArrayList<>();
+        this.evictionQueue.drainTo(keys);
+        Map<CacheEntityId, CacheDTO> flushed = new HashMap<>();
+        List<CacheEntity> entitiesToSave = new ArrayList<>();
+        List<CacheEntityId> idsToDelete = new ArrayList<>();
+        for(CacheEntityId key : new LinkedHashSet<>(keys)) {
+            CacheDTO record = this.namespaceStore(key.getNamespace()).get(key.getId());
+            if(null == record) continue;
+            flushed.put(key, record);
+            if(isRemoved(record)) {
+                idsToDelete.add(key);
+            } else {
+                entitiesToSave.add(CacheEntity.builder()
+                        .namespace(key.getNamespace())
+                        .id(key.getId())
+                        .value(record.getValue())
+                        .generation(this.cacheGenerationService.currentGeneration(key.getNamespace()))
+                        .version(record.getVersion())
+                        .build());
+            }
+        }
+        log.debug("Prepared {} entities to save and {} ids to delete from DB", entitiesToSave.size(), idsToDelete.size());
+
+        try {
+            if(!entitiesToSave.isEmpty()) {
+                this.databaseGate.run(() -> this.cacheRows.saveAll(entitiesToSave));
+            }
+            if(!idsToDelete.isEmpty()) {
+                this.databaseGate.run(() -> this.cacheRows.deleteAll(idsToDelete));
+            }
+            flushed.forEach((key, record) -> this.namespaceStore(key.getNamespace()).remove(key.getId(), record));
+            this.flushedAt = System.nanoTime();
+        } catch(Exception e) {
+            log.error("Error persisting evicted entries to DB", e);
+            this.evictionQueue.addAll(keys);
+        }
+    }
+}
@@ -0,0 +1,1020 @@
+package org.example.kcacheservice.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.BloomFilterStats;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.dto.CacheStats;
+import org.example.kcacheservice.engine.CacheSegment;
+import org.example.kcacheservice.engine.CacheSegments;
+import org.example.kcacheservice.engine.CountingBloomFilter;
+import org.example.kcacheservice.engine.KeyScan;
+import org.example.kcacheservice.engine.NegativeCache;
+import org.example.kcacheservice.engine.PersistedKeys;
+import org.example.kcacheservice.engine.SnapshotFile;
+import org.example.kcacheservice.engine.VersionClock;
+import org.example.kcacheservice.engine.WritePrecondition;
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.example.kcacheservice.event.CacheMutationEvent;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+import org.example.kcacheservice.repository.CacheRepository;
+import org.example.kcacheservice.repository.DatabaseGate;
+import org.example.kcacheservice.service.CacheGenerationService;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.example.kcacheservice.service.CacheService;
+import org.example.kcacheservice.trace.AccessTraceFile;
+import org.example.kcacheservice.trace.AccessTraceRecorder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+    * Segment locks only guard the in memory maps. Anything touching the database runs under a striped key lock and
+    * through the database gate, so a request waiting on I/O never holds up other keys of its namespace and virtual
+    * threads are not pinned behind a pooled connection.
+ */
+@Service("CacheServiceV1")
+@Slf4j
+public class CacheServiceV1Impl implements CacheService {
+
+    private static final String SOURCE = "CacheServiceV1";
+    private static final int EXPORT_PAGE_SIZE = 500;
+
+    private final CacheSegments segments;
+    private final CacheRepository cacheRepository;
+    private final CacheGenerationService cacheGenerationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DatabaseGate databaseGate;
+    /*
+        * Records evicted from memory whose DB write has not completed yet, still served by fetch
+     */
+    private final Map<CacheEntityId, PendingEviction> evicting;
+    private final CacheConfig.RefreshAhead refreshAhead;
+    /*
+        * Hot keys evicted anyway, reloaded by the next refresh ahead run
+     */
+    private final Set<CacheEntityId> refreshQueue;
+    private final VersionClock versionClock;
+    /*
+        * Keys known to be absent from memory, pending evictions and DB, by namespace
+     */
+    private final Map<String, NegativeCache> negativeCaches;
+    /*
+        * Keys which may have a live record in DB, by namespace
+     */
+    private final Map<String, PersistedKeys> persistedKeys;
+    private final CacheConfig.BloomFilter bloomFilter;
+    private final CacheConfig.Snapshot snapshot;
+    private final ReentrantLock snapshotLock;
+    private volatile boolean changedSinceSnapshot;
+    private final AccessTraceRecorder accessTrace;
+
+    public CacheServiceV1Impl(CacheConfig cacheConfig,
+                              CacheRepository cacheRepository,
+                              CacheGenerationService cacheGenerationService,
+                              ApplicationEventPublisher eventPublisher,
+                              DatabaseGate databaseGate) {
+        this.segments = new CacheSegments(cacheConfig);
+        this.cacheRepository = cacheRepository;
+        this.databaseGate = databaseGate;
+        this.evicting = new ConcurrentHashMap<>();
+        this.refreshAhead = cacheConfig.getRefreshAhead();
+        this.refreshQueue = ConcurrentHashMap.newKeySet();
+        this.versionClock = new VersionClock();
+        this.negativeCaches = new HashMap<>();
+        this.segments.all().forEach(segment -> this.negativeCaches.put(segment.getNamespace(),
+                new NegativeCache(cacheConfig.getNegativeCache().getMaxSize())));
+        this.persistedKeys = new HashMap<>();
+        this.segments.all().forEach(segment -> this.persistedKeys.put(segment.getNamespace(), new PersistedKeys()));
+        this.bloomFilter = cacheConfig.getBloomFilter();
+        this.snapshot = cacheConfig.getSnapshot();
+        this.snapshotLock = new ReentrantLock();
+        this.accessTrace = new AccessTraceRecorder(cacheConfig.getAccessTrace(), "v1.trace",
+                this.segments.all().stream().map(CacheSegment::getNamespace).toList());
+        this.cacheGenerationService = cacheGenerationService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public ApiResponseEnvelop<CacheDTO> add(String namespace, String key, byte[] value) {
+        log.debug("Adding record to cache");
+        /*
+         * Cache Logic
+         * 1. Lock key stripe, serializing DB work on this key without blocking the rest of the segment
+         * 2. Delete new record from db if exists, unless it is still waiting to be written there, known to be missing
+         *    or ruled out by the bloom filter
+         * 3. Lock namespace segment, only for the in memory update
+         * 4. if max, then remove last node from cache(linked HashMap) and park it as a pending eviction
+         * 5. Add new record to cache
+         * 6. Release locks
+         * 7. Save parked record to db
+         * 8. return success response
+         */
+        CacheSegment segment = this.segments.get(namespace);
+        CacheEntityId entityId = new CacheEntityId(namespace, key);
+        ReentrantLock keyLock = segment.keyLock(key);
+        PendingEviction evicted = null;
+        CacheDTO record;
+        try {
+            //Step 1
+            keyLock.lock();
+            log.trace("Acquired key lock");
+
+            //Step 2
+            boolean missing = this.negativeCaches.get(namespace).contains(key);
+            this.negativeCaches.get(namespace).remove(key);
+            PersistedKeys persistedKeys = this.persistedKeys.get(namespace);
+            if(null == this.evicting.remove(entityId) && !missing && persistedKeys.mightContain(persistedKeys.filter(), key)) {
+                try {
+                    log.trace("Attempting to delete record with key {} from DB", key);
+                    this.databaseGate.run(() -> this.cacheRepository.deleteById(entityId));
+                    log.debug("Record with key {} deleted from DB", key);
+                } catch(EmptyResultDataAccessException e) {
+                    log.trace("Record with key {} not found in DB, proceeding to add", key);
+                }
+            }
+
+            //Step 3, 4 & 5
+            record = CacheDTO.builder()
+                    .namespace(namespace)
+                    .id(key)
+                    .value(value)
+                    .version(this.versionClock.next())
+                    .build();
+            evicted = this.putAndPublish(segment, record);
+        } catch(Exception e) {
+            log.error("Error while adding record to cache", e);
+            throw new CacheException(e.getMessage(), new ArrayList<>() {{
+                add("Error while adding record to cache: " + e.getMessage());
+            }});
+        } finally {
+            keyLock.unlock();
+            log.trace("Released key lock");
+        }
+
+        //Step 7
+        this.persistEviction(segment, evicted);
+        return ApiResponseEnvelop.success(record);
+    }
+
+    @Override
+    public ApiResponseEnvelop<CacheDTO> compute(String namespace, String key, Function<CacheDTO, byte[]> update) {
+        log.debug("Computing record in cache");
+        /*
+         * Compute Logic
+         * 1. Lock key stripe, no other write to this key can run until it is released
+         * 2. Read current record from cache(map), pending evictions or DB, records of invalidated generations are absent
+         * 3. Apply update, an exception leaves everything unchanged
+         * 4. Delete the record from wherever it lived outside the cache(map)
+         * 5. Add new record to cache as add does, release locks and save an evicted record to db
+         */
+        CacheSegment segment = this.segments.get(namespace);
+        CacheEntityId entityId = new CacheEntityId(namespace, key);
+        ReentrantLock keyLock = segment.keyLock(key);
+        PendingEviction evicted = null;
+        CacheDTO record;
+        try {
+            //Step 1
+            keyLock.lock();
+            log.trace("Acquired key lock");
+
+            //Step 2
+            CacheDTO current = this.memoryGet(segment, key).orElse(null);
+            boolean persisted = false;
+            boolean missing = this.negativeCaches.get(namespace).contains(key);
+            if(null == current && !missing) {
+                PendingEviction pending = this.evicting.get(entityId);
+                if(null != pending && !this.cacheGenerationService.isStale(namespace, pending.generation())) {
+                    current = pending.record();
+                }
+            }
+            PersistedKeys persistedKeys = this.persistedKeys.get(namespace);
+            CountingBloomFilter filter = persistedKeys.filter();
+            boolean live = false;
+            if(null == current && !missing) {
+                boolean mightContain = persistedKeys.mightContain(filter, key);
+                Optional<CacheEntity> cacheEntity = mightContain
+                        ? this.databaseGate.call(() -> this.cacheRepository.findById(entityId))
+                        : Optional.empty();
+                persisted = cacheEntity.isPresent();
+                live = persisted && !this.cacheGenerationService.isStale(namespace, cacheEntity.get().getGeneration());
+                if(live) {
+                    current = this.toRecord(cacheEntity.get());
+                }
+                persistedKeys.record(filter, mightContain, live);
+            }
+
+            //Step 3
+            byte[] value = update.apply(current);
+
+            //Step 4
+            this.negativeCaches.get(namespace).remove(key);
+            this.evicting.remove(entityId);
+            if(persisted) {
+                this.databaseGate.run(() -> this.cacheRepository.deleteById(entityId));
+                if(live) persistedKeys.removed(filter, key);
+            }
+
+            //Step 5
+            record = CacheDTO.builder()
+                    .namespace(namespace)
+                    .id(key)
+                    .value(value)
+                    .version(this.versionClock.next())
+                    .build();
+            evicted = this.putAndPublish(segment, record);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error while computing record in cache", e);
+            throw new CacheException(e.getMessage(), new ArrayList<>() {{
+                add("Error while updating record in cache: " + e.getMessage());
+            }});
+        } finally {
+            keyLock.unlock();
+            log.trace("Released key lock");
+        }
+
+        this.persistEviction(segment, evicted);
+        return ApiResponseEnvelop.success(record);
+    }
+
+    @Override
+    public ApiResponseEnvelop<CacheDTO> fetch(String namespace, String key) {
+        log.debug("Fetching record from cache");
+        /*
+            * Fetch Cache Logic
+            * 1. Under the segment lock, get record from cache(map) => this moves record to top of map
+            * 2. If no, return error if the key is known to be missing, else lock key stripe and look again, another
+            *    request may have loaded it meanwhile
+            * 3. Take the record back from pending evictions, or check in DB unless the bloom filter rules the key out,
+            *    return error if not in DB or if DB record belongs to an invalidated generation and remember the key as
+            *    missing
+            * 4. If in DB, remove from DB
+            * 5. Add to cache(map) at top of map under the segment lock, evictLeastUsed
+            * 6. Release locks and save the evicted record to db
+         */
+        CacheSegment segment = this.segments.get(namespace);
+        this.accessTrace.record(AccessTraceFile.Operation.READ, namespace, key);
+        segment.getFrequency().increment(key);
+        return this.load(segment, key);
+    }
+
+    /*
+        * Steps 1 and 2 of fetch, a cached record or a key known to be missing
+     */
+    @Override
+    public Optional<ApiResponseEnvelop<CacheDTO>> tryFetch(String namespace, String key) {
+        CacheSegment segment = this.segments.get(namespace);
+        Optional<CacheDTO> cached = this.memoryGet(segment, key);
+        boolean missing = cached.isEmpty() && this.negativeCaches.get(namespace).contains(key);
+        if(cached.isEmpty() && !missing) return Optional.empty();
+
+        this.accessTrace.record(AccessTraceFile.Operation.READ, namespace, key);
+        segment.getFrequency().increment(key);
+        if(missing) {
+            log.debug("Record with key {} known to be missing", key);
+            throw new CacheNotFoundException("Record with key " + key + " not found in cache or DB");
+        }
+        log.debug("Record with key {} found in cache", key);
+        return Optional.of(ApiResponseEnvelop.success(cached.get()));
+    }
+
+    private ApiResponseEnvelop<CacheDTO> load(CacheSegment segment, String key) {
+        String namespace = segment.getNamespace();
+        //Step 1
+        Optional<CacheDTO> cached = this.memoryGet(segment, key);
+        if(cached.isPresent()) {
+            log.debug("Record with key {} found in cache", key);
+            return ApiResponseEnvelop.success(cached.get());
+        }
+        NegativeCache negativeCache = this.negativeCaches.get(namespace);
+        if(negativeCache.contains(key)) {
+            log.debug("Record with key {} known to be missing", key);
+            throw new CacheNotFoundException("Record with key " + key + " not found in cache or DB");
+        }
+
+        CacheEntityId entityId = new CacheEntityId(namespace, key);
+        ReentrantLock keyLock = segment.keyLock(key);
+        PendingEviction evicted = null;
+        CacheDTO record;
+        try {
+            //Step 2
+            keyLock.lock();
+            log.trace("Acquired key lock");
+            try {
+                segment.getLock().writeLock().lock();
+                if(segment.getStore().containsKey(key)) {
+                    return ApiResponseEnvelop.success(segment.getStore().get(key));
+                }
+            } finally {
+                segment.getLock().writeLock().unlock();
+            }
+
+            //Step 3 & 4
+            long generation;
+            PendingEviction pending = this.evicting.remove(entityId);
+            if(null != pending) {
+                log.debug("Record with key {} found in pending evictions", key);
+                record = pending.record();
+                generation = pending.generation();
+            } else {
+                PersistedKeys persistedKeys = this.persistedKeys.get(namespace);
+                CountingBloomFilter filter = persistedKeys.filter();
+                boolean mightContain = persistedKeys.mightContain(filter, key);
+                Optional<CacheEntity> cacheEntity = mightContain
+                        ? this.databaseGate.call(() -> this.cacheRepository.findById(entityId))
+                        : Optional.empty();
+                boolean live = cacheEntity.isPresent()
+                        && !this.cacheGenerationService.isStale(namespace, cacheEntity.get().getGeneration());
+                persistedKeys.record(filter, mightContain, live);
+                if(!live) {
+                    log.debug("Record with key {} not found in cache or DB", key);
+                    negativeCache.add(key);
+                    throw new CacheNotFoundException("Record with key " + key + " not found in cache or DB");
+                }
+                this.databaseGate.run(() -> this.cacheRepository.deleteById(entityId));
+                persistedKeys.removed(filter, key);
+                record = this.toRecord(cacheEntity.get());
+                generation = cacheEntity.get().getGeneration();
+            }
+
+            //Step 5
+            try {
+                segment.getLock().writeLock().lock();
+                /*
+                    * The DB was read without the segment lock, a concurrent removeAll may have invalidated the record
+                 */
+                if(this.cacheGenerationService.isStale(namespace, generation)) {
+                    throw new CacheNotFoundException("Record with key " + key + " not found in cache or DB");
+                }
+                if(segment.isFull()) {
+                    log.debug("Cache size {} has reached max limit {}", segment.getStore().size(), segment.getMaxSize());
+                    evicted = this.evictLeastUsed(segment);
+                }
+                segment.getStore().put(key, record);
+            } finally {
+                segment.getLock().writeLock().unlock();
+            }
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Generic Exception", e);
+            throw new CacheException(e.getMessage(), new ArrayList<>() {{
+                add("Error while fetching record from cache: " + e.getMessage());
+            }});
+        } finally {
+            keyLock.unlock();
+            log.trace("Released key lock");
+        }
+
+        //Step 6
+        this.persistEviction(segment, evicted);
+        return ApiResponseEnvelop.success(record);
+    }
+
+    @Override
+    public Optional<CacheDTO> peek(String namespace, String key) {
+        CacheSegment segment = this.segments.get(namespace);
+        segment.getFrequency().increment(key);
+        return this.memoryGet(segment, key);
+    }
+
+    private Optional<CacheDTO> memoryGet(CacheSegment segment, String key) {
+        try {
+            segment.getLock().writeLock().lock();
+            log.trace("Acquired write lock");
+            return Optional.ofNullable(segment.getStore().get(key));
+        } finally {
+            segment.getLock().writeLock().unlock();
+            log.trace("Released write lock");
+        }
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> remove(String namespace, String key) {
+        log.debug("Deleting record from cache");
+        CacheSegment segment = this.segments.get(namespace);
+        CacheEntityId entityId = new CacheEntityId(namespace, key);
+        ReentrantLock keyLock = segment.keyLock(key);
+        try {
+            keyLock.lock();
+            log.trace("Acquired key lock");
+
+            CacheDTO record;
+            try {
+                segment.getLock().writeLock().lock();
+                record = segment.getStore().remove(key);
+            } finally {
+                segment.getLock().writeLock().unlock();
+            }
+            PersistedKeys persistedKeys = this.persistedKeys.get(namespace);
+            if(null == record && null == this.evicting.remove(entityId)
+                    && persistedKeys.mightContain(persistedKeys.filter(), key)) {
+                try {
+                    log.trace("Attempting to delete record with key {} from DB", key);
+                    this.databaseGate.run(() -> this.cacheRepository.deleteById(entityId));
+                    log.debug("Record with key {} deleted from DB", key);
+                } catch(EmptyResultDataAccessException e) {
+                    log.debug("Record with key {} not found in cache or DB", key);
+                    return ApiResponseEnvelop.error(new ArrayList<>() {{
+                        add("Record with key " + key + " not found in cache or DB");
+                    }});
+                }
+            }
+            this.publish(CacheMutationEvent.Type.REMOVE, namespace, key);
+            return ApiResponseEnvelop.success(null);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error while deleting record from cache", e);
+            return ApiResponseEnvelop.error(new ArrayList<>() {{
+                add("Error while deleting record from cache: " + e.getMessage());
+            }});
+        } finally {
+            keyLock.unlock();
+            log.trace("Released key lock");
+        }
+    }
+
+    /*
+        * Reads the record from cache(map), pending evictions or DB under the key stripe lock and removes it as remove
+        * does while it is still at the expected version
+     */
+    @Override
+    public ApiResponseEnvelop<String> removeIfVersion(String namespace, String key, long expectedVersion) {
+        log.debug("Deleting record from cache if at version {}", expectedVersion);
+        CacheSegment segment = this.segments.get(namespace);
+        CacheEntityId entityId = new CacheEntityId(namespace, key);
+        ReentrantLock keyLock = segment.keyLock(key);
+        try {
+            keyLock.lock();
+            log.trace("Acquired key lock");
+            CacheDTO current = this.memoryGet(segment, key).orElse(null);
+            if(null == current) {
+                PendingEviction pending = this.evicting.get(entityId);
+                if(null != pending && !this.cacheGenerationService.isStale(namespace, pending.generation())) {
+                    current = pending.record();
+                }
+            }
+            PersistedKeys persistedKeys = this.persistedKeys.get(namespace);
+            if(null == current && persistedKeys.mightContain(persistedKeys.filter(), key)) {
+                current = this.databaseGate.call(() -> this.cacheRepository.findById(entityId))
+                        .filter(entity -> !this.cacheGenerationService.isStale(namespace, entity.getGeneration()))
+                        .map(this::toRecord)
+                        .orElse(null);
+            }
+            WritePrecondition.version(expectedVersion).check(key, current);
+            return this.remove(namespace, key);
+        } finally {
+            keyLock.unlock();
+            log.trace("Released key lock");
+        }
+    }
+
+    /*
+        * Records in DB are invalidated by advancing the namespace generation, the background purge deletes them later.
+        * The generation advances under the segment lock and is written to the DB after releasing it.
+     */
+    @Override
+    public ApiResponseEnvelop<String> removeAll(String namespace) {
+        log.debug("Deleting all records of namespace {} from cache", namespace);
+        CacheSegment segment = this.segments.get(namespace);
+        try {
+            segment.getLock().writeLock().lock();
+            log.trace("Acquired write lock");
+            segment.reset();
+            this.cacheGenerationService.advance(namespace);
+            this.evicting.keySet().removeIf(entityId -> namespace.equals(entityId.getNamespace()));
+            this.persistedKeys.get(namespace).clear();
+            this.publish(CacheMutationEvent.Type.REMOVE_ALL, namespace, null);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error while deleting all records of namespace {} from cache", namespace, e);
+            return ApiResponseEnvelop.error(new ArrayList<>() {{
+                add("Error while deleting all records from cache: " + e.getMessage());
+            }});
+        } finally {
+            segment.getLock().writeLock().unlock();
+            log.trace("Released write lock");
+        }
+        this.cacheGenerationService.persist(namespace);
+        return ApiResponseEnvelop.success(null);
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> clear(String namespace) {
+        log.debug("Clearing cache of namespace {}", namespace);
+        CacheSegment segment = this.segments.get(namespace);
+        try {
+            segment.getLock().writeLock().lock();
+            log.trace("Acquired write lock");
+            segment.reset();
+            this.publish(CacheMutationEvent.Type.CLEAR, namespace, null);
+            return ApiResponseEnvelop.success(null);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            return ApiResponseEnvelop.error(new ArrayList<>() {{
+                add("Error while clearing cache: " + e.getMessage());
+            }});
+        } finally {
+            segment.getLock().writeLock().unlock();
+            log.trace("Released write lock");
+        }
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> removeAll() {
+        log.debug("Deleting all records from cache");
+        List<CacheSegment> locked = new ArrayList<>();
+        try {
+            for(CacheSegment segment : this.segments.all()) {
+                segment.getLock().writeLock().lock();
+                locked.add(segment);
+            }
+            log.trace("Acquired write lock on all segments");
+            locked.forEach(CacheSegment::reset);
+            this.cacheGenerationService.advanceAll();
+            this.evicting.clear();
+            this.persistedKeys.values().forEach(PersistedKeys::clear);
+            this.publish(CacheMutationEvent.Type.REMOVE_ALL, null, null);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error while deleting all records from cache", e);
+            return ApiResponseEnvelop.error(new ArrayList<>() {{
+                add("Error while deleting all records from cache: " + e.getMessage());
+            }});
+        } finally {
+            locked.forEach(segment -> segment.getLock().writeLock().unlock());
+            log.trace("Released write lock on all segments");
+        }
+        this.cacheGenerationService.persist(null);
+        return ApiResponseEnvelop.success(null);
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> clear() {
+        log.debug("Clearing cache");
+        try {
+            this.segments.all().forEach(segment -> this.clear(segment.getNamespace()));
+            return ApiResponseEnvelop.success(null);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            return ApiResponseEnvelop.error(new ArrayList<>() {{
+                add("Error while clearing cache: " + e.getMessage());
+            }});
+        }
+    }
+
+    /*
+        * DB records are read in pages after the last key seen, a record promoted to memory meanwhile shifts no later
+        * page and is exported with the in memory records
+     */
+    @Override
+    public void export(Consumer<CacheDTO> consumer) {
+        log.debug("Exporting all records");
+        for(CacheSegment segment : this.segments.all()) {
+            String namespace = segment.getNamespace();
+            long generation = this.cacheGenerationService.currentGeneration(namespace);
+            String cursor = "";
+            List<CacheEntity> page;
+            do {
+                String after = cursor;
+                page = this.databaseGate.call(() -> this.cacheRepository.scan(namespace, "%", after, generation,
+                        PageRequest.of(0, EXPORT_PAGE_SIZE)));
+                page.stream()
+                        .filter(entity -> !this.cacheGenerationService.isStale(namespace, entity.getGeneration()))
+                        .map(this::toRecord)
+                        .forEach(consumer);
+                if(!page.isEmpty()) cursor = page.get(page.size() - 1).getId();
+            } while(page.size() == EXPORT_PAGE_SIZE);
+        }
+
+        this.evicting.values().stream()
+                .filter(pending -> !this.cacheGenerationService.isStale(pending.record().getNamespace(), pending.generation()))
+                .map(PendingEviction::record)
+                .forEach(consumer);
+
+        for(CacheSegment segment : this.segments.all()) {
+            List<CacheDTO> records;
+            try {
+                segment.getLock().readLock().lock();
+                records = segment.getStore().entries();
+            } finally {
+                segment.getLock().readLock().unlock();
+            }
+            records.forEach(consumer);
+        }
+    }
+
+    /*
+        * Merges in memory records, pending evictions and one page of DB records, the DB page has one extra row so
+        * the merge can tell whether another page follows
+     */
+    @Override
+    public String scan(String namespace, String prefix, String cursor, int limit, Consumer<CacheDTO> consumer) {
+        log.debug("Scanning namespace {} for prefix {} after {}", namespace, prefix, cursor);
+        CacheSegment segment = this.segments.get(namespace);
+        NavigableMap<String, CacheDTO> parked = new TreeMap<>();
+        this.evicting.forEach((entityId, pending) -> {
+            if(namespace.equals(entityId.getNamespace())
+                    && !this.cacheGenerationService.isStale(namespace, pending.generation())) {
+                parked.put(entityId.getId(), pending.record());
+            }
+        });
+        String pattern = prefix.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        List<CacheEntity> persisted = this.databaseGate.call(() -> this.cacheRepository.scan(namespace, pattern,
+                null == cursor ? "" : cursor, this.cacheGenerationService.currentGeneration(namespace),
+                PageRequest.of(0, limit + 1)));
+
+        return KeyScan.merge(limit, consumer,
+                segment.getStore().scan(prefix, cursor),
+                KeyScan.range(parked, prefix, cursor).map(Map.Entry::getValue).iterator(),
+                persisted.stream()
+                        .map(this::toRecord)
+                        .iterator());
+    }
+
+    /*
+        * Refresh ahead for hot keys, so their readers do not pay for a DB load.
+        * 1. Hot entries among the next ones to be evicted are moved to the end of the eviction order
+        * 2. Hot keys evicted since the last run are loaded back, unless the entry they would displace is as hot
+        * Only keys read at least hotThreshold times within the recent sampling window count as hot.
+     */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.SECONDS)
+    public void refreshAhead() {
+        if(!this.refreshAhead.isEnabled()) return;
+
+        //Step 1
+        for(CacheSegment segment : this.segments.all()) {
+            int promoted = 0;
+            try {
+                segment.getLock().writeLock().lock();
+                for(String key : segment.getStore().evictionCandidates(this.refreshAhead.getWindow())) {
+                    if(this.isHot(segment, key)) {
+                        segment.getStore().promote(key);
+                        promoted++;
+                    }
+                }
+            } finally {
+                segment.getLock().writeLock().unlock();
+            }
+            if(promoted > 0) {
+                log.debug("Promoted {} hot records of namespace {} ahead of eviction", promoted, segment.getNamespace());
+            }
+        }
+
+        //Step 2
+        for(CacheEntityId entityId : new ArrayList<>(this.refreshQueue)) {
+            this.refreshQueue.remove(entityId);
+            try {
+                CacheSegment segment = this.segments.get(entityId.getNamespace());
+                String key = entityId.getId();
+                if(!this.isHot(segment, key)) continue;
+                try {
+                    segment.getLock().readLock().lock();
+                    if(segment.getStore().containsKey(key)) continue;
+                    List<String> next = segment.getStore().evictionCandidates(1);
+                    if(segment.isFull() && !next.isEmpty()
+                            && segment.getFrequency().frequency(next.get(0)) >= segment.getFrequency().frequency(key)) {
+                        continue;
+                    }
+                } finally {
+                    segment.getLock().readLock().unlock();
+                }
+                this.load(segment, key);
+                log.debug("Reloaded hot record with key {} of namespace {}", key, entityId.getNamespace());
+            } catch(CacheNotFoundException e) {
+                log.trace("Hot record with key {} is gone, skipping reload", entityId.getId());
+            } catch(Exception e) {
+                log.warn("Error while reloading hot record with key {}", entityId.getId(), e);
+            }
+        }
+    }
+
+    @Override
+    public AccessTraceRecorder accessTrace() {
+        return this.accessTrace;
+    }
+
+    @PostConstruct
+    public void startAccessTrace() {
+        if(this.accessTrace.isEnabledOnStartup()) this.accessTrace.start();
+    }
+
+    @PreDestroy
+    public void stopAccessTrace() {
+        this.accessTrace.stop();
+    }
+
+    @Override
+    public List<CacheStats> stats() {
+        List<CacheStats> stats = new ArrayList<>();
+        for(CacheSegment segment : this.segments.all()) {
+            PersistedKeys persistedKeys = this.persistedKeys.get(segment.getNamespace());
+            CountingBloomFilter filter = persistedKeys.filter();
+            stats.add(CacheStats.builder()
+                    .namespace(segment.getNamespace())
+                    .size(segment.getStore().size())
+                    .maxSize(segment.getMaxSize())
+                    .warm(segment.warmStats())
+                    .missingKeys(this.negativeCaches.get(segment.getNamespace()).size())
+                    .bloomFilter(null == filter ? null : BloomFilterStats.builder()
+                            .capacity(filter.capacity())
+                            .keys(filter.count())
+                            .memoryBytes(filter.memoryBytes())
+                            .targetFalsePositiveRate(filter.targetProbability())
+                            .estimatedFalsePositiveRate(filter.falsePositiveProbability())
+                            .observedFalsePositiveRate(persistedKeys.observedFalsePositiveRate())
+                            .lookups(persistedKeys.lookups())
+                            .skippedLookups(persistedKeys.skipped())
+                            .rebuiltAt(persistedKeys.rebuiltAt())
+                            .build())
+                    .build());
+        }
+        return stats;
+    }
+
+    /*
+        * Rebuilds the bloom filter of every namespace from the keys of live DB records, at startup and then
+        * periodically to drop false positives of keys re-added or removed without a known DB record.
+        * Keys parked for eviction before the rebuild started are added up front, keys evicted after go to both the
+        * old and the new filter, so the new filter holds every key persisted before it is swapped in.
+     */
+    @Scheduled(fixedDelayString = "${cache.bloom-filter.rebuild-interval:600}", timeUnit = TimeUnit.SECONDS)
+    public void rebuildBloomFilters() {
+        if(!this.bloomFilter.isEnabled()) return;
+
+        for(CacheSegment segment : this.segments.all()) {
+            String namespace = segment.getNamespace();
+            PersistedKeys persistedKeys = this.persistedKeys.get(namespace);
+            try {
+                long generation = this.cacheGenerationService.currentGeneration(namespace);
+                long keys = this.databaseGate.call(() -> this.cacheRepository.countLive(namespace, generation));
+                CountingBloomFilter filter = new CountingBloomFilter(Math.max(this.bloomFilter.getExpectedKeys(), keys * 2),
+                        this.bloomFilter.getFalsePositiveProbability());
+                persistedKeys.startRebuild(filter);
+                this.evicting.keySet().stream()
+                        .filter(entityId -> namespace.equals(entityId.getNamespace()))
+                        .forEach(entityId -> filter.add(entityId.getId()));
+                String cursor = "";
+                List<String> ids;
+                do {
+                    String after = cursor;
+                    ids = this.databaseGate.call(() -> this.cacheRepository.findLiveIds(namespace, after, generation,
+                            PageRequest.of(0, EXPORT_PAGE_SIZE)));
+                    ids.forEach(filter::add);
+                    if(!ids.isEmpty()) cursor = ids.get(ids.size() - 1);
+                } while(ids.size() == EXPORT_PAGE_SIZE);
+                persistedKeys.finishRebuild(filter);
+                log.debug("Rebuilt bloom filter of namespace {} with {} keys", namespace, filter.count());
+            } catch(Exception e) {
+                persistedKeys.abortRebuild();
+                log.warn("Error while rebuilding bloom filter of namespace {}", namespace, e);
+            }
+        }
+    }
+
+    /*
+        * Writes the in memory records and pending evictions of every namespace in eviction order, skipped when nothing
+        * changed since the last snapshot. Each segment is copied under its read lock, the file is written after.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${cache.snapshot.interval:60}", initialDelayString = "${cache.snapshot.interval:60}",
+            timeUnit = TimeUnit.SECONDS)
+    public void writeSnapshot() {
+        if(!this.snapshot.isEnabled() || !this.changedSinceSnapshot) return;
+
+        try {
+            this.snapshotLock.lock();
+            this.changedSinceSnapshot = false;
+            List<SnapshotFile.Segment> segments = new ArrayList<>();
+            for(CacheSegment segment : this.segments.all()) {
+                String namespace = segment.getNamespace();
+                List<CacheDTO> records = new ArrayList<>();
+                this.evicting.forEach((entityId, pending) -> {
+                    if(namespace.equals(entityId.getNamespace())) records.add(pending.record());
+                });
+                long generation;
+                try {
+                    segment.getLock().readLock().lock();
+                    generation = this.cacheGenerationService.currentGeneration(namespace);
+                    records.addAll(segment.getStore().entries());
+                } finally {
+                    segment.getLock().readLock().unlock();
+                }
+                segments.add(new SnapshotFile.Segment(namespace, generation, records));
+            }
+            SnapshotFile.write(this.snapshotPath(), segments);
+            log.debug("Wrote snapshot of {} namespaces", segments.size());
+        } catch(Exception e) {
+            this.changedSinceSnapshot = true;
+            log.error("Error while writing snapshot", e);
+        } finally {
+            this.snapshotLock.unlock();
+        }
+    }
+
+    /*
+        * Restores the in memory tier from the snapshot of the last run, then deletes the snapshot.
+        * A namespace removed since the snapshot was written is skipped. A record with a DB copy at least as recent is
+        * left to the DB, an older DB copy is deleted, so memory and DB stay disjoint. Records beyond the size of the
+        * namespace, the least recently used ones, go to the DB.
+     */
+    @PostConstruct
+    public void restoreSnapshot() {
+        if(!this.snapshot.isEnabled()) return;
+        Path path = this.snapshotPath();
+        if(!Files.exists(path)) return;
+
+        try {
+            for(SnapshotFile.Segment restored : SnapshotFile.read(path)) {
+                CacheSegment segment = this.segments.all().stream()
+                        .filter(candidate -> candidate.getNamespace().equals(restored.namespace()))
+                        .findFirst()
+                        .orElse(null);
+                if(null == segment || this.cacheGenerationService.currentGeneration(restored.namespace()) != restored.generation()) {
+                    log.info("Skipping snapshot of namespace {}, it was removed or is no longer configured", restored.namespace());
+                    continue;
+                }
+
+                List<CacheDTO> records = new ArrayList<>();
+                List<CacheEntityId> outdated = new ArrayList<>();
+                for(int from = 0; from < restored.records().size(); from += EXPORT_PAGE_SIZE) {
+                    List<CacheDTO> page = restored.records().subList(from, Math.min(from + EXPORT_PAGE_SIZE, restored.records().size()));
+                    List<CacheEntityId> ids = page.stream().map(record -> new CacheEntityId(record.getNamespace(), record.getId())).toList();
+                    Map<String, CacheEntity> persisted = new HashMap<>();
+                    this.databaseGate.call(() -> this.cacheRepository.findAllById(ids))
+                            .forEach(entity -> persisted.put(entity.getId(), entity));
+                    for(CacheDTO record : page) {
+                        CacheEntity entity = persisted.get(record.getId());
+                        if(null != entity && !this.cacheGenerationService.isStale(record.getNamespace(), entity.getGeneration())
+                                && entity.versionOrZero() >= record.getVersion()) {
+                            continue;
+                        }
+                        if(null != entity) outdated.add(new CacheEntityId(record.getNamespace(), record.getId()));
+                        records.add(record);
+                    }
+                }
+                if(!outdated.isEmpty()) {
+                    this.databaseGate.run(() -> this.cacheRepository.deleteAllById(outdated));
+                }
+
+                int overflow = Math.max(0, records.size() - segment.getCapacity());
+                List<CacheEntity> cold = records.subList(0, overflow).stream()
+                        .map(record -> CacheEntity.builder()
+                                .namespace(record.getNamespace())
+                                .id(record.getId())
+                                .value(record.getValue())
+                                .generation(restored.generation())
+                                .version(record.getVersion())
+                                .created(true)
+                                .build())
+                        .toList();
+                if(!cold.isEmpty()) {
+                    this.databaseGate.run(() -> this.cacheRepository.saveAll(cold));
+                }
+                try {
+                    segment.getLock().writeLock().lock();
+                    records.subList(overflow, records.size()).forEach(record -> segment.getStore().put(record.getId(), record));
+                } finally {
+                    segment.getLock().writeLock().unlock();
+                }
+                log.info("Restored {} records of namespace {} from snapshot", records.size() - overflow, restored.namespace());
+            }
+            Files.delete(path);
+        } catch(Exception e) {
+            log.error("Error while restoring snapshot {}, starting cold", path, e);
+        }
+    }
+
+    private Path snapshotPath() {
+        return Path.of(this.snapshot.getDirectory(), "v1.snapshot");
+    }
+
+    private boolean isHot(CacheSegment segment, String key) {
+        return segment.getFrequency().frequency(key) >= this.refreshAhead.getHotThreshold();
+    }
+
+    /*
+        * Callers must hold the segment write lock, the evicted record stays readable until persistEviction wrote it
+     */
+    private PendingEviction evictLeastUsed(CacheSegment segment) {
+        CacheDTO record = segment.getStore().evict();
+        if(null == record) return null;
+
+        PersistedKeys persistedKeys = this.persistedKeys.get(segment.getNamespace());
+        boolean created = !persistedKeys.mightContain(persistedKeys.filter(), record.getId());
+        PendingEviction pending = new PendingEviction(record,
+                this.cacheGenerationService.currentGeneration(segment.getNamespace()), created);
+        CacheEntityId entityId = new CacheEntityId(segment.getNamespace(), record.getId());
+        this.evicting.put(entityId, pending);
+        persistedKeys.added(record.getId());
+        if(this.refreshAhead.isEnabled() && this.isHot(segment, record.getId())
+                && this.refreshQueue.size() < this.refreshAhead.getWindow()) {
+            this.refreshQueue.add(entityId);
+        }
+        this.publish(CacheMutationEvent.Type.EVICT, segment.getNamespace(), record.getId(), record.getValue());
+        return pending;
+    }
+
+    /*
+        * Writes an evicted record under its own key lock, skipped when the key was re-added, fetched back or flushed
+        * meanwhile. A failed write leaves the record pending so it is not lost.
+     */
+    private void persistEviction(CacheSegment segment, PendingEviction pending) {
+        if(null == pending) return;
+
+        CacheDTO record = pending.record();
+        CacheEntityId entityId = new CacheEntityId(segment.getNamespace(), record.getId());
+        ReentrantLock keyLock = segment.keyLock(record.getId());
+        try {
+            keyLock.lock();
+            if(this.evicting.get(entityId) != pending) return;
+
+            CacheEntity entity = CacheEntity.builder()
+                    .namespace(segment.getNamespace())
+                    .id(record.getId())
+                    .value(record.getValue())
+                    .generation(pending.generation())
+                    .version(record.getVersion())
+                    .created(pending.created())
+                    .build();
+            this.databaseGate.run(() -> this.cacheRepository.save(entity));
+            this.evicting.remove(entityId, pending);
+        } catch(Exception e) {
+            log.error("Error while persisting evicted record with key {}", record.getId(), e);
+        } finally {
+            keyLock.unlock();
+        }
+    }
+
+    /*
+        * Puts the record into the cache(map) under the segment lock, evicting first if the key is new and the segment
+        * is full. Callers hold the key lock and persist the returned eviction after releasing it.
+     */
+    private PendingEviction putAndPublish(CacheSegment segment, CacheDTO record) {
+        try {
+            segment.getLock().writeLock().lock();
+            PendingEviction evicted = null;
+            if(!segment.getStore().containsKey(record.getId()) && segment.isFull()) {
+                log.debug("Cache size {} has reached max limit {}", segment.getStore().size(), segment.getMaxSize());
+                evicted = this.evictLeastUsed(segment);
+            }
+            segment.getStore().put(record.getId(), record);
+            this.publish(CacheMutationEvent.Type.ADD, segment.getNamespace(), record.getId(), record.getValue());
+            return evicted;
+        } finally {
+            segment.getLock().writeLock().unlock();
+        }
+    }
+
+    private CacheDTO toRecord(CacheEntity entity) {
+        return CacheDTO.builder()
+                .namespace(entity.getNamespace())
+                .id(entity.getId())
+                .value(entity.getValue())
+                .version(entity.versionOrZero())
+                .build();
+    }
+
+    private void publish(CacheMutationEvent.Type type, String namespace, String key) {
+        this.publish(type, namespace, key, null);
+    }
+
+    private void publish(CacheMutationEvent.Type type, String namespace, String key, byte[] value) {
+        this.changedSinceSnapshot = true;
+        this.accessTrace.record(type, namespace, key);
+        this.eventPublisher.publishEvent(CacheMutationEvent.builder()
+                .source(SOURCE)
+                .type(type)
+                .namespace(namespace)
+                .key(key)
+                .value(value)
+                .build());
+    }
+
+    /*
+        * created is set when the key surely had no row at eviction, the write then skips reading it
+     */
+    private record PendingEviction(CacheDTO record, long generation, boolean created) { }
+}
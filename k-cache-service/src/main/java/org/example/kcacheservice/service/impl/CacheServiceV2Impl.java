@@ -0,0 +1,653 @@
+package org.example.kcacheservice.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.dto.CacheStats;
+import org.example.kcacheservice.dto.HotKeyStats;
+import org.example.kcacheservice.engine.CacheSegment;
+import org.example.kcacheservice.engine.CacheSegments;
+import org.example.kcacheservice.engine.HotKeyDetector;
+import org.example.kcacheservice.engine.HotKeyReplica;
+import org.example.kcacheservice.engine.KeyScan;
+import org.example.kcacheservice.engine.SnapshotFile;
+import org.example.kcacheservice.engine.VersionClock;
+import org.example.kcacheservice.engine.WritePrecondition;
+import org.example.kcacheservice.event.CacheMutationEvent;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.service.CacheGenerationService;
+import org.example.kcacheservice.service.CachePersistenceService;
+import org.example.kcacheservice.service.CacheService;
+import org.example.kcacheservice.trace.AccessTraceFile;
+import org.example.kcacheservice.trace.AccessTraceRecorder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Service("CacheServiceV2")
+@Slf4j
+public class CacheServiceV2Impl implements CacheService {
+
+    private static final String SOURCE = "CacheServiceV2";
+
+    private final CacheSegments segments;
+    private final CachePersistenceService cachePersistenceService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VersionClock versionClock;
+    private final CacheGenerationService cacheGenerationService;
+    private final CacheConfig.Snapshot snapshot;
+    private final ReentrantLock snapshotLock;
+    private volatile boolean changedSinceSnapshot;
+    private final CacheConfig.HotKeys hotKeys;
+    /*
+        * Sampled read counts and replica of the hot records, by namespace
+     */
+    private final Map<String, HotKeyDetector> hotKeyDetectors;
+    private final Map<String, HotKeyReplica> hotKeyReplicas;
+    private final AccessTraceRecorder accessTrace;
+
+    public CacheServiceV2Impl(CachePersistenceService cachePersistenceService,
+                              CacheConfig cacheConfig,
+                              ApplicationEventPublisher eventPublisher,
+                              CacheGenerationService cacheGenerationService) {
+        this.segments = new CacheSegments(cacheConfig);
+        this.cachePersistenceService = cachePersistenceService;
+        this.eventPublisher = eventPublisher;
+        this.versionClock = new VersionClock();
+        this.cacheGenerationService = cacheGenerationService;
+        this.snapshot = cacheConfig.getSnapshot();
+        this.snapshotLock = new ReentrantLock();
+        this.hotKeys = cacheConfig.getHotKeys();
+        this.hotKeyDetectors = new HashMap<>();
+        this.hotKeyReplicas = new HashMap<>();
+        this.segments.all().forEach(segment -> {
+            this.hotKeyDetectors.put(segment.getNamespace(),
+                    new HotKeyDetector(this.hotKeys.getTrackedKeys(), this.hotKeys.getSampleRate()));
+            this.hotKeyReplicas.put(segment.getNamespace(), new HotKeyReplica());
+        });
+        this.accessTrace = new AccessTraceRecorder(cacheConfig.getAccessTrace(), "v2.trace",
+                this.segments.all().stream().map(CacheSegment::getNamespace).toList());
+    }
+
+    @PostConstruct
+    public void init() {
+        log.debug("Initializing cache service");
+        try {
+            this.cachePersistenceService.initPersistenceStore();
+        } catch(Exception e) {
+            log.error("Error during cache service initialization", e);
+            throw new CacheException("Failed to initialize cache service");
+        }
+        this.restoreSnapshot();
+        if(this.accessTrace.isEnabledOnStartup()) this.accessTrace.start();
+    }
+
+    /*
+        * Writes the in memory records of every namespace in eviction order, skipped when nothing changed since the
+        * last snapshot. Each segment is copied under its read lock, the file is written after.
+     */
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${cache.snapshot.interval:60}", initialDelayString = "${cache.snapshot.interval:60}",
+            timeUnit = TimeUnit.SECONDS)
+    public void writeSnapshot() {
+        if(!this.snapshot.isEnabled() || !this.changedSinceSnapshot) return;
+
+        try {
+            this.snapshotLock.lock();
+            this.changedSinceSnapshot = false;
+            List<SnapshotFile.Segment> segments = new ArrayList<>();
+            for(CacheSegment segment : this.segments.all()) {
+                try {
+                    segment.getLock().readLock().lock();
+                    segments.add(new SnapshotFile.Segment(segment.getNamespace(),
+                            this.cacheGenerationService.currentGeneration(segment.getNamespace()),
+                            segment.getStore().entries()));
+                } finally {
+                    segment.getLock().readLock().unlock();
+                }
+            }
+            SnapshotFile.write(this.snapshotPath(), segments);
+            log.debug("Wrote snapshot of {} namespaces", segments.size());
+        } catch(Exception e) {
+            this.changedSinceSnapshot = true;
+            log.error("Error while writing snapshot", e);
+        } finally {
+            this.snapshotLock.unlock();
+        }
+    }
+
+    /*
+        * Restores the in memory tier from the snapshot of the last run, then deletes the snapshot.
+        * A namespace removed since the snapshot was written is skipped. A record with a persistent copy at least as
+        * recent is left there, an older copy is removed, so memory and persistent store stay disjoint. Records beyond
+        * the size of the namespace, the least recently used ones, go to the persistent store.
+     */
+    private void restoreSnapshot() {
+        if(!this.snapshot.isEnabled()) return;
+        Path path = this.snapshotPath();
+        if(!Files.exists(path)) return;
+
+        try {
+            for(SnapshotFile.Segment restored : SnapshotFile.read(path)) {
+                CacheSegment segment = this.segments.all().stream()
+                        .filter(candidate -> candidate.getNamespace().equals(restored.namespace()))
+                        .findFirst()
+                        .orElse(null);
+                if(null == segment || this.cacheGenerationService.currentGeneration(restored.namespace()) != restored.generation()) {
+                    log.info("Skipping snapshot of namespace {}, it was removed or is no longer configured", restored.namespace());
+                    continue;
+                }
+
+                List<CacheDTO> records = new ArrayList<>();
+                for(CacheDTO record : restored.records()) {
+                    Optional<CacheDTO> persisted = this.cachePersistenceService.getFromStore(record.getNamespace(), record.getId());
+                    if(persisted.isPresent() && persisted.get().getVersion() >= record.getVersion()) continue;
+                    if(persisted.isPresent()) {
+                        this.cachePersistenceService.removeFromStore(record.getNamespace(), record.getId());
+                    }
+                    records.add(record);
+                }
+
+                int overflow = Math.max(0, records.size() - segment.getCapacity());
+                records.subList(0, overflow).forEach(this.cachePersistenceService::persistToStore);
+                try {
+                    segment.getLock().writeLock().lock();
+                    records.subList(overflow, records.size()).forEach(record -> segment.getStore().put(record.getId(), record));
+                } finally {
+                    segment.getLock().writeLock().unlock();
+                }
+                log.info("Restored {} records of namespace {} from snapshot", records.size() - overflow, restored.namespace());
+            }
+            Files.delete(path);
+        } catch(Exception e) {
+            log.error("Error while restoring snapshot {}, starting cold", path, e);
+        }
+    }
+
+    private Path snapshotPath() {
+        return Path.of(this.snapshot.getDirectory(), "v2.snapshot");
+    }
+
+    @Override
+    public ApiResponseEnvelop<CacheDTO> add(String namespace, String key, byte[] value) {
+        log.debug("Adding cache entry - Namespace: {}, Key: {}, Value size: {}", namespace, key, value.length);
+        /*
+         * Cache Logic - write behind, misses read through to the persistent store
+         * 1. Lock namespace segment
+         * 2. Delete new record from persistent store if exists, enqueue key for db operation
+         * 3. Check size of cache(map)
+         * 4. if max, then remove last node from cache(linked HashMap)
+         * 5. Save removed last record to persistent store, enqueue key for db operation
+         * 6. Add new record to cache
+         * 7. Release lock
+         * 8. return success response
+         */
+        CacheSegment segment = this.segments.get(namespace);
+        try {
+            CacheDTO record = CacheDTO.builder()
+                    .namespace(namespace)
+                    .id(key)
+                    .value(value)
+                    .version(this.versionClock.next())
+                    .build();
+            segment.getLock().writeLock().lock();
+            log.trace("Acquired write lock");
+            this.cachePersistenceService.removeFromStore(namespace, key);
+            if(segment.isFull()) {
+                this.evictLeastUsedAndPersist(segment);
+            }
+            segment.getStore().put(key, record);
+            this.hotKeyReplicas.get(namespace).invalidate(key);
+            this.publish(CacheMutationEvent.Type.ADD, namespace, key, value);
+            return ApiResponseEnvelop.success(record);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error adding cache entry", e);
+            throw new CacheException("Failed to add cache entry");
+        } finally {
+            segment.getLock().writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ApiResponseEnvelop<CacheDTO> compute(String namespace, String key, Function<CacheDTO, byte[]> update) {
+        log.debug("Computing cache entry - Namespace: {}, Key: {}", namespace, key);
+        /*
+         * Cache Logic - write behind, misses read through to the persistent store
+         * 1. Lock namespace segment
+         * 2. Read current record from cache, else from persistent store
+         * 3. Apply update, an exception leaves everything unchanged
+         * 4. Remove record from persistent store if it lived there, enqueue key for db operation
+         * 5. if key is new and cache is full, then remove last node from cache(linked HashMap) to persistent store
+         * 6. Add new record to cache
+         * 7. Release lock
+         */
+        CacheSegment segment = this.segments.get(namespace);
+        try {
+            segment.getLock().writeLock().lock();
+            CacheDTO current = segment.getStore().get(key);
+            boolean cached = null != current;
+            if(!cached) {
+                current = this.cachePersistenceService.getFromStore(namespace, key).orElse(null);
+            }
+
+            byte[] value = update.apply(current);
+
+            if(!cached) {
+                this.cachePersistenceService.removeFromStore(namespace, key);
+                if(segment.isFull()) {
+                    this.evictLeastUsedAndPersist(segment);
+                }
+            }
+            CacheDTO record = CacheDTO.builder()
+                    .namespace(namespace)
+                    .id(key)
+                    .value(value)
+                    .version(this.versionClock.next())
+                    .build();
+            segment.getStore().put(key, record);
+            this.hotKeyReplicas.get(namespace).invalidate(key);
+            this.publish(CacheMutationEvent.Type.ADD, namespace, key, value);
+            return ApiResponseEnvelop.success(record);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error computing cache entry", e);
+            throw new CacheException("Failed to update cache entry");
+        } finally {
+            segment.getLock().writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ApiResponseEnvelop<CacheDTO> fetch(String namespace, String key) {
+        log.debug("Fetching cache entry - Namespace: {}, Key: {}", namespace, key);
+        /*
+            * Cache Logic - write behind, misses read through to the persistent store
+            * 1. Sample the read for hot key detection, return record of a hot key from the replica without locking
+            * 2. Lock namespace segment
+            * 3. Check record in cache, if found return
+            * 4. Check record in persistent store, if found add to cache, enqueue key for db operation and return
+            * 5. Release lock
+            * 6. return not found response
+         */
+        CacheSegment segment = this.segments.get(namespace);
+        this.accessTrace.record(AccessTraceFile.Operation.READ, namespace, key);
+        if(this.hotKeys.isEnabled()) {
+            this.hotKeyDetectors.get(namespace).sample(key);
+            CacheDTO replicated = this.hotKeyReplicas.get(namespace).get(key);
+            if(null != replicated) {
+                return ApiResponseEnvelop.success(replicated);
+            }
+        }
+        try {
+            segment.getLock().writeLock().lock();
+            if(segment.getStore().containsKey(key)) {
+                CacheDTO record = segment.getStore().get(key);
+                return ApiResponseEnvelop.success(record);
+            } else {
+                Optional<CacheDTO> optRecord = this.cachePersistenceService.getFromStore(namespace, key);
+                if(optRecord.isPresent()) {
+                    CacheDTO record = optRecord.get();
+                    if(segment.isFull()) {
+                        this.evictLeastUsedAndPersist(segment);
+                    }
+                    segment.getStore().put(key, record);
+                    this.cachePersistenceService.removeFromStore(namespace, key);
+                    return ApiResponseEnvelop.success(record);
+                } else {
+                    return ApiResponseEnvelop.error(new ArrayList<>(){{
+                        add("Record not found for key: " + key);
+                    }});
+                }
+            }
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error fetching cache entry", e);
+            throw new CacheException("Failed to fetch cache entry");
+        } finally {
+            segment.getLock().writeLock().unlock();
+        }
+    }
+
+    /*
+        * Steps 1 and 3 of fetch, a record of a hot key or of the cache
+     */
+    @Override
+    public Optional<ApiResponseEnvelop<CacheDTO>> tryFetch(String namespace, String key) {
+        CacheSegment segment = this.segments.get(namespace);
+        CacheDTO record = this.hotKeys.isEnabled() ? this.hotKeyReplicas.get(namespace).get(key) : null;
+        if(null == record) {
+            try {
+                segment.getLock().writeLock().lock();
+                record = segment.getStore().get(key);
+            } finally {
+                segment.getLock().writeLock().unlock();
+            }
+        }
+        if(null == record) return Optional.empty();
+
+        this.accessTrace.record(AccessTraceFile.Operation.READ, namespace, key);
+        if(this.hotKeys.isEnabled()) {
+            this.hotKeyDetectors.get(namespace).sample(key);
+        }
+        return Optional.of(ApiResponseEnvelop.success(record));
+    }
+
+    @Override
+    public Optional<CacheDTO> peek(String namespace, String key) {
+        CacheSegment segment = this.segments.get(namespace);
+        CacheDTO replicated = this.hotKeyReplicas.get(namespace).get(key);
+        if(null != replicated) {
+            return Optional.of(replicated);
+        }
+        try {
+            segment.getLock().writeLock().lock();
+            return Optional.ofNullable(segment.getStore().get(key));
+        } finally {
+            segment.getLock().writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> remove(String namespace, String key) {
+        log.debug("Removing cache entry - Namespace: {}, Key: {}", namespace, key);
+        /*
+         * Cache Logic - write behind, misses read through to the persistent store
+         * 1. Lock namespace segment
+         * 2. Remove record from cache if exists
+         * 3. Remove record from persistent store, enqueue key for db operation
+         * 4. Release lock
+         * 5. return success response
+         */
+        CacheSegment segment = this.segments.get(namespace);
+        try {
+            segment.getLock().writeLock().lock();
+            if(segment.getStore().containsKey(key)) {
+                segment.getStore().remove(key);
+                this.hotKeyReplicas.get(namespace).invalidate(key);
+            } else {
+                this.cachePersistenceService.removeFromStore(namespace, key);
+            }
+            this.publish(CacheMutationEvent.Type.REMOVE, namespace, key);
+            return ApiResponseEnvelop.success("OK");
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error removing cache entry", e);
+            throw new CacheException("Failed to remove cache entry");
+        } finally {
+            segment.getLock().writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> removeIfVersion(String namespace, String key, long expectedVersion) {
+        log.debug("Removing cache entry if at version {} - Namespace: {}, Key: {}", expectedVersion, namespace, key);
+        /*
+         * Cache Logic - write behind, misses read through to the persistent store
+         * 1. Lock namespace segment
+         * 2. Read current record from cache, else from persistent store
+         * 3. Remove it as remove does if it is still at the expected version
+         * 4. Release lock
+         */
+        CacheSegment segment = this.segments.get(namespace);
+        try {
+            segment.getLock().writeLock().lock();
+            CacheDTO current = segment.getStore().get(key);
+            if(null == current) {
+                current = this.cachePersistenceService.getFromStore(namespace, key).orElse(null);
+            }
+            WritePrecondition.version(expectedVersion).check(key, current);
+            return this.remove(namespace, key);
+        } finally {
+            segment.getLock().writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> removeAll(String namespace) {
+        log.debug("Removing all cache entries of namespace {}", namespace);
+        /*
+         * Cache Logic - write behind, misses read through to the persistent store
+         * 1. Lock namespace segment
+         * 2. Clear cache of namespace
+         * 3. Clear namespace from persistent store, invalidate its db records by generation
+         * 4. Release lock
+         * 5. Persist the generation
+         * 6. return success response
+         */
+        CacheSegment segment = this.segments.get(namespace);
+        try {
+            segment.getLock().writeLock().lock();
+            segment.reset();
+            this.hotKeyReplicas.get(namespace).clear();
+            this.cachePersistenceService.removeAll(namespace);
+            this.publish(CacheMutationEvent.Type.REMOVE_ALL, namespace, null);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error removing all cache entries of namespace {}", namespace, e);
+            throw new CacheException("Failed to remove all cache entries");
+        } finally {
+            segment.getLock().writeLock().unlock();
+        }
+        this.cacheGenerationService.persist(namespace);
+        return ApiResponseEnvelop.success("OK");
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> clear(String namespace) {
+        log.debug("Clearing cache of namespace {}", namespace);
+        CacheSegment segment = this.segments.get(namespace);
+        try {
+            segment.getLock().writeLock().lock();
+            segment.reset();
+            this.hotKeyReplicas.get(namespace).clear();
+            this.publish(CacheMutationEvent.Type.CLEAR, namespace, null);
+            return ApiResponseEnvelop.success("OK");
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error clearing cache of namespace {}", namespace, e);
+            throw new CacheException("Failed to clear cache");
+        } finally {
+            segment.getLock().writeLock().unlock();
+        }
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> removeAll() {
+        log.debug("Removing all cache entries");
+        /*
+         * Cache Logic - write behind, misses read through to the persistent store
+         * 1. Lock all segments
+         * 2. Clear cache
+         * 3. Clear persistent store, invalidate all db records by generation
+         * 4. Release lock
+         * 5. Persist the generation
+         * 6. return success response
+         */
+        List<CacheSegment> locked = new ArrayList<>();
+        try {
+            for(CacheSegment segment : this.segments.all()) {
+                segment.getLock().writeLock().lock();
+                locked.add(segment);
+            }
+            locked.forEach(CacheSegment::reset);
+            this.hotKeyReplicas.values().forEach(HotKeyReplica::clear);
+            this.cachePersistenceService.removeAll();
+            this.publish(CacheMutationEvent.Type.REMOVE_ALL, null, null);
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error removing all cache entries", e);
+            throw new CacheException("Failed to remove all cache entries");
+        } finally {
+            locked.forEach(segment -> segment.getLock().writeLock().unlock());
+        }
+        this.cacheGenerationService.persist(null);
+        return ApiResponseEnvelop.success("OK");
+    }
+
+    @Override
+    public ApiResponseEnvelop<String> clear() {
+        log.debug("Clearing cache and persistent store");
+        /*
+         * Cache Logic - write behind, misses read through to the persistent store
+         * 1. Lock each segment
+         * 2. Clear cache
+         * 4. Release lock
+         * 5. return success response
+         */
+        try {
+            this.segments.all().forEach(segment -> this.clear(segment.getNamespace()));
+            return ApiResponseEnvelop.success("OK");
+        } catch(CacheException e) {
+            throw e;
+        } catch(Exception e) {
+            log.error("Error clearing cache and persistent store", e);
+            throw new CacheException("Failed to clear cache and persistent store");
+        }
+    }
+
+    @Override
+    public void export(Consumer<CacheDTO> consumer) {
+        log.debug("Exporting all cache entries");
+        for(CacheSegment segment : this.segments.all()) {
+            this.cachePersistenceService.scan(segment.getNamespace(), "", null).forEachRemaining(consumer);
+        }
+        for(CacheSegment segment : this.segments.all()) {
+            List<CacheDTO> records;
+            try {
+                segment.getLock().readLock().lock();
+                records = segment.getStore().entries();
+            } finally {
+                segment.getLock().readLock().unlock();
+            }
+            records.forEach(consumer);
+        }
+    }
+
+    @Override
+    public String scan(String namespace, String prefix, String cursor, int limit, Consumer<CacheDTO> consumer) {
+        log.debug("Scanning namespace {} for prefix {} after {}", namespace, prefix, cursor);
+        CacheSegment segment = this.segments.get(namespace);
+        return KeyScan.merge(limit, consumer,
+                segment.getStore().scan(prefix, cursor),
+                this.cachePersistenceService.scan(namespace, prefix, cursor));
+    }
+
+    @Override
+    public AccessTraceRecorder accessTrace() {
+        return this.accessTrace;
+    }
+
+    @PreDestroy
+    public void stopAccessTrace() {
+        this.accessTrace.stop();
+    }
+
+    @Override
+    public List<CacheStats> stats() {
+        List<CacheStats> stats = new ArrayList<>();
+        for(CacheSegment segment : this.segments.all()) {
+            stats.add(CacheStats.builder()
+                    .namespace(segment.getNamespace())
+                    .size(segment.getStore().size())
+                    .maxSize(segment.getMaxSize())
+                    .warm(segment.warmStats())
+                    .replicatedKeys(this.hotKeyReplicas.get(segment.getNamespace()).size())
+                    .replicaHits(this.hotKeyReplicas.get(segment.getNamespace()).hits())
+                    .build());
+        }
+        return stats;
+    }
+
+    @Override
+    public List<HotKeyStats> hotKeys() {
+        List<HotKeyStats> hotKeys = new ArrayList<>();
+        for(CacheSegment segment : this.segments.all()) {
+            HotKeyDetector detector = this.hotKeyDetectors.get(segment.getNamespace());
+            HotKeyReplica replica = this.hotKeyReplicas.get(segment.getNamespace());
+            for(HotKeyDetector.HotKey hotKey : detector.top(this.hotKeys.getTrackedKeys(), 1)) {
+                hotKeys.add(HotKeyStats.builder()
+                        .namespace(segment.getNamespace())
+                        .key(hotKey.key())
+                        .estimatedReads(hotKey.count() * detector.sampleRate())
+                        .maxOverestimate(hotKey.error() * detector.sampleRate())
+                        .replicated(replica.contains(hotKey.key()))
+                        .build());
+            }
+        }
+        return hotKeys;
+    }
+
+    /*
+        * Replaces the replica of every namespace with the current records of its hottest keys, then halves the sampled
+        * counts. Reading the records through the store under the write lock also marks them recently used, hot keys
+        * are served from the replica and would otherwise drift to the eviction end of the store.
+     */
+    @Scheduled(fixedDelayString = "${cache.hot-keys.refresh-interval:1}", timeUnit = TimeUnit.SECONDS)
+    public void refreshHotKeys() {
+        if(!this.hotKeys.isEnabled()) return;
+
+        for(CacheSegment segment : this.segments.all()) {
+            HotKeyDetector detector = this.hotKeyDetectors.get(segment.getNamespace());
+            List<HotKeyDetector.HotKey> hottest = detector.top(this.hotKeys.getReplicatedKeys(), this.hotKeys.getMinSamples());
+            try {
+                segment.getLock().writeLock().lock();
+                Map<String, CacheDTO> records = new HashMap<>();
+                for(HotKeyDetector.HotKey hotKey : hottest) {
+                    CacheDTO record = segment.getStore().get(hotKey.key());
+                    if(null != record) records.put(hotKey.key(), record);
+                }
+                this.hotKeyReplicas.get(segment.getNamespace()).publish(records);
+            } catch(Exception e) {
+                log.error("Error refreshing hot keys of namespace {}", segment.getNamespace(), e);
+            } finally {
+                segment.getLock().writeLock().unlock();
+            }
+            detector.age();
+        }
+    }
+
+    private void evictLeastUsedAndPersist(CacheSegment segment) {
+        log.debug("Evicting least used cache entry of namespace {} and persisting to DB", segment.getNamespace());
+        CacheDTO record = segment.getStore().evict();
+        if(null != record) {
+            this.hotKeyReplicas.get(segment.getNamespace()).invalidate(record.getId());
+            this.cachePersistenceService.persistToStore(record);
+            this.publish(CacheMutationEvent.Type.EVICT, segment.getNamespace(), record.getId(), record.getValue());
+        }
+    }
+
+    private void publish(CacheMutationEvent.Type type, String namespace, String key) {
+        this.publish(type, namespace, key, null);
+    }
+
+    private void publish(CacheMutationEvent.Type type, String namespace, String key, byte[] value) {
+        this.changedSinceSnapshot = true;
+        this.accessTrace.record(type, namespace, key);
+        this.eventPublisher.publishEvent(CacheMutationEvent.builder()
+                .source(SOURCE)
+                .type(type)
+                .namespace(namespace)
+                .key(key)
+                .value(value)
+                .build());
+    }
+}
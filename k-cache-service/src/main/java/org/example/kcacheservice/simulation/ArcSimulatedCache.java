@@ -0,0 +1,105 @@
+package org.example.kcacheservice.simulation;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/*
+    * Adaptive replacement cache of Megiddo and Modha.
+    * T1 holds keys seen once recently and T2 keys seen at least twice, B1 and B2 remember keys evicted from them.
+    * A hit in B1 means T1 was too small and grows its target size p, a hit in B2 shrinks it.
+ */
+public class ArcSimulatedCache implements SimulatedCache {
+    private final int capacity;
+    private final LinkedHashSet<Long> t1;
+    private final LinkedHashSet<Long> t2;
+    private final LinkedHashSet<Long> b1;
+    private final LinkedHashSet<Long> b2;
+    private double p;
+
+    public ArcSimulatedCache(int capacity) {
+        this.capacity = capacity;
+        this.t1 = new LinkedHashSet<>();
+        this.t2 = new LinkedHashSet<>();
+        this.b1 = new LinkedHashSet<>();
+        this.b2 = new LinkedHashSet<>();
+    }
+
+    @Override
+    public boolean read(long key) {
+        return this.request(key);
+    }
+
+    @Override
+    public void write(long key) {
+        this.request(key);
+    }
+
+    @Override
+    public void remove(long key) {
+        if(!this.t1.remove(key)) this.t2.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        this.t1.clear();
+        this.t2.clear();
+        this.b1.clear();
+        this.b2.clear();
+        this.p = 0;
+    }
+
+    private boolean request(long key) {
+        if(this.t1.remove(key) || this.t2.remove(key)) {
+            this.t2.add(key);
+            return true;
+        }
+
+        if(this.b1.contains(key)) {
+            this.p = Math.min(this.capacity, this.p + Math.max((double) this.b2.size() / this.b1.size(), 1));
+            this.replace(false);
+            this.b1.remove(key);
+            this.t2.add(key);
+            return false;
+        }
+        if(this.b2.contains(key)) {
+            this.p = Math.max(0, this.p - Math.max((double) this.b1.size() / this.b2.size(), 1));
+            this.replace(true);
+            this.b2.remove(key);
+            this.t2.add(key);
+            return false;
+        }
+
+        int l1 = this.t1.size() + this.b1.size();
+        int total = l1 + this.t2.size() + this.b2.size();
+        if(l1 >= this.capacity) {
+            if(this.t1.size() < this.capacity) {
+                removeFirst(this.b1);
+                this.replace(false);
+            } else {
+                removeFirst(this.t1);
+            }
+        } else if(total >= this.capacity) {
+            if(total >= 2 * this.capacity) removeFirst(this.b2);
+            this.replace(false);
+        }
+        this.t1.add(key);
+        return false;
+    }
+
+    private void replace(boolean inB2) {
+        if(this.t1.size() + this.t2.size() < this.capacity) return;
+        if(!this.t1.isEmpty() && (this.t1.size() > this.p || (inB2 && this.t1.size() == (int) this.p) || this.t2.isEmpty())) {
+            this.b1.add(removeFirst(this.t1));
+        } else {
+            this.b2.add(removeFirst(this.t2));
+        }
+    }
+
+    private static Long removeFirst(LinkedHashSet<Long> keys) {
+        Iterator<Long> iterator = keys.iterator();
+        if(!iterator.hasNext()) return null;
+        Long key = iterator.next();
+        iterator.remove();
+        return key;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.kcacheservice.simulation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+    * LRU or FIFO, the same access or insertion ordered map the cache store uses
+ */
+public class LinkedSimulatedCache implements SimulatedCache {
+    private final LinkedHashMap<Long, Boolean> entries;
+
+    public LinkedSimulatedCache(int capacity, boolean accessOrder) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, accessOrder) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return this.size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public boolean read(long key) {
+        if(null != this.entries.get(key)) return true;
+        this.entries.put(key, Boolean.TRUE);
+        return false;
+    }
+
+    @Override
+    public void write(long key) {
+        this.entries.put(key, Boolean.TRUE);
+    }
+
+    @Override
+    public void remove(long key) {
+        this.entries.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        this.entries.clear();
+    }
+}
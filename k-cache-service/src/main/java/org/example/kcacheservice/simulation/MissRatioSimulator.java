@@ -0,0 +1,147 @@
+package org.example.kcacheservice.simulation;
+
+import org.example.kcacheservice.trace.AccessTraceFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/*
+    * Replays a recorded access trace against each policy at each capacity and reports the miss ratio of the reads,
+    * per namespace. Every policy and capacity is an independent replay, they run in parallel.
+    * Capacities are in keys of the full traffic, a trace sampled one in n keys is replayed at capacity / n.
+    *
+    * Usage: MissRatioSimulator <trace> [--capacities 100,1000,...] [--policies LRU,ARC,...] [--csv <file>]
+    * Without capacities, powers of two up to the number of distinct keys of each namespace are simulated.
+ */
+public class MissRatioSimulator {
+
+    public record Result(String namespace, SimulatedPolicy policy, long capacity, long reads, long misses) {
+        public double missRatio() {
+            return this.reads == 0 ? 0 : (double) this.misses / this.reads;
+        }
+    }
+
+    private MissRatioSimulator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if(args.length == 0) {
+            System.err.println("Usage: MissRatioSimulator <trace> [--capacities 100,1000,...] [--policies LRU,ARC,...] [--csv <file>]");
+            System.exit(2);
+        }
+        Path tracePath = Path.of(args[0]);
+        List<Long> capacities = null;
+        List<SimulatedPolicy> policies = List.of(SimulatedPolicy.values());
+        Path csv = null;
+        for(int i = 1; i + 1 < args.length; i += 2) {
+            switch(args[i]) {
+                case "--capacities" -> capacities = Arrays.stream(args[i + 1].split(",")).map(String::trim).map(Long::parseLong).toList();
+                case "--policies" -> policies = Arrays.stream(args[i + 1].split(",")).map(String::trim)
+                        .map(policy -> SimulatedPolicy.valueOf(policy.toUpperCase(Locale.ROOT))).toList();
+                case "--csv" -> csv = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        AccessTraceFile.Trace trace = AccessTraceFile.read(tracePath);
+        System.out.printf("Trace %s: %d accesses, one in %d keys sampled%n", tracePath, trace.size(), trace.sampleRate());
+        List<Result> results = simulate(trace, policies, capacities);
+        print(results, policies, System.out);
+        if(null != csv) {
+            List<String> lines = new ArrayList<>();
+            lines.add("namespace,policy,capacity,reads,misses,miss_ratio");
+            results.forEach(result -> lines.add(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.6f", result.namespace(),
+                    result.policy(), result.capacity(), result.reads(), result.misses(), result.missRatio())));
+            Files.write(csv, lines);
+        }
+    }
+
+    /*
+        * Miss ratio curve of every namespace with reads, capacities null picks powers of two up to its distinct keys
+     */
+    public static List<Result> simulate(AccessTraceFile.Trace trace, List<SimulatedPolicy> policies, List<Long> capacities) {
+        record Run(int namespaceIndex, SimulatedPolicy policy, long capacity) { }
+
+        List<Run> runs = new ArrayList<>();
+        for(int namespaceIndex = 0; namespaceIndex < trace.namespaces().size(); namespaceIndex++) {
+            Set<Long> keys = new HashSet<>();
+            boolean reads = false;
+            for(int i = 0; i < trace.size(); i++) {
+                if(trace.namespaceIndexes()[i] != namespaceIndex) continue;
+                if(trace.operations()[i] == AccessTraceFile.Operation.CLEAR.ordinal()) continue;
+                keys.add(trace.keys()[i]);
+                reads |= trace.operations()[i] == AccessTraceFile.Operation.READ.ordinal();
+            }
+            if(!reads) continue;
+
+            List<Long> namespaceCapacities = capacities;
+            if(null == namespaceCapacities) {
+                namespaceCapacities = new ArrayList<>();
+                for(long capacity = 1; capacity < keys.size() * 2L; capacity *= 2) {
+                    namespaceCapacities.add(capacity * trace.sampleRate());
+                }
+            }
+            for(SimulatedPolicy policy : policies) {
+                for(long capacity : namespaceCapacities) {
+                    runs.add(new Run(namespaceIndex, policy, capacity));
+                }
+            }
+        }
+
+        return runs.parallelStream()
+                .map(run -> replay(trace, run.namespaceIndex(), run.policy(), run.capacity()))
+                .toList();
+    }
+
+    public static Result replay(AccessTraceFile.Trace trace, int namespaceIndex, SimulatedPolicy policy, long capacity) {
+        SimulatedCache cache = policy.create((int) Math.max(1, Math.min(Integer.MAX_VALUE, capacity / trace.sampleRate())));
+        long reads = 0;
+        long misses = 0;
+        byte[] operations = trace.operations();
+        byte[] namespaceIndexes = trace.namespaceIndexes();
+        long[] keys = trace.keys();
+        for(int i = 0; i < keys.length; i++) {
+            if(namespaceIndexes[i] != namespaceIndex) continue;
+            switch(AccessTraceFile.Operation.values()[operations[i]]) {
+                case READ -> {
+                    reads++;
+                    if(!cache.read(keys[i])) misses++;
+                }
+                case WRITE -> cache.write(keys[i]);
+                case REMOVE -> cache.remove(keys[i]);
+                case CLEAR -> cache.clear();
+            }
+        }
+        return new Result(trace.namespaces().get(namespaceIndex), policy, capacity, reads, misses);
+    }
+
+    private static void print(List<Result> results, List<SimulatedPolicy> policies, PrintStream out) {
+        Map<String, List<Result>> byNamespace = results.stream()
+                .collect(Collectors.groupingBy(Result::namespace, LinkedHashMap::new, Collectors.toList()));
+        byNamespace.forEach((namespace, namespaceResults) -> {
+            out.printf("%nNamespace %s, %d reads, miss ratio in %%%n", namespace, namespaceResults.get(0).reads());
+            out.printf("%12s", "capacity");
+            policies.forEach(policy -> out.printf("%12s", policy));
+            out.println();
+            Map<Long, Map<SimulatedPolicy, Result>> byCapacity = namespaceResults.stream()
+                    .collect(Collectors.groupingBy(Result::capacity, LinkedHashMap::new,
+                            Collectors.toMap(Result::policy, result -> result)));
+            byCapacity.forEach((capacity, byPolicy) -> {
+                out.printf("%12d", capacity);
+                policies.forEach(policy -> out.printf(Locale.ROOT, "%12.2f", byPolicy.get(policy).missRatio() * 100));
+                out.println();
+            });
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.kcacheservice.simulation;
+
+/*
+    * Cache of key hashes replaying an access trace, only residency is simulated.
+    * Reads and writes both admit the key as the cache services do, a read missing the key loads it.
+ */
+public interface SimulatedCache {
+    /*
+        * Returns whether the key was resident
+     */
+    public boolean read(long key);
+
+    public void write(long key);
+
+    public void remove(long key);
+
+    public void clear();
+}
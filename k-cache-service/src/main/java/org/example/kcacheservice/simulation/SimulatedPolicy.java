@@ -0,0 +1,20 @@
+package org.example.kcacheservice.simulation;
+
+import java.util.function.IntFunction;
+
+public enum SimulatedPolicy {
+    LRU(capacity -> new LinkedSimulatedCache(capacity, true)),
+    FIFO(capacity -> new LinkedSimulatedCache(capacity, false)),
+    ARC(ArcSimulatedCache::new),
+    W_TINYLFU(WTinyLfuSimulatedCache::new);
+
+    private final IntFunction<SimulatedCache> factory;
+
+    SimulatedPolicy(IntFunction<SimulatedCache> factory) {
+        this.factory = factory;
+    }
+
+    public SimulatedCache create(int capacity) {
+        return this.factory.apply(capacity);
+    }
+}
@@ -0,0 +1,133 @@
+package org.example.kcacheservice.simulation;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+/*
+    * Window TinyLFU of Einziger, Friedman and Manes.
+    * New keys enter a small LRU window of 1% of the capacity. A key leaving the window is admitted to the main
+    * segmented LRU only if it was read more often than the key the main region would evict, frequencies come from
+    * an aging count-min sketch. The main region keeps 80% of its space for keys hit again after admission.
+ */
+public class WTinyLfuSimulatedCache implements SimulatedCache {
+    private static final int DEPTH = 4;
+    private static final int MAX_COUNT = 15;
+    private static final long[] SEEDS = {0x9e3779b97f4a7c15L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0xd6e8feb86659fd93L};
+
+    private final int windowCapacity;
+    private final int protectedCapacity;
+    private final int mainCapacity;
+    private final LinkedHashSet<Long> window;
+    private final LinkedHashSet<Long> probation;
+    private final LinkedHashSet<Long> protectedKeys;
+    private final byte[] sketch;
+    private final int width;
+    private final long sampleSize;
+    private long samples;
+
+    public WTinyLfuSimulatedCache(int capacity) {
+        this.windowCapacity = Math.max(1, capacity / 100);
+        this.mainCapacity = capacity - this.windowCapacity;
+        this.protectedCapacity = this.mainCapacity * 8 / 10;
+        this.window = new LinkedHashSet<>();
+        this.probation = new LinkedHashSet<>();
+        this.protectedKeys = new LinkedHashSet<>();
+        this.width = Integer.highestOneBit(Math.max(16, capacity) * 2 - 1);
+        this.sketch = new byte[DEPTH * this.width];
+        this.sampleSize = 10L * Math.max(16, capacity);
+    }
+
+    @Override
+    public boolean read(long key) {
+        return this.access(key);
+    }
+
+    @Override
+    public void write(long key) {
+        this.access(key);
+    }
+
+    @Override
+    public void remove(long key) {
+        if(!this.window.remove(key) && !this.probation.remove(key)) this.protectedKeys.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        this.window.clear();
+        this.probation.clear();
+        this.protectedKeys.clear();
+    }
+
+    private boolean access(long key) {
+        this.increment(key);
+        if(this.window.remove(key)) {
+            this.window.add(key);
+            return true;
+        }
+        if(this.protectedKeys.remove(key)) {
+            this.protectedKeys.add(key);
+            return true;
+        }
+        if(this.probation.remove(key)) {
+            this.protectedKeys.add(key);
+            if(this.protectedKeys.size() > this.protectedCapacity) {
+                this.probation.add(removeFirst(this.protectedKeys));
+            }
+            return true;
+        }
+
+        this.window.add(key);
+        if(this.window.size() > this.windowCapacity) {
+            Long candidate = removeFirst(this.window);
+            if(this.probation.size() + this.protectedKeys.size() < this.mainCapacity) {
+                this.probation.add(candidate);
+            } else if(this.mainCapacity > 0) {
+                LinkedHashSet<Long> victims = this.probation.isEmpty() ? this.protectedKeys : this.probation;
+                Long victim = victims.iterator().next();
+                if(this.frequency(candidate) > this.frequency(victim)) {
+                    victims.remove(victim);
+                    this.probation.add(candidate);
+                }
+            }
+        }
+        return false;
+    }
+
+    private void increment(long key) {
+        boolean added = false;
+        for(int row = 0; row < DEPTH; row++) {
+            int index = this.index(key, row);
+            if(this.sketch[index] < MAX_COUNT) {
+                this.sketch[index]++;
+                added = true;
+            }
+        }
+        if(added && ++this.samples >= this.sampleSize) {
+            this.samples = 0;
+            for(int i = 0; i < this.sketch.length; i++) {
+                this.sketch[i] >>>= 1;
+            }
+        }
+    }
+
+    private int frequency(long key) {
+        int frequency = MAX_COUNT;
+        for(int row = 0; row < DEPTH; row++) {
+            frequency = Math.min(frequency, this.sketch[this.index(key, row)]);
+        }
+        return frequency;
+    }
+
+    private int index(long key, int row) {
+        long hash = (key ^ SEEDS[row]) * 0x9e3779b97f4a7c15L;
+        return row * this.width + (int) ((hash >>> 32) & (this.width - 1));
+    }
+
+    private static Long removeFirst(LinkedHashSet<Long> keys) {
+        Iterator<Long> iterator = keys.iterator();
+        Long key = iterator.next();
+        iterator.remove();
+        return key;
+    }
+}
@@ -0,0 +1,112 @@
+package org.example.kcacheservice.trace;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+    * Binary access trace of one cache service.
+    * Layout: magic, format version, sample rate, namespace count and names, then one 10 byte record per sampled
+    * access: operation, namespace index and the 64 bit hash of the key. Keys are sampled by hash, a trace with sample
+    * rate n holds every access to about one in n keys, so a cache of capacity c behaves on it like a cache of
+    * capacity c / n on the full traffic.
+    * A trace cut off mid record, e.g. by a crash, is read up to its last complete record.
+ */
+public final class AccessTraceFile {
+    public static final int MAGIC = 0x4b435431;
+    public static final int FORMAT_VERSION = 1;
+    public static final int RECORD_BYTES = 2 + Long.BYTES;
+
+    public enum Operation {
+        READ, WRITE, REMOVE, CLEAR
+    }
+
+    /*
+        * Records of a trace in columns, the key hash of a clear is 0
+     */
+    public record Trace(int sampleRate, List<String> namespaces, byte[] operations, byte[] namespaceIndexes, long[] keys) {
+        public int size() {
+            return this.keys.length;
+        }
+    }
+
+    private AccessTraceFile() {
+    }
+
+    public static ByteBuffer header(int sampleRate, List<String> namespaces) {
+        List<byte[]> names = namespaces.stream().map(name -> name.getBytes(StandardCharsets.UTF_8)).toList();
+        ByteBuffer header = ByteBuffer.allocate(4 * Integer.BYTES + names.stream().mapToInt(name -> Integer.BYTES + name.length).sum());
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(sampleRate).putInt(names.size());
+        names.forEach(name -> header.putInt(name.length).put(name));
+        return header.flip();
+    }
+
+    public static void putRecord(ByteBuffer buffer, Operation operation, int namespaceIndex, long key) {
+        buffer.put((byte) operation.ordinal()).put((byte) namespaceIndex).putLong(key);
+    }
+
+    public static Trace read(Path path) throws IOException {
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if(in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Trace " + path + " has an unknown format");
+            }
+            int sampleRate = in.readInt();
+            int namespaceCount = in.readInt();
+            List<String> namespaces = new ArrayList<>(namespaceCount);
+            for(int i = 0; i < namespaceCount; i++) {
+                byte[] name = new byte[in.readInt()];
+                in.readFully(name);
+                namespaces.add(new String(name, StandardCharsets.UTF_8));
+            }
+
+            int capacity = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, Files.size(path) / RECORD_BYTES));
+            byte[] operations = new byte[capacity];
+            byte[] namespaceIndexes = new byte[capacity];
+            long[] keys = new long[capacity];
+            int size = 0;
+            byte[] record = new byte[RECORD_BYTES];
+            ByteBuffer view = ByteBuffer.wrap(record);
+            while(size < capacity) {
+                try {
+                    in.readFully(record);
+                } catch(EOFException e) {
+                    break;
+                }
+                operations[size] = record[0];
+                namespaceIndexes[size] = record[1];
+                keys[size] = view.getLong(2);
+                size++;
+            }
+            return new Trace(sampleRate, namespaces, Arrays.copyOf(operations, size),
+                    Arrays.copyOf(namespaceIndexes, size), Arrays.copyOf(keys, size));
+        }
+    }
+
+    /*
+        * 64 bit FNV-1a of namespace and key with a final avalanche, so the low bits used for sampling are well mixed
+     */
+    public static long hash(String namespace, String key) {
+        long hash = 0xcbf29ce484222325L;
+        for(byte b : namespace.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash *= 0x100000001b3L;
+        for(byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
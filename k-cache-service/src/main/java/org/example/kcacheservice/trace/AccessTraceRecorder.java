@@ -0,0 +1,192 @@
+package org.example.kcacheservice.trace;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.AccessTraceStatus;
+import org.example.kcacheservice.event.CacheMutationEvent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    * Records sampled cache accesses of one cache service to an access trace file, for the miss ratio simulator.
+    * A stopped recorder costs a volatile read per access, a running one hashes the key and appends 10 bytes to a
+    * buffer under a short lock for sampled keys. Full buffers are written to the file under the same lock, a page cache
+    * write every few thousand records. Recording stops by itself once the file reaches its maximum size.
+ */
+@Slf4j
+public class AccessTraceRecorder {
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final CacheConfig.AccessTrace config;
+    private final Path path;
+    private final List<String> namespaces;
+    private final Map<String, Integer> namespaceIndexes;
+    private final ReentrantLock lock;
+    private final ByteBuffer buffer;
+    private volatile boolean recording;
+    private FileChannel channel;
+    private int sampleRate;
+    private long maxBytes;
+    private long bytes;
+    private long records;
+    private Instant startedAt;
+    private Instant stoppedAt;
+
+    public AccessTraceRecorder(CacheConfig.AccessTrace config, String fileName, List<String> namespaces) {
+        this.config = config;
+        this.path = Path.of(config.getDirectory(), fileName);
+        this.namespaces = List.copyOf(namespaces);
+        this.namespaceIndexes = new HashMap<>();
+        for(int i = 0; i < namespaces.size(); i++) {
+            this.namespaceIndexes.put(namespaces.get(i), i);
+        }
+        this.lock = new ReentrantLock();
+        this.buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    }
+
+    public boolean isEnabledOnStartup() {
+        return this.config.isEnabled();
+    }
+
+    /*
+        * Starts a new trace, replacing the file of the previous one
+     */
+    public void start() {
+        try {
+            this.lock.lock();
+            if(this.recording) return;
+            Files.createDirectories(this.path.toAbsolutePath().getParent());
+            this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.sampleRate = this.config.getSampleRate();
+            this.maxBytes = this.config.getMaxSizeMb() * 1024L * 1024L;
+            ByteBuffer header = AccessTraceFile.header(this.sampleRate, this.namespaces);
+            this.bytes = header.remaining();
+            this.channel.write(header);
+            this.records = 0;
+            this.startedAt = Instant.now();
+            this.stoppedAt = null;
+            this.buffer.clear();
+            this.recording = true;
+            log.info("Recording access trace to {}, sampling one in {} keys", this.path, this.sampleRate);
+        } catch(IOException e) {
+            this.close();
+            log.error("Error while starting access trace {}", this.path, e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void stop() {
+        try {
+            this.lock.lock();
+            if(!this.recording) return;
+            this.flush();
+            this.close();
+            log.info("Recorded {} accesses to {}", this.records, this.path);
+        } catch(IOException e) {
+            this.close();
+            log.error("Error while writing access trace {}", this.path, e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    public void record(AccessTraceFile.Operation operation, String namespace, String key) {
+        if(!this.recording) return;
+        long hash = null == key ? 0 : AccessTraceFile.hash(namespace, key);
+        if(null != key && this.sampleRate > 1 && Long.remainderUnsigned(hash, this.sampleRate) != 0) return;
+        Integer namespaceIndex = this.namespaceIndexes.get(namespace);
+        if(null == namespaceIndex) return;
+
+        try {
+            this.lock.lock();
+            if(!this.recording) return;
+            AccessTraceFile.putRecord(this.buffer, operation, namespaceIndex, hash);
+            this.records++;
+            if(this.buffer.remaining() < AccessTraceFile.RECORD_BYTES) {
+                this.flush();
+                if(this.bytes >= this.maxBytes) {
+                    this.close();
+                    log.info("Access trace {} reached its maximum size, recorded {} accesses", this.path, this.records);
+                }
+            }
+        } catch(IOException e) {
+            this.close();
+            log.error("Error while writing access trace {}, recording stopped", this.path, e);
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /*
+        * Records the write of a mutation, evictions are decisions of the cache and not part of the traffic. Mutations of
+        * all namespaces are recorded for each.
+     */
+    public void record(CacheMutationEvent.Type type, String namespace, String key) {
+        if(!this.recording) return;
+        switch(type) {
+            case ADD -> this.record(AccessTraceFile.Operation.WRITE, namespace, key);
+            case REMOVE -> this.record(AccessTraceFile.Operation.REMOVE, namespace, key);
+            case CLEAR, REMOVE_ALL -> {
+                if(null == namespace) {
+                    this.namespaces.forEach(name -> this.record(AccessTraceFile.Operation.CLEAR, name, null));
+                } else {
+                    this.record(AccessTraceFile.Operation.CLEAR, namespace, null);
+                }
+            }
+            case EVICT -> { }
+        }
+    }
+
+    public AccessTraceStatus status() {
+        try {
+            this.lock.lock();
+            return AccessTraceStatus.builder()
+                    .recording(this.recording)
+                    .file(this.path.toAbsolutePath().normalize().toString())
+                    .sampleRate(this.sampleRate)
+                    .records(this.records)
+                    .bytes(this.bytes + this.buffer.position())
+                    .startedAt(this.startedAt)
+                    .stoppedAt(this.stoppedAt)
+                    .build();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /*
+        * Callers hold the lock
+     */
+    private void flush() throws IOException {
+        this.buffer.flip();
+        this.bytes += this.buffer.remaining();
+        while(this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    private void close() {
+        this.recording = false;
+        this.stoppedAt = Instant.now();
+        if(null == this.channel) return;
+        try {
+            this.channel.close();
+        } catch(IOException e) {
+            log.warn("Error while closing access trace {}", this.path, e);
+        }
+        this.channel = null;
+    }
+}
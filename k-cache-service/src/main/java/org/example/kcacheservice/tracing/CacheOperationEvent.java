@@ -0,0 +1,68 @@
+package org.example.kcacheservice.tracing;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/*
+    * Flight recorder event of one traced cache request, only committed while a recording enables it
+ */
+@Name("org.example.kcacheservice.CacheOperation")
+@Label("Cache Operation")
+@Category("K Cache")
+@Description("Cache request with the time spent in each phase")
+@StackTrace(false)
+public class CacheOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Status")
+    int status;
+
+    @Label("Key Lock Wait")
+    @Timespan
+    long keyLockWait;
+
+    @Label("Cold Tier Wait")
+    @Timespan
+    long coldTierWait;
+
+    @Label("Segment Lock Wait")
+    @Timespan
+    long segmentLockWait;
+
+    @Label("Memory")
+    @Timespan
+    long memory;
+
+    @Label("Database Wait")
+    @Timespan
+    long databaseWait;
+
+    @Label("Database")
+    @Timespan
+    long database;
+
+    @Label("Serialization")
+    @Timespan
+    long serialization;
+
+    @Label("Other")
+    @Timespan
+    long other;
+
+    void phases(OperationTrace trace) {
+        this.keyLockWait = trace.phase(TracePhase.KEY_LOCK_WAIT);
+        this.coldTierWait = trace.phase(TracePhase.COLD_TIER_WAIT);
+        this.segmentLockWait = trace.phase(TracePhase.SEGMENT_LOCK_WAIT);
+        this.memory = trace.phase(TracePhase.MEMORY);
+        this.databaseWait = trace.phase(TracePhase.DATABASE_WAIT);
+        this.database = trace.phase(TracePhase.DATABASE);
+        this.serialization = trace.phase(TracePhase.SERIALIZATION);
+        this.other = trace.phase(TracePhase.OTHER);
+    }
+}
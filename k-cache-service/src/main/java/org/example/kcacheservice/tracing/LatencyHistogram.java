@@ -0,0 +1,85 @@
+package org.example.kcacheservice.tracing;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    * Log linear histogram of durations in nanoseconds, in the manner of HdrHistogram.
+    * Values below 64 ns get a bucket each, every power of two above is split into 32 buckets, so a reported value is
+    * at most 3.2% above the recorded one. Values beyond about a minute land in the last bucket, the maximum is exact.
+    * Lock free, recording is a single atomic increment.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int LINEAR_BUCKETS = SUB_BUCKETS * 2;
+    private static final int MAX_MAGNITUDE = 36;
+    private static final long MAX_VALUE = (1L << MAX_MAGNITUDE) - 1;
+    private static final int BUCKETS = LINEAR_BUCKETS + (MAX_MAGNITUDE - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder total;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.total = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.counts.incrementAndGet(index(Math.min(value, MAX_VALUE)));
+        this.total.add(value);
+        long max = this.max.get();
+        while(value > max && !this.max.compareAndSet(max, value)) {
+            max = this.max.get();
+        }
+    }
+
+    public long count() {
+        long count = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            count += this.counts.get(i);
+        }
+        return count;
+    }
+
+    public long mean() {
+        long count = this.count();
+        return count == 0 ? 0 : this.total.sum() / count;
+    }
+
+    public long max() {
+        return this.max.get();
+    }
+
+    /*
+        * Highest value of the bucket holding the given percentile, between 0 and 100
+     */
+    public long percentile(double percentile) {
+        long count = this.count();
+        if(count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for(int i = 0; i < BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if(seen >= rank) return i == BUCKETS - 1 ? this.max.get() : Math.min(highestValue(i), this.max.get());
+        }
+        return this.max.get();
+    }
+
+    private static int index(long value) {
+        if(value < LINEAR_BUCKETS) return (int) value;
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - 1 - SUB_BUCKET_BITS;
+        return LINEAR_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    private static long highestValue(int index) {
+        if(index < LINEAR_BUCKETS) return index;
+        int shift = (index - LINEAR_BUCKETS) / SUB_BUCKETS + 1;
+        long mantissa = (index - LINEAR_BUCKETS) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,142 @@
+package org.example.kcacheservice.tracing;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.LatencyPercentiles;
+import org.example.kcacheservice.dto.OperationLatencyStats;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    * Aggregates finished operation traces into latency histograms per operation and phase, logs slow operations with
+    * their phase breakdown and emits them as flight recorder events.
+    * The slow operation log is capped per second, operations over the cap are counted and reported with the next
+    * logged one.
+ */
+@Component
+@Slf4j
+public class LatencyTracer {
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final CacheConfig.Tracing tracing;
+    private final Map<String, OperationLatency> operations;
+    private final AtomicLong slowLogSecond;
+    private final AtomicInteger slowLogged;
+    private final LongAdder slowSuppressed;
+
+    public LatencyTracer(CacheConfig cacheConfig) {
+        this.tracing = cacheConfig.getTracing();
+        this.operations = new ConcurrentHashMap<>();
+        this.slowLogSecond = new AtomicLong();
+        this.slowLogged = new AtomicInteger();
+        this.slowSuppressed = new LongAdder();
+    }
+
+    public void record(String operation, int status, OperationTrace trace, long totalNanos, CacheOperationEvent event) {
+        this.operations.computeIfAbsent(operation, name -> new OperationLatency()).record(trace, totalNanos);
+
+        event.end();
+        if(event.shouldCommit()) {
+            event.operation = operation;
+            event.status = status;
+            event.phases(trace);
+            event.commit();
+        }
+
+        if(totalNanos >= TimeUnit.MILLISECONDS.toNanos(this.tracing.getSlowThresholdMillis())) {
+            this.logSlow(operation, status, trace, totalNanos);
+        }
+    }
+
+    /*
+        * Latency figures of the operations whose path starts with prefix, the slowest at the 99th percentile first
+     */
+    public List<OperationLatencyStats> stats(String pathPrefix) {
+        List<OperationLatencyStats> stats = new ArrayList<>();
+        this.operations.forEach((operation, latency) -> {
+            if(!operation.substring(operation.indexOf(' ') + 1).startsWith(pathPrefix)) return;
+            Map<TracePhase, LatencyPercentiles> phases = new EnumMap<>(TracePhase.class);
+            for(TracePhase phase : TracePhase.values()) {
+                phases.put(phase, percentiles(latency.phases[phase.ordinal()]));
+            }
+            stats.add(OperationLatencyStats.builder()
+                    .operation(operation)
+                    .count(latency.total.count())
+                    .total(percentiles(latency.total))
+                    .phases(phases)
+                    .build());
+        });
+        stats.sort(Comparator.comparingDouble((OperationLatencyStats stat) -> stat.getTotal().getP99Micros()).reversed());
+        return stats;
+    }
+
+    public void reset(String pathPrefix) {
+        this.operations.keySet().removeIf(operation -> operation.substring(operation.indexOf(' ') + 1).startsWith(pathPrefix));
+    }
+
+    private void logSlow(String operation, int status, OperationTrace trace, long totalNanos) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long window = this.slowLogSecond.get();
+        if(window != second && this.slowLogSecond.compareAndSet(window, second)) {
+            this.slowLogged.set(0);
+        }
+        if(this.slowLogged.incrementAndGet() > this.tracing.getSlowLogLimit()) {
+            this.slowSuppressed.increment();
+            return;
+        }
+
+        StringBuilder phases = new StringBuilder();
+        for(TracePhase phase : TracePhase.values()) {
+            if(!phases.isEmpty()) phases.append(", ");
+            phases.append(phase.name().toLowerCase()).append(' ').append(millis(trace.phase(phase))).append(" ms");
+        }
+        long suppressed = this.slowSuppressed.sumThenReset();
+        log.warn("Slow operation {} with status {} took {} ms: {}{}", operation, status, millis(totalNanos), phases,
+                suppressed > 0 ? " (" + suppressed + " slow operations not logged)" : "");
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    private static LatencyPercentiles percentiles(LatencyHistogram histogram) {
+        return LatencyPercentiles.builder()
+                .meanMicros(histogram.mean() / NANOS_PER_MICRO)
+                .p50Micros(histogram.percentile(50) / NANOS_PER_MICRO)
+                .p90Micros(histogram.percentile(90) / NANOS_PER_MICRO)
+                .p99Micros(histogram.percentile(99) / NANOS_PER_MICRO)
+                .p999Micros(histogram.percentile(99.9) / NANOS_PER_MICRO)
+                .maxMicros(histogram.max() / NANOS_PER_MICRO)
+                .build();
+    }
+
+    private static final class OperationLatency {
+        private final LatencyHistogram total;
+        private final LatencyHistogram[] phases;
+
+        private OperationLatency() {
+            this.total = new LatencyHistogram();
+            this.phases = new LatencyHistogram[TracePhase.values().length];
+            for(int i = 0; i < this.phases.length; i++) {
+                this.phases[i] = new LatencyHistogram();
+            }
+        }
+
+        private void record(OperationTrace trace, long totalNanos) {
+            this.total.record(totalNanos);
+            for(TracePhase phase : TracePhase.values()) {
+                this.phases[phase.ordinal()].record(trace.phase(phase));
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.kcacheservice.tracing;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/*
+    * Traces each cache request from the first interceptor to the completed response and hands the trace to the
+    * latency tracer under the method and path pattern of the request. A request continuing asynchronously parks its
+    * trace on the request, the cold tier thread and the async dispatch writing the response resume it.
+ */
+@Component
+public class LatencyTracingInterceptor implements AsyncHandlerInterceptor {
+    private static final String EVENT_ATTRIBUTE = "org.example.kcacheservice.tracing.LatencyTracingInterceptor.event";
+    private static final String TRACE_ATTRIBUTE = "org.example.kcacheservice.tracing.LatencyTracingInterceptor.trace";
+
+    private final LatencyTracer latencyTracer;
+
+    public LatencyTracingInterceptor(LatencyTracer latencyTracer) {
+        this.latencyTracer = latencyTracer;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if(DispatcherType.ASYNC == request.getDispatcherType()) {
+            OperationTrace.resume((OperationTrace) request.getAttribute(TRACE_ATTRIBUTE));
+            request.removeAttribute(TRACE_ATTRIBUTE);
+            return true;
+        }
+        CacheOperationEvent event = new CacheOperationEvent();
+        event.begin();
+        request.setAttribute(EVENT_ATTRIBUTE, event);
+        OperationTrace.begin();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(TRACE_ATTRIBUTE, OperationTrace.end());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        OperationTrace trace = OperationTrace.end();
+        if(null == trace) return;
+        long total = trace.finish(System.nanoTime());
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String operation = request.getMethod() + " " + (null != pattern ? pattern : request.getRequestURI());
+        this.latencyTracer.record(operation, response.getStatus(), trace, total,
+                (CacheOperationEvent) request.getAttribute(EVENT_ATTRIBUTE));
+    }
+}
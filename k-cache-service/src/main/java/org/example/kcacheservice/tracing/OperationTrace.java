@@ -0,0 +1,108 @@
+package org.example.kcacheservice.tracing;
+
+/*
+    * Phase durations of the operation running on the current thread, collected by the instrumented locks and the
+    * database gate. Code running outside a traced operation pays a thread local lookup and nothing else.
+    * Segment locks held at the same time, as by remove all, count as one stretch of in memory work.
+ */
+public final class OperationTrace {
+    private static final ThreadLocal<OperationTrace> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt;
+    private final long[] phases;
+    private int segmentLocksHeld;
+    private long segmentLockedAt;
+    private long bodyWriteStartedAt;
+
+    private OperationTrace(long startedAt) {
+        this.startedAt = startedAt;
+        this.phases = new long[TracePhase.values().length];
+    }
+
+    public static OperationTrace begin() {
+        OperationTrace trace = new OperationTrace(System.nanoTime());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /*
+        * Detaches the trace of the current thread, null when none is running
+     */
+    public static OperationTrace end() {
+        OperationTrace trace = CURRENT.get();
+        CURRENT.remove();
+        return trace;
+    }
+
+    /*
+        * Attaches a trace detached on another thread, a request continuing on a cold tier thread or in an async
+        * dispatch. The trace is used by one thread at a time, the hand over orders its updates.
+     */
+    public static void resume(OperationTrace trace) {
+        if(null != trace) CURRENT.set(trace);
+    }
+
+    public static OperationTrace current() {
+        return CURRENT.get();
+    }
+
+    /*
+        * Start of a phase, 0 when no operation is traced so the clock is not read
+     */
+    public static long start() {
+        return null == CURRENT.get() ? 0 : System.nanoTime();
+    }
+
+    /*
+        * Adds the time since start to the phase and returns the current time, for a phase following right after
+     */
+    public static long record(TracePhase phase, long start) {
+        if(start == 0) return 0;
+        OperationTrace trace = CURRENT.get();
+        if(null == trace) return 0;
+        long now = System.nanoTime();
+        trace.phases[phase.ordinal()] += now - start;
+        return now;
+    }
+
+    public static void segmentLocked(long waitStart) {
+        OperationTrace trace = CURRENT.get();
+        if(null == trace) return;
+        long now = System.nanoTime();
+        if(waitStart != 0) trace.phases[TracePhase.SEGMENT_LOCK_WAIT.ordinal()] += now - waitStart;
+        if(trace.segmentLocksHeld++ == 0) trace.segmentLockedAt = now;
+    }
+
+    public static void segmentUnlocked() {
+        OperationTrace trace = CURRENT.get();
+        if(null == trace || trace.segmentLocksHeld == 0) return;
+        if(--trace.segmentLocksHeld == 0) {
+            trace.phases[TracePhase.MEMORY.ordinal()] += System.nanoTime() - trace.segmentLockedAt;
+        }
+    }
+
+    public static void bodyWriteStarted() {
+        OperationTrace trace = CURRENT.get();
+        if(null != trace && trace.bodyWriteStartedAt == 0) trace.bodyWriteStartedAt = System.nanoTime();
+    }
+
+    /*
+        * Closes the trace at the given time, the response body write and the unaccounted rest become phases
+     */
+    public long finish(long endedAt) {
+        if(this.bodyWriteStartedAt != 0) {
+            this.phases[TracePhase.SERIALIZATION.ordinal()] += endedAt - this.bodyWriteStartedAt;
+        }
+        long total = endedAt - this.startedAt;
+        long accounted = 0;
+        for(TracePhase phase : TracePhase.values()) {
+            if(phase != TracePhase.OTHER) accounted += this.phases[phase.ordinal()];
+        }
+        this.phases[TracePhase.OTHER.ordinal()] = Math.max(0, total - accounted);
+        return total;
+    }
+
+    public long phase(TracePhase phase) {
+        return this.phases[phase.ordinal()];
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.kcacheservice.tracing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+    * Time threads spent blocked on segment write locks, summed over all segments, read by admission control to notice
+    * writes piling up. Only acquisitions that could not take the lock at once read the clock.
+ */
+public final class SegmentLockWaits {
+    private static final LongAdder WAITS = new LongAdder();
+    private static final LongAdder WAIT_NANOS = new LongAdder();
+
+    private SegmentLockWaits() {
+    }
+
+    static void record(long waitNanos) {
+        WAITS.increment();
+        WAIT_NANOS.add(waitNanos);
+    }
+
+    /*
+        * Acquisitions that had to wait since startup
+     */
+    public static long waits() {
+        return WAITS.sum();
+    }
+
+    public static long waitNanos() {
+        return WAIT_NANOS.sum();
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.kcacheservice.tracing;
+
+public enum TracePhase {
+    /*
+        * Waiting for the striped lock of a key
+     */
+    KEY_LOCK_WAIT,
+    /*
+        * Waiting for a cold tier thread of the asynchronous api
+     */
+    COLD_TIER_WAIT,
+    /*
+        * Waiting for the lock of a namespace segment
+     */
+    SEGMENT_LOCK_WAIT,
+    /*
+        * Holding the lock of a namespace segment, the in memory work
+     */
+    MEMORY,
+    /*
+        * Waiting for a free database call slot
+     */
+    DATABASE_WAIT,
+    /*
+        * Repository calls
+     */
+    DATABASE,
+    /*
+        * Writing the response body
+     */
+    SERIALIZATION,
+    /*
+        * Everything else, request parsing, controller logic and routing
+     */
+    OTHER
+}
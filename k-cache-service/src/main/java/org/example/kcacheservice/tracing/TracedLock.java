@@ -0,0 +1,16 @@
+package org.example.kcacheservice.tracing;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+    * Key lock which reports to the operation trace how long it was waited for.
+ */
+public class TracedLock extends ReentrantLock {
+
+    @Override
+    public void lock() {
+        long start = OperationTrace.start();
+        super.lock();
+        OperationTrace.record(TracePhase.KEY_LOCK_WAIT, start);
+    }
+}
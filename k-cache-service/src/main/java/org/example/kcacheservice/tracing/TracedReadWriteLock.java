@@ -0,0 +1,85 @@
+package org.example.kcacheservice.tracing;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+    * Segment lock which reports to the operation trace how long it was waited for and held.
+    * Waits for the write lock are also added to the segment lock waits. The write lock is tried first, which takes it
+    * exactly when a non fair lock() would take it without queuing.
+ */
+public class TracedReadWriteLock extends ReentrantReadWriteLock {
+    private final TracedReadLock readLock;
+    private final TracedWriteLock writeLock;
+
+    public TracedReadWriteLock() {
+        this.readLock = new TracedReadLock(this);
+        this.writeLock = new TracedWriteLock(this);
+    }
+
+    @Override
+    public ReadLock readLock() {
+        return this.readLock;
+    }
+
+    @Override
+    public WriteLock writeLock() {
+        return this.writeLock;
+    }
+
+    public static class TracedReadLock extends ReadLock {
+        protected TracedReadLock(ReentrantReadWriteLock lock) {
+            super(lock);
+        }
+
+        @Override
+        public void lock() {
+            long start = OperationTrace.start();
+            super.lock();
+            OperationTrace.segmentLocked(start);
+        }
+
+        @Override
+        public boolean tryLock() {
+            boolean locked = super.tryLock();
+            if(locked) OperationTrace.segmentLocked(0);
+            return locked;
+        }
+
+        @Override
+        public void unlock() {
+            super.unlock();
+            OperationTrace.segmentUnlocked();
+        }
+    }
+
+    public static class TracedWriteLock extends WriteLock {
+        protected TracedWriteLock(ReentrantReadWriteLock lock) {
+            super(lock);
+        }
+
+        @Override
+        public void lock() {
+            if(super.tryLock()) {
+                OperationTrace.segmentLocked(0);
+                return;
+            }
+            long start = System.nanoTime();
+            super.lock();
+            SegmentLockWaits.record(System.nanoTime() - start);
+            OperationTrace.segmentLocked(start);
+        }
+
+        @Override
+        public boolean tryLock() {
+            boolean locked = super.tryLock();
+            if(locked) OperationTrace.segmentLocked(0);
+            return locked;
+        }
+
+        @Override
+        public void unlock() {
+            super.unlock();
+            OperationTrace.segmentUnlocked();
+        }
+    }
+}
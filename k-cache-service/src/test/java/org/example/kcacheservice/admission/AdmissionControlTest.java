@@ -0,0 +1,127 @@
+package org.example.kcacheservice.admission;
+
+import org.example.kcacheservice.cluster.ClusterForwarder;
+import org.example.kcacheservice.cluster.ClusterMembership;
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.exception.CacheOverloadedException;
+import org.example.kcacheservice.service.CachePersistenceService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Admission Control Test")
+public class AdmissionControlTest {
+
+    @Test
+    @DisplayName("Should limit each client to its burst and tell it when to retry")
+    void testAdmit_ClientOverBurst_RateLimited() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.getAdmission().setClientWritesPerSecond(1);
+        cacheConfig.getAdmission().setClientBurst(2);
+        AdmissionControl admissionControl = new AdmissionControl(cacheConfig, coldTier(0), persistence(0, 0));
+
+        admissionControl.admit("client1", false);
+        admissionControl.admit("client1", false);
+
+        assertThatThrownBy(() -> admissionControl.admit("client1", false))
+                .isInstanceOf(CacheOverloadedException.class)
+                .satisfies(e -> assertThat(((CacheOverloadedException) e).getRetryAfterSeconds()).isEqualTo(1));
+        admissionControl.admit("client2", false);
+        admissionControl.admit(null, false);
+        assertThat(admissionControl.stats(false).getAdmitted()).isEqualTo(4);
+        assertThat(admissionControl.stats(false).getRateLimited()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should charge a write with a spoofed forwarded header to its client and trust only cluster members")
+    void testPreHandle_SpoofedForwardedHeader_Charged() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.getAdmission().setClientWritesPerSecond(1);
+        cacheConfig.getAdmission().setClientBurst(1);
+        cacheConfig.getCluster().setSelf("http://localhost:1");
+        cacheConfig.getCluster().setNodes(List.of("http://localhost:1", "http://localhost:2"));
+        AdmissionInterceptor interceptor = interceptor(cacheConfig);
+
+        interceptor.preHandle(write("10.0.0.9", "http://localhost:2", null), null, null);
+        assertThatThrownBy(() -> interceptor.preHandle(write("10.0.0.9", "http://localhost:2", null), null, null))
+                .isInstanceOf(CacheOverloadedException.class);
+        assertThatThrownBy(() -> interceptor.preHandle(write("10.0.0.9", "http://localhost:1", null), null, null))
+                .isInstanceOf(CacheOverloadedException.class);
+        for(int i = 0; i < 3; i++) {
+            interceptor.preHandle(write("127.0.0.1", "http://localhost:2", null), null, null);
+        }
+
+        cacheConfig.getCluster().setSecret("s3cret");
+        AdmissionInterceptor withSecret = interceptor(cacheConfig);
+        withSecret.preHandle(write("127.0.0.1", "http://localhost:2", "guess"), null, null);
+        assertThatThrownBy(() -> withSecret.preHandle(write("127.0.0.1", "http://localhost:2", "guess"), null, null))
+                .isInstanceOf(CacheOverloadedException.class);
+        for(int i = 0; i < 3; i++) {
+            withSecret.preHandle(write("10.0.0.9", "http://localhost:2", "s3cret"), null, null);
+        }
+    }
+
+    @Test
+    @DisplayName("Should shed v2 writes while the flush to DB lags and keep admitting v1 writes")
+    void testAdmit_FlushLag_ShedsV2Only() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.getAdmission().setMaxFlushLagMillis(1_000);
+        AdmissionControl admissionControl = new AdmissionControl(cacheConfig, coldTier(0), persistence(10, 5_000));
+        admissionControl.sample();
+
+        assertThatThrownBy(() -> admissionControl.admit(null, true)).isInstanceOf(CacheOverloadedException.class);
+        admissionControl.admit(null, false);
+        assertThat(admissionControl.stats(true).getSaturation()).contains("flush to DB");
+        assertThat(admissionControl.stats(false).getSaturation()).isNull();
+        assertThat(admissionControl.stats(true).getShed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should shed every write while the cold tier queue is full and admit again once it drains")
+    void testAdmit_ColdTierQueueFull_ShedsUntilDrained() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.getAdmission().setMaxQueueDepth(100);
+        ThreadPoolTaskExecutor coldTier = coldTier(100);
+        AdmissionControl admissionControl = new AdmissionControl(cacheConfig, coldTier, persistence(0, 0));
+        admissionControl.sample();
+
+        assertThatThrownBy(() -> admissionControl.admit("client1", false)).isInstanceOf(CacheOverloadedException.class);
+        when(coldTier.getQueueSize()).thenReturn(10);
+        admissionControl.sample();
+        admissionControl.admit("client1", false);
+    }
+
+    private static ThreadPoolTaskExecutor coldTier(int queueSize) {
+        ThreadPoolTaskExecutor coldTier = mock(ThreadPoolTaskExecutor.class);
+        when(coldTier.getQueueSize()).thenReturn(queueSize);
+        return coldTier;
+    }
+
+    private static CachePersistenceService persistence(int pendingWrites, long flushLagMillis) {
+        CachePersistenceService persistenceService = mock(CachePersistenceService.class);
+        when(persistenceService.pendingWrites()).thenReturn(pendingWrites);
+        when(persistenceService.flushLagMillis()).thenReturn(flushLagMillis);
+        return persistenceService;
+    }
+
+    private static AdmissionInterceptor interceptor(CacheConfig cacheConfig) {
+        ClusterMembership membership = new ClusterMembership(cacheConfig, mock(ApplicationEventPublisher.class));
+        return new AdmissionInterceptor(new AdmissionControl(cacheConfig, coldTier(0), persistence(0, 0)), membership, cacheConfig);
+    }
+
+    private static MockHttpServletRequest write(String remoteAddr, String forwardedBy, String secret) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/v2/user/cache/key1");
+        request.setRemoteAddr(remoteAddr);
+        request.addHeader(ClusterForwarder.FORWARDED_HEADER, forwardedBy);
+        if(null != secret) request.addHeader(ClusterForwarder.SECRET_HEADER, secret);
+        return request;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.kcacheservice.cluster;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.kcacheservice.config.CacheConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Cluster Forwarder Test")
+public class ClusterForwarderTest {
+
+    private static final String SELF = "http://localhost:1";
+    private static final String ETAG = "\"1700000000000000\"";
+    private static final String LAST_MODIFIED = "Tue, 14 Nov 2023 22:13:20 GMT";
+    private static final String PATH = "/v2/user/cache/key1";
+
+    private HttpServer owner;
+    private String ownerUrl;
+    private ClusterForwarder forwarder;
+
+    /*
+        * Owner node answering reads of key1 the way the user cache endpoints do, with 304 while a validator matches
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        this.owner = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.owner.createContext(PATH, exchange -> {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            String ifModifiedSince = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+            exchange.getResponseHeaders().set("ETag", ETAG);
+            exchange.getResponseHeaders().set("Last-Modified", LAST_MODIFIED);
+            if(ETAG.equals(ifNoneMatch) || LAST_MODIFIED.equals(ifModifiedSince)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = "value".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        this.owner.start();
+        this.ownerUrl = "http://localhost:" + this.owner.getAddress().getPort();
+
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.getCluster().setSelf(SELF);
+        cacheConfig.getCluster().setNodes(List.of(SELF, this.ownerUrl));
+        this.forwarder = new ClusterForwarder(new ClusterMembership(cacheConfig, mock(ApplicationEventPublisher.class)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.owner.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should copy the validators of the owner node to the client")
+    void testForward_CopiesValidators() throws Exception {
+        MockHttpServletResponse response = this.forward(new MockHttpServletRequest("GET", PATH));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isEqualTo(ETAG);
+        assertThat(response.getHeader("Last-Modified")).isEqualTo(LAST_MODIFIED);
+        assertThat(response.getContentAsString()).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("Should answer 304 for a key of another node while If-None-Match or If-Modified-Since still matches")
+    void testForward_ConditionalGet_NotModified() throws Exception {
+        MockHttpServletRequest ifNoneMatch = new MockHttpServletRequest("GET", PATH);
+        ifNoneMatch.addHeader("If-None-Match", ETAG);
+        MockHttpServletRequest ifModifiedSince = new MockHttpServletRequest("GET", PATH);
+        ifModifiedSince.addHeader("If-Modified-Since", LAST_MODIFIED);
+
+        for(MockHttpServletRequest request : List.of(ifNoneMatch, ifModifiedSince)) {
+            MockHttpServletResponse response = this.forward(request);
+            assertThat(response.getStatus()).isEqualTo(304);
+            assertThat(response.getHeader("ETag")).isEqualTo(ETAG);
+            assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+    }
+
+    private MockHttpServletResponse forward(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        this.forwarder.forward(this.ownerUrl, PATH, request, response);
+        return response;
+    }
+}
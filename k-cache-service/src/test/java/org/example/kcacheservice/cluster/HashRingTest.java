@@ -0,0 +1,62 @@
+package org.example.kcacheservice.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Hash Ring Test")
+public class HashRingTest {
+
+    private static final List<String> NODES = List.of("http://localhost:5500", "http://localhost:5501", "http://localhost:5502");
+    private static final int KEYS = 30_000;
+
+    @Test
+    @DisplayName("Should spread keys evenly over nodes")
+    void testOwner_SpreadsKeys() {
+        HashRing ring = new HashRing(NODES, 128);
+
+        Map<String, Integer> owned = new HashMap<>();
+        for(int i = 0; i < KEYS; i++) {
+            owned.merge(ring.owner("default", "key" + i), 1, Integer::sum);
+        }
+
+        assertThat(owned).containsOnlyKeys(NODES);
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 3 * 8 / 10, KEYS / 3 * 12 / 10));
+    }
+
+    @Test
+    @DisplayName("Should only move keys to a joining node")
+    void testOwner_MovesOnlyToJoiningNode() {
+        HashRing before = new HashRing(NODES.subList(0, 2), 128);
+        HashRing after = new HashRing(NODES, 128);
+
+        int moved = 0;
+        for(int i = 0; i < KEYS; i++) {
+            String previousOwner = before.owner("default", "key" + i);
+            String owner = after.owner("default", "key" + i);
+            if(!previousOwner.equals(owner)) {
+                assertThat(owner).isEqualTo(NODES.get(2));
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / 3 * 8 / 10, KEYS / 3 * 12 / 10);
+    }
+
+    @Test
+    @DisplayName("Should place keys independently of node order and reject an empty ring")
+    void testOwner_OrderIndependentAndEmpty() {
+        HashRing ring = new HashRing(NODES, 16);
+        HashRing reversed = new HashRing(NODES.reversed(), 16);
+
+        assertThat(ring.owner("users", "key1")).isEqualTo(reversed.owner("users", "key1"));
+        assertThatThrownBy(() -> new HashRing(List.of(), 16).owner("users", "key1"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -78,4 +78,19 @@ public class AdminControllerV1Test {
 
         verify(cacheService, times(1)).removeAll();
     }
+
+    @Test
+    @DisplayName("DELETE /v1/admin/cache/{namespace}/remove/all - Should call removeAll(namespace) and return 200 OK")
+    void testRemoveAllNamespace_Success() throws Exception {
+        ApiResponseEnvelop<String> successResponse = ApiResponseEnvelop.success("OK");
+        when(cacheService.removeAll("tenant-a")).thenReturn(successResponse);
+
+        mockMvc.perform(delete("/v1/admin/cache/{namespace}/remove/all", "tenant-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data").value("OK"));
+
+        verify(cacheService, times(1)).removeAll("tenant-a");
+        verify(cacheService, never()).removeAll();
+    }
 }
@@ -1,6 +1,7 @@
 package org.example.kcacheservice.controller;
 
 import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.HotKeyStats;
 import org.example.kcacheservice.service.CacheService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,8 +11,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -78,4 +82,37 @@ public class AdminControllerV2Test {
 
         verify(cacheService, times(1)).removeAll();
     }
+
+    @Test
+    @DisplayName("DELETE /v2/admin/cache/{namespace}/remove/all - Should call removeAll(namespace) and return 200 OK")
+    void testRemoveAllNamespace_Success() throws Exception {
+        ApiResponseEnvelop<String> successResponse = ApiResponseEnvelop.success("OK");
+        when(cacheService.removeAll("tenant-a")).thenReturn(successResponse);
+
+        mockMvc.perform(delete("/v2/admin/cache/{namespace}/remove/all", "tenant-a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data").value("OK"));
+
+        verify(cacheService, times(1)).removeAll("tenant-a");
+        verify(cacheService, never()).removeAll();
+    }
+
+    @Test
+    @DisplayName("GET /v2/admin/cache/hot-keys - Should return hot keys and 200 OK")
+    void testHotKeys_Success() throws Exception {
+        when(cacheService.hotKeys()).thenReturn(List.of(HotKeyStats.builder()
+                .namespace("default")
+                .key("key1")
+                .estimatedReads(4_096)
+                .replicated(true)
+                .build()));
+
+        mockMvc.perform(get("/v2/admin/cache/hot-keys"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data[0].key").value("key1"))
+                .andExpect(jsonPath("$.data[0].estimatedReads").value(4_096))
+                .andExpect(jsonPath("$.data[0].replicated").value(true));
+    }
 }
@@ -0,0 +1,514 @@
+package org.example.kcacheservice.controller;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.engine.WritePrecondition;
+import org.example.kcacheservice.exception.CacheConflictException;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+import org.example.kcacheservice.service.CacheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static org.example.kcacheservice.config.CacheConfig.DEFAULT_NAMESPACE;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.AdditionalMatchers.aryEq;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("User Cache V1 Controller Test")
+public class UserCacheControllerV1Test {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean(name = "CacheServiceV1")
+    private CacheService cacheService;
+
+    @Test
+    @DisplayName("GET /v1/user/cache/{id} - Should fetch cache successfully")
+    void testGetCacheById_Success() throws Exception {
+        String cacheId = "test-key-123";
+        String cacheValue = "test-value";
+        CacheDTO cacheDTO = CacheDTO.builder()
+                .id(cacheId)
+                .value(bytes(cacheValue))
+                .build();
+        ApiResponseEnvelop<CacheDTO> successResponse = ApiResponseEnvelop.success(cacheDTO);
+        when(cacheService.fetch(DEFAULT_NAMESPACE, cacheId)).thenReturn(successResponse);
+
+        perform(get("/v1/user/cache/{id}", cacheId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.id").value(cacheId))
+                .andExpect(jsonPath("$.data.value").value(cacheValue));
+
+        verify(cacheService, times(1)).fetch(DEFAULT_NAMESPACE, cacheId);
+    }
+
+    @Test
+    @DisplayName("GET /v1/user/cache/{id} - Should answer 304 while If-None-Match holds the current version")
+    void testGetCacheById_NotModified() throws Exception {
+        CacheDTO cacheDTO = CacheDTO.builder().id("key1").value(bytes("value")).version(1_700_000_000_000_000L).build();
+        when(cacheService.fetch(DEFAULT_NAMESPACE, "key1")).thenReturn(ApiResponseEnvelop.success(cacheDTO));
+
+        perform(get("/v1/user/cache/{id}", "key1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1700000000000000\""))
+                .andExpect(header().dateValue("Last-Modified", 1_700_000_000_000L));
+        perform(get("/v1/user/cache/raw/{id}", "key1").header("If-None-Match", "\"1700000000000000\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        perform(get("/v1/user/cache/{id}", "key1").header("If-None-Match", "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.value").value("value"));
+    }
+
+    @Test
+    @DisplayName("GET /v1/user/cache/{id} - Should handle cache not found")
+    void testGetCacheById_NotFound() throws Exception {
+        String cacheId = "non-existent-key";
+        CacheNotFoundException exception = new CacheNotFoundException("Cache not found");
+        when(cacheService.fetch(DEFAULT_NAMESPACE, cacheId)).thenThrow(exception);
+
+        perform(get("/v1/user/cache/{id}", cacheId))
+                .andExpect(status().isPartialContent())
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.errors").isArray())
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0]").value("Cache not found"));
+
+        verify(cacheService, times(1)).fetch(DEFAULT_NAMESPACE, cacheId);
+    }
+
+    @Test
+    @DisplayName("GET /v1/user/cache/{id} - Should handle cache exception")
+    void testGetCacheById_CacheException() throws Exception {
+        String cacheId = "error-key";
+        CacheException exception = new CacheException("Failed to fetch");
+        when(cacheService.fetch(DEFAULT_NAMESPACE, cacheId)).thenThrow(exception);
+
+        perform(get("/v1/user/cache/{id}", cacheId))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.errors").isArray())
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0]").value("Failed to fetch"));
+
+        verify(cacheService, times(1)).fetch(DEFAULT_NAMESPACE, cacheId);
+    }
+
+    @Test
+    @DisplayName("GET /v1/user/cache/{id} - Should handle UUID format ID")
+    void testGetCacheById_UUIDFormat() throws Exception {
+
+        String cacheId = "550e8400-e29b-41d4-a716-446655440000";
+        String cacheValue = "uuid-value";
+        CacheDTO cacheDTO = CacheDTO.builder()
+                .id(cacheId)
+                .value(bytes(cacheValue))
+                .build();
+        ApiResponseEnvelop<CacheDTO> successResponse = ApiResponseEnvelop.success(cacheDTO);
+        when(cacheService.fetch(DEFAULT_NAMESPACE, cacheId)).thenReturn(successResponse);
+
+        perform(get("/v1/user/cache/{id}", cacheId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.id").value(cacheId));
+
+        verify(cacheService, times(1)).fetch(DEFAULT_NAMESPACE, cacheId);
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/{id} - Should add cache with provided ID")
+    void testAdd_WithProvidedId_Success() throws Exception {
+        // Arrange
+        String cacheId = "custom-key-123";
+        String cacheValue = "test-value-content";
+        CacheDTO cacheDTO = CacheDTO.builder()
+                .id(cacheId)
+                .value(bytes(cacheValue))
+                .build();
+        ApiResponseEnvelop<CacheDTO> successResponse = ApiResponseEnvelop.success(cacheDTO);
+        when(cacheService.add(eq(DEFAULT_NAMESPACE), eq(cacheId), aryEq(bytes(cacheValue)))).thenReturn(successResponse);
+
+        perform(post("/v1/user/cache/{id}", cacheId)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(cacheValue))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.id").value(cacheId))
+                .andExpect(jsonPath("$.data.value").value(cacheValue));
+
+        verify(cacheService, times(1)).add(eq(DEFAULT_NAMESPACE), eq(cacheId), aryEq(bytes(cacheValue)));
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache - Should add cache with auto-generated UUID")
+    void testAdd_WithoutId_Success() throws Exception {
+        String cacheValue = "test-value-content";
+        CacheDTO cacheDTO = CacheDTO.builder()
+                .id("generated-uuid")
+                .value(bytes(cacheValue))
+                .build();
+        ApiResponseEnvelop<CacheDTO> successResponse = ApiResponseEnvelop.success(cacheDTO);
+
+        when(cacheService.add(eq(DEFAULT_NAMESPACE), any(String.class), aryEq(bytes(cacheValue)))).thenReturn(successResponse);
+
+
+        perform(post("/v1/user/cache")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(cacheValue))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.value").value(cacheValue));
+
+        verify(cacheService, times(1)).add(eq(DEFAULT_NAMESPACE), any(String.class), aryEq(bytes(cacheValue)));
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/{id} - Should reject JSON content type")
+    void testAdd_WrongContentType_JSON() throws Exception {
+        mockMvc.perform(post("/v1/user/cache/test-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"value\":\"test\"}"))
+                .andExpect(status().isInternalServerError());
+
+        verify(cacheService, never()).add(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/{id} - Should handle cache exception during add")
+    void testAdd_CacheException() throws Exception {
+        String cacheId = "error-key";
+        String cacheValue = "test-value";
+        CacheException exception = new CacheException("Failed to add");
+        when(cacheService.add(eq(DEFAULT_NAMESPACE), eq(cacheId), aryEq(bytes(cacheValue)))).thenThrow(exception);
+
+        perform(post("/v1/user/cache/{id}", cacheId)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(cacheValue))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.errors").isArray())
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors").value("Failed to add"));
+
+        verify(cacheService, times(1)).add(eq(DEFAULT_NAMESPACE), eq(cacheId), aryEq(bytes(cacheValue)));
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/{id} - Should compare and set with If-Match and answer a failed precondition with 412")
+    void testAdd_IfMatch_PreconditionFailed() throws Exception {
+        givenCurrent(CacheDTO.builder().id("key1").value(bytes("old")).version(7).build());
+
+        perform(post("/v1/user/cache/{id}", "key1")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .header("If-Match", "\"5\"")
+                        .content("value"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errors[0]").value("Record with key key1 is not at a matching version, it is at 7"));
+
+        verify(cacheService, never()).add(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/{id} - Should match If-Match star and tag lists strongly and If-None-Match weakly")
+    void testAdd_IfMatch_StarListAndWeakTags() throws Exception {
+        givenCurrent(CacheDTO.builder().id("key1").value(bytes("old")).version(7).build());
+
+        for(String ifMatch : new String[] { "*", "\"3\", \"7\"", "7" }) {
+            perform(post("/v1/user/cache/{id}", "key1")
+                            .contentType(MediaType.TEXT_PLAIN)
+                            .header("If-Match", ifMatch)
+                            .content("value"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.data.value").value("value"));
+        }
+        for(String ifMatch : new String[] { "W/\"7\"", "\"abc\"", "W/\"7\", \"8\"" }) {
+            perform(post("/v1/user/cache/{id}", "key1")
+                            .contentType(MediaType.TEXT_PLAIN)
+                            .header("If-Match", ifMatch)
+                            .content("value"))
+                    .andExpect(status().isPreconditionFailed());
+        }
+        perform(post("/v1/user/cache/{id}", "key1")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .header("If-None-Match", "W/\"7\"")
+                        .content("value"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errors[0]").value("Record with key key1 is at version 7"));
+        perform(post("/v1/user/cache/{id}", "key1")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .header("If-None-Match", "*")
+                        .content("value"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errors[0]").value("Record with key key1 already exists"));
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/{id} - Should fail If-Match star on an absent key and reject malformed tags with 400")
+    void testAdd_IfMatch_AbsentAndMalformed() throws Exception {
+        givenCurrent(null);
+
+        perform(post("/v1/user/cache/{id}", "key1")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .header("If-Match", "*")
+                        .content("value"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errors[0]").value("Record with key key1 does not exist"));
+
+        mockMvc.perform(post("/v1/user/cache/{id}", "key1")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .header("If-Match", "5x")
+                        .content("value"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Entity tags must be quoted record versions or *, got 5x"));
+
+        verify(cacheService, times(1)).compute(eq(DEFAULT_NAMESPACE), eq("key1"), any());
+        verify(cacheService, never()).add(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/increment/{id} - Should answer a value that is not a number with 409")
+    void testIncrement_Conflict() throws Exception {
+        when(cacheService.incrementBy(DEFAULT_NAMESPACE, "name", 1))
+                .thenThrow(new CacheConflictException("Value of key name is not a number"));
+
+        perform(post("/v1/user/cache/increment/{id}", "name"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors[0]").value("Value of key name is not a number"));
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/increment/{id} - Should increment by the given amount")
+    void testIncrement_Success() throws Exception {
+        CacheDTO cacheDTO = CacheDTO.builder().id("counter").value(bytes("7")).version(2).build();
+        when(cacheService.incrementBy(DEFAULT_NAMESPACE, "counter", 3)).thenReturn(ApiResponseEnvelop.success(cacheDTO));
+
+        perform(post("/v1/user/cache/increment/{id}", "counter").param("by", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.value").value("7"))
+                .andExpect(jsonPath("$.data.version").value(2));
+    }
+
+    @Test
+    @DisplayName("DELETE /v1/user/cache/key/{id} - Should remove cache successfully")
+    void testRemove_Success() throws Exception {
+        String cacheId = "key-to-remove";
+        ApiResponseEnvelop<String> successResponse = ApiResponseEnvelop.success("OK");
+        when(cacheService.remove(DEFAULT_NAMESPACE, cacheId)).thenReturn(successResponse);
+
+        perform(delete("/v1/user/cache/key/{id}", cacheId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data").value("OK"));
+
+        verify(cacheService, times(1)).remove(DEFAULT_NAMESPACE, cacheId);
+    }
+
+    @Test
+    @DisplayName("DELETE /v1/user/cache/key/{id} - Should handle cache not found during remove")
+    void testRemove_NotFound() throws Exception {
+        String cacheId = "non-existent-key";
+        CacheNotFoundException exception = new CacheNotFoundException("Cache not found for removal");
+        when(cacheService.remove(DEFAULT_NAMESPACE, cacheId)).thenThrow(exception);
+
+        perform(delete("/v1/user/cache/key/{id}", cacheId))
+                .andExpect(status().isPartialContent())
+                .andExpect(jsonPath("$.status").value("ERROR"))
+                .andExpect(jsonPath("$.errors").isArray())
+                .andExpect(jsonPath("$.errors", hasSize(1)))
+                .andExpect(jsonPath("$.errors[0]").value("Cache not found for removal"));
+
+        verify(cacheService, times(1)).remove(DEFAULT_NAMESPACE, cacheId);
+    }
+
+    @Test
+    @DisplayName("GET /v1/user/cache/raw/{id} - Should return raw value bytes")
+    void testGetRawCacheById_Success() throws Exception {
+        String cacheId = "raw-key";
+        byte[] cacheValue = {0x00, 0x01, (byte) 0xff, 0x7f};
+        CacheDTO cacheDTO = CacheDTO.builder()
+                .id(cacheId)
+                .value(cacheValue)
+                .build();
+        when(cacheService.fetch(DEFAULT_NAMESPACE, cacheId)).thenReturn(ApiResponseEnvelop.success(cacheDTO));
+
+        perform(get("/v1/user/cache/raw/{id}", cacheId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andExpect(content().bytes(cacheValue));
+
+        verify(cacheService, times(1)).fetch(DEFAULT_NAMESPACE, cacheId);
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/{id} - Should accept octet-stream content type")
+    void testAdd_OctetStream_Success() throws Exception {
+        String cacheId = "binary-key";
+        byte[] cacheValue = {0x00, 0x01, (byte) 0xff, 0x7f};
+        CacheDTO cacheDTO = CacheDTO.builder()
+                .id(cacheId)
+                .value(cacheValue)
+                .build();
+        when(cacheService.add(eq(DEFAULT_NAMESPACE), eq(cacheId), aryEq(cacheValue))).thenReturn(ApiResponseEnvelop.success(cacheDTO));
+
+        perform(post("/v1/user/cache/{id}", cacheId)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(cacheValue))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.id").value(cacheId));
+
+        verify(cacheService, times(1)).add(eq(DEFAULT_NAMESPACE), eq(cacheId), aryEq(cacheValue));
+    }
+
+    @Test
+    @DisplayName("GET /v1/user/cache/{namespace}/{id} - Should fetch cache from namespace")
+    void testGetCacheById_Namespace() throws Exception {
+        String namespace = "tenant-a";
+        String cacheId = "test-key-123";
+        CacheDTO cacheDTO = CacheDTO.builder()
+                .namespace(namespace)
+                .id(cacheId)
+                .value(bytes("test-value"))
+                .build();
+        when(cacheService.fetch(namespace, cacheId)).thenReturn(ApiResponseEnvelop.success(cacheDTO));
+
+        perform(get("/v1/user/cache/{namespace}/{id}", namespace, cacheId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUCCESS"))
+                .andExpect(jsonPath("$.data.namespace").value(namespace))
+                .andExpect(jsonPath("$.data.id").value(cacheId));
+
+        verify(cacheService, times(1)).fetch(namespace, cacheId);
+    }
+
+    @Test
+    @DisplayName("POST /v1/user/cache/{namespace}/{id} - Should add cache to namespace")
+    void testAdd_Namespace() throws Exception {
+        String namespace = "tenant-a";
+        String cacheId = "custom-key-123";
+        String cacheValue = "test-value-content";
+        CacheDTO cacheDTO = CacheDTO.builder()
+                .namespace(namespace)
+                .id(cacheId)
+                .value(bytes(cacheValue))
+                .build();
+        when(cacheService.add(eq(namespace), eq(cacheId), aryEq(bytes(cacheValue))))
+                .thenReturn(ApiResponseEnvelop.success(cacheDTO));
+
+        perform(post("/v1/user/cache/{namespace}/{id}", namespace, cacheId)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content(cacheValue))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.namespace").value(namespace))
+                .andExpect(jsonPath("$.data.value").value(cacheValue));
+
+        verify(cacheService, times(1)).add(eq(namespace), eq(cacheId), aryEq(bytes(cacheValue)));
+    }
+
+    @Test
+    @DisplayName("Should verify service interactions are isolated per endpoint")
+    void testServiceInteractions_Isolated() throws Exception {
+        String getKey = "get-key";
+        String addKey = "add-key";
+        String removeKey = "remove-key";
+
+        CacheDTO getDTO = CacheDTO.builder()
+                .id(getKey)
+                .value(bytes("value1"))
+                .build();
+        CacheDTO addDTO = CacheDTO.builder()
+                .id(addKey)
+                .value(bytes("value2"))
+                .build();
+
+        when(cacheService.fetch(DEFAULT_NAMESPACE, getKey)).thenReturn(ApiResponseEnvelop.success(getDTO));
+        when(cacheService.add(eq(DEFAULT_NAMESPACE), eq(addKey), any())).thenReturn(ApiResponseEnvelop.success(addDTO));
+        when(cacheService.remove(DEFAULT_NAMESPACE, removeKey)).thenReturn(ApiResponseEnvelop.success("Removed"));
+
+        perform(get("/v1/user/cache/{id}", getKey));
+        perform(post("/v1/user/cache/{id}", addKey)
+                .contentType(MediaType.TEXT_PLAIN)
+                .content("value2"));
+        perform(delete("/v1/user/cache/key/{id}", removeKey));
+
+        verify(cacheService, times(1)).tryFetch(DEFAULT_NAMESPACE, getKey);
+        verify(cacheService, times(1)).fetch(DEFAULT_NAMESPACE, getKey);
+        verify(cacheService, times(1)).add(eq(DEFAULT_NAMESPACE), eq(addKey), any());
+        verify(cacheService, times(1)).remove(DEFAULT_NAMESPACE, removeKey);
+        verifyNoMoreInteractions(cacheService);
+    }
+
+    @Test
+    @DisplayName("GET /v1/user/cache?prefix= - Should return a page of records with the next cursor")
+    void testScan_Page() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<CacheDTO> consumer = invocation.getArgument(4);
+            consumer.accept(CacheDTO.builder().namespace(DEFAULT_NAMESPACE).id("user:42:a").value(bytes("a")).build());
+            consumer.accept(CacheDTO.builder().namespace(DEFAULT_NAMESPACE).id("user:42:b").value(bytes("b")).build());
+            return "user:42:b";
+        }).when(cacheService).scan(eq(DEFAULT_NAMESPACE), eq("user:42:"), isNull(), eq(2), any());
+
+        perform(get("/v1/user/cache").param("prefix", "user:42:").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.records", hasSize(2)))
+                .andExpect(jsonPath("$.data.records[1].id").value("user:42:b"))
+                .andExpect(jsonPath("$.data.nextCursor").value("user:42:b"));
+
+        mockMvc.perform(get("/v1/user/cache").param("prefix", "user:42:").param("limit", "2")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().string("{\"namespace\":\"default\",\"id\":\"user:42:a\",\"value\":\"a\",\"version\":0}\n"
+                        + "{\"namespace\":\"default\",\"id\":\"user:42:b\",\"value\":\"b\",\"version\":0}\n"));
+    }
+
+    /*
+        * Handlers answer with futures, the response is written by the async dispatch once the future completes
+     */
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    /*
+        * Conditional writes run the real precondition check against current, the record the key holds
+     */
+    @SuppressWarnings("unchecked")
+    private void givenCurrent(CacheDTO current) {
+        when(cacheService.putIf(any(), any(), any(WritePrecondition.class), any())).thenCallRealMethod();
+        when(cacheService.compute(any(), any(), any())).thenAnswer(invocation -> {
+            byte[] value = ((Function<CacheDTO, byte[]>) invocation.getArgument(2)).apply(current);
+            return ApiResponseEnvelop.success(CacheDTO.builder().id(invocation.getArgument(1)).value(value).version(8).build());
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.kcacheservice.controller;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.service.CacheService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.example.kcacheservice.config.CacheConfig.DEFAULT_NAMESPACE;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("User Cache V2 Controller Test")
+public class UserCacheControllerV2Test {
+
+    private static final long VERSION = 1_700_000_000_000_000L;
+    private static final String ETAG = "\"1700000000000000\"";
+    private static final String LAST_MODIFIED = "Tue, 14 Nov 2023 22:13:20 GMT";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean(name = "CacheServiceV2")
+    private CacheService cacheService;
+
+    @Test
+    @DisplayName("GET /v2/user/cache/{id} - Should answer with the record version as ETag and its write time as Last-Modified")
+    void testGetCacheById_Validators() throws Exception {
+        CacheDTO cacheDTO = CacheDTO.builder().id("key1").value(bytes("value")).version(VERSION).build();
+        when(cacheService.fetch(DEFAULT_NAMESPACE, "key1")).thenReturn(ApiResponseEnvelop.success(cacheDTO));
+
+        perform(get("/v2/user/cache/{id}", "key1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().dateValue("Last-Modified", 1_700_000_000_000L))
+                .andExpect(jsonPath("$.data.value").value("value"));
+        perform(get("/v2/user/cache/raw/{id}", "key1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().dateValue("Last-Modified", 1_700_000_000_000L))
+                .andExpect(content().bytes(bytes("value")));
+    }
+
+    @Test
+    @DisplayName("GET /v2/user/cache/{id} - Should answer 304 while If-None-Match or If-Modified-Since still matches")
+    void testGetCacheById_NotModified() throws Exception {
+        CacheDTO cacheDTO = CacheDTO.builder().id("key1").value(bytes("value")).version(VERSION).build();
+        when(cacheService.fetch(DEFAULT_NAMESPACE, "key1")).thenReturn(ApiResponseEnvelop.success(cacheDTO));
+
+        perform(get("/v2/user/cache/{id}", "key1").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        perform(get("/v2/user/cache/raw/{id}", "key1").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        perform(get("/v2/user/cache/raw/{id}", "key1").header("If-Modified-Since", LAST_MODIFIED))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        perform(get("/v2/user/cache/raw/{id}", "key1").header("If-None-Match", "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes("value")));
+    }
+
+    @Test
+    @DisplayName("GET /v2/user/cache/{id} - Should send no validators for records without a version")
+    void testGetCacheById_NoVersion_NoValidators() throws Exception {
+        CacheDTO cacheDTO = CacheDTO.builder().id("key1").value(bytes("value")).build();
+        when(cacheService.fetch(DEFAULT_NAMESPACE, "key1")).thenReturn(ApiResponseEnvelop.success(cacheDTO));
+
+        perform(get("/v2/user/cache/{id}", "key1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().doesNotExist("Last-Modified"));
+    }
+
+    private ResultActions perform(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Arc Cache Store Test")
+public class ArcCacheStoreTest {
+
+    @Test
+    @DisplayName("Should keep records read again when a scan of new keys passes through")
+    void testEvict_ResistsScan() {
+        ArcCacheStore store = new ArcCacheStore(4);
+        put(store, "hot1");
+        put(store, "hot2");
+        store.get("hot1");
+        store.get("hot2");
+
+        for(int i = 0; i < 100; i++) {
+            put(store, "scan" + i);
+        }
+
+        assertThat(store.containsKey("hot1")).isTrue();
+        assertThat(store.containsKey("hot2")).isTrue();
+        assertThat(store.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should give records read once more room after misses on keys it evicted from them")
+    void testPut_AdaptsToRecentlyEvictedKeys() {
+        ArcCacheStore store = new ArcCacheStore(4);
+        for(String key : new String[] {"a", "b", "c", "d"}) {
+            put(store, key);
+            store.get(key);
+        }
+        put(store, "e");
+        put(store, "f");
+        put(store, "g");
+        assertThat(store.containsKey("e")).isFalse();
+
+        put(store, "e");
+        put(store, "f");
+        put(store, "h");
+        put(store, "i");
+
+        assertThat(store.containsKey("h")).isTrue();
+        assertThat(store.containsKey("i")).isTrue();
+        assertThat(store.evictionCandidates(2)).containsExactly("e", "f");
+    }
+
+    @Test
+    @DisplayName("Should list entries in the order evict removes them")
+    void testEvictionCandidates_MatchEvict() {
+        ArcCacheStore store = new ArcCacheStore(4);
+        put(store, "a");
+        put(store, "b");
+        put(store, "c");
+        store.get("b");
+
+        assertThat(store.evictionCandidates(3)).containsExactly("a", "c", "b");
+        assertThat(store.evict().getId()).isEqualTo("a");
+        assertThat(store.evict().getId()).isEqualTo("c");
+        assertThat(store.evict().getId()).isEqualTo("b");
+        assertThat(store.evict()).isNull();
+        assertThat(store.scan("", null)).isExhausted();
+    }
+
+    private static void put(ArcCacheStore store, String key) {
+        if(!store.containsKey(key) && store.size() >= 4) store.evict();
+        store.put(key, CacheDTO.builder().id(key).value(key.getBytes()).build());
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.kcacheservice.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Hot Key Detector Test")
+public class HotKeyDetectorTest {
+
+    @Test
+    @DisplayName("Should find the most read keys among many cold keys")
+    void testTop_FindsSkewedKeys() {
+        HotKeyDetector detector = new HotKeyDetector(16, 1);
+
+        for(int i = 0; i < 10_000; i++) {
+            detector.sample("cold" + i);
+            if(i % 4 == 0) detector.sample("hot1");
+            if(i % 8 == 0) detector.sample("hot2");
+        }
+
+        List<HotKeyDetector.HotKey> top = detector.top(2, 100);
+        assertThat(top).extracting(HotKeyDetector.HotKey::key).containsExactly("hot1", "hot2");
+        assertThat(top.get(0).count() - top.get(0).error()).isLessThanOrEqualTo(2_500);
+        assertThat(top.get(0).count()).isGreaterThanOrEqualTo(2_500);
+    }
+
+    @Test
+    @DisplayName("Should let keys which stopped being read cool down")
+    void testAge_CoolsDownKeys() {
+        HotKeyDetector detector = new HotKeyDetector(16, 1);
+        for(int i = 0; i < 16; i++) {
+            detector.sample("hot");
+        }
+
+        detector.age();
+        assertThat(detector.top(1, 16)).isEmpty();
+        assertThat(detector.top(1, 8)).extracting(HotKeyDetector.HotKey::key).containsExactly("hot");
+
+        for(int i = 0; i < 4; i++) {
+            detector.age();
+        }
+        assertThat(detector.top(1, 1)).isEmpty();
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.kcacheservice.engine;
+
+import org.example.kcacheservice.dto.CacheDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tiered Cache Store Test")
+public class TieredCacheStoreTest {
+
+    @Test
+    @DisplayName("Should demote records evicted from the hot store and promote them back when read")
+    void testGet_PromotesWarmRecord() {
+        TieredCacheStore store = tiered(2, 4, 1 << 20);
+        for(String key : new String[] {"a", "b", "c"}) {
+            put(store, key, 10);
+        }
+
+        assertThat(store.warm().containsKey("a")).isTrue();
+        assertThat(store.size()).isEqualTo(3);
+
+        CacheDTO record = store.get("a");
+
+        assertThat(record.getValue()).isEqualTo(value("a", 10));
+        assertThat(record.getVersion()).isEqualTo(1);
+        assertThat(store.warm().containsKey("a")).isFalse();
+        assertThat(store.warm().containsKey("b")).isTrue();
+        assertThat(store.warmHits()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should evict the warm tier before the hot one and report full only when both are")
+    void testEvict_DrainsWarmTierFirst() {
+        TieredCacheStore store = tiered(2, 2, 1 << 20);
+        for(String key : new String[] {"a", "b", "c"}) {
+            put(store, key, 10);
+        }
+        assertThat(store.isFull()).isFalse();
+        put(store, "d", 10);
+        assertThat(store.isFull()).isTrue();
+
+        assertThat(store.evictionCandidates(4)).containsExactly("a", "b", "c", "d");
+        assertThat(store.evict().getId()).isEqualTo("a");
+        assertThat(store.evict().getId()).isEqualTo("b");
+        assertThat(store.evict().getId()).isEqualTo("c");
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should spill records the warm tier drops for memory and evict them first")
+    void testPut_SpillsWhenWarmMemoryIsFull() {
+        TieredCacheStore store = tiered(1, 8, 512);
+        put(store, "a", 200);
+        put(store, "b", 200);
+        put(store, "c", 300);
+
+        assertThat(store.warm().containsKey("b")).isTrue();
+        put(store, "d", 10);
+
+        assertThat(store.warm().size()).isEqualTo(1);
+        assertThat(store.warm().containsKey("c")).isTrue();
+        assertThat(store.containsKey("a")).isTrue();
+        assertThat(store.isFull()).isTrue();
+        assertThat(store.evict().getId()).isEqualTo("a");
+        assertThat(store.evict().getId()).isEqualTo("b");
+        assertThat(store.isFull()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should scan the keys of every tier in order")
+    void testScan_MergesTiers() {
+        TieredCacheStore store = tiered(2, 4, 1 << 20);
+        for(String key : new String[] {"k3", "k1", "x", "k4", "k2"}) {
+            put(store, key, 10);
+        }
+
+        List<String> keys = new ArrayList<>();
+        store.scan("k", "k1").forEachRemaining(record -> keys.add(record.getId()));
+
+        assertThat(keys).containsExactly("k2", "k3", "k4");
+    }
+
+    private static TieredCacheStore tiered(int hotMaxSize, int warmMaxSize, long warmMaxMemoryBytes) {
+        return new TieredCacheStore(new LinkedHashCacheStore(hotMaxSize, true), hotMaxSize,
+                new OffHeapStore(warmMaxSize, warmMaxMemoryBytes));
+    }
+
+    private static void put(TieredCacheStore store, String key, int length) {
+        store.put(key, CacheDTO.builder().namespace("ns").id(key).version(1).value(value(key, length)).build());
+    }
+
+    private static byte[] value(String key, int length) {
+        byte[] value = new byte[length];
+        for(int i = 0; i < length; i++) {
+            value[i] = (byte) (key.charAt(0) + i);
+        }
+        return value;
+    }
+}
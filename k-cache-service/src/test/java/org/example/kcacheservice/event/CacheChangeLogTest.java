@@ -0,0 +1,92 @@
+package org.example.kcacheservice.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.kcacheservice.config.CacheConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Cache Change Log Test")
+public class CacheChangeLogTest {
+
+    private static final String SOURCE = "CacheServiceV1";
+
+    private CacheChangeLog changeLog;
+
+    @BeforeEach
+    void setUp() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setChangeLogCapacity(3);
+        changeLog = new CacheChangeLog(cacheConfig, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeLog.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should assign increasing sequences per source")
+    void testRead_AssignsSequences() {
+        changeLog.onMutation(event(SOURCE, CacheMutationEvent.Type.ADD, "key1"));
+        changeLog.onMutation(event("CacheServiceV2", CacheMutationEvent.Type.ADD, "key1"));
+        changeLog.onMutation(event(SOURCE, CacheMutationEvent.Type.EVICT, "key1"));
+
+        CacheChangeLog.ChangeBatch batch = changeLog.read(SOURCE, 1, 10);
+
+        assertThat(batch.gap()).isFalse();
+        assertThat(batch.changes()).extracting(CacheChange::getSequence).containsExactly(1L, 2L);
+        assertThat(batch.changes()).extracting(CacheChange::getType)
+                .containsExactly(CacheMutationEvent.Type.ADD, CacheMutationEvent.Type.EVICT);
+        assertThat(batch.nextSequence()).isEqualTo(3L);
+        assertThat(changeLog.nextSequence("CacheServiceV2")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should resume from a sequence and report nothing new at the head")
+    void testRead_ResumesFromSequence() {
+        changeLog.onMutation(event(SOURCE, CacheMutationEvent.Type.ADD, "key1"));
+        changeLog.onMutation(event(SOURCE, CacheMutationEvent.Type.REMOVE, "key1"));
+
+        assertThat(changeLog.read(SOURCE, 2, 10).changes()).extracting(CacheChange::getKey).containsExactly("key1");
+        CacheChangeLog.ChangeBatch head = changeLog.read(SOURCE, 3, 10);
+        assertThat(head.gap()).isFalse();
+        assertThat(head.changes()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should report a gap once the ring wrapped past the requested sequence")
+    void testRead_ReportsGapAfterOverrun() {
+        for(int i = 1; i <= 5; i++) {
+            changeLog.onMutation(event(SOURCE, CacheMutationEvent.Type.ADD, "key" + i));
+        }
+
+        CacheChangeLog.ChangeBatch batch = changeLog.read(SOURCE, 1, 10);
+
+        assertThat(batch.gap()).isTrue();
+        assertThat(batch.changes()).extracting(CacheChange::getSequence).containsExactly(3L, 4L, 5L);
+    }
+
+    @Test
+    @DisplayName("Should report a gap for a sequence ahead of the log")
+    void testRead_ReportsGapForFutureSequence() {
+        changeLog.onMutation(event(SOURCE, CacheMutationEvent.Type.ADD, "key1"));
+
+        CacheChangeLog.ChangeBatch batch = changeLog.read(SOURCE, 42, 10);
+
+        assertThat(batch.gap()).isTrue();
+        assertThat(batch.changes()).extracting(CacheChange::getSequence).containsExactly(1L);
+    }
+
+    private CacheMutationEvent event(String source, CacheMutationEvent.Type type, String key) {
+        return CacheMutationEvent.builder()
+                .source(source)
+                .type(type)
+                .namespace(CacheConfig.DEFAULT_NAMESPACE)
+                .key(key)
+                .build();
+    }
+}
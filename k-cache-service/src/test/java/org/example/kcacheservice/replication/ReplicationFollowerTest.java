@@ -0,0 +1,85 @@
+package org.example.kcacheservice.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.kcacheservice.event.CacheChange;
+import org.example.kcacheservice.event.CacheMutationEvent;
+import org.example.kcacheservice.exception.CacheConflictException;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+import org.example.kcacheservice.service.CacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+
+import static org.mockito.Mockito.*;
+
+@DisplayName("Replication Follower Test")
+public class ReplicationFollowerTest {
+
+    private CacheService cacheService;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = mock(CacheService.class);
+        follower = new ReplicationFollower(HttpClient.newHttpClient(), "http://localhost:5500/kCacheService/api/v2/user",
+                cacheService, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("Should apply replicated mutations to the local service")
+    void testApply_Mutations() {
+        byte[] value = "value1".getBytes(StandardCharsets.UTF_8);
+
+        follower.apply(change(CacheMutationEvent.Type.ADD, "users", "key1", value));
+        follower.apply(change(CacheMutationEvent.Type.REMOVE, "users", "key1", null));
+        follower.apply(change(CacheMutationEvent.Type.REMOVE_ALL, "users", null, null));
+        follower.apply(change(CacheMutationEvent.Type.CLEAR, null, null, null));
+
+        verify(cacheService).add("users", "key1", value);
+        verify(cacheService).remove("users", "key1");
+        verify(cacheService).removeAll("users");
+        verify(cacheService).clear();
+        verifyNoMoreInteractions(cacheService);
+    }
+
+    @Test
+    @DisplayName("Should ignore evictions and skip mutations the local service rejects")
+    void testApply_IgnoresEvictionAndRejected() {
+        when(cacheService.remove("unknown", "key1")).thenThrow(new CacheNotFoundException("Namespace unknown is not configured"));
+
+        follower.apply(change(CacheMutationEvent.Type.EVICT, "users", "key1", null));
+        follower.apply(change(CacheMutationEvent.Type.REMOVE, "unknown", "key1", null));
+        follower.apply(change(CacheMutationEvent.Type.REMOVE_ALL, null, null, null));
+
+        verify(cacheService).remove("unknown", "key1");
+        verify(cacheService).removeAll();
+        verifyNoMoreInteractions(cacheService);
+    }
+
+    @Test
+    @DisplayName("Should add an evicted record only when it is missing locally")
+    void testApply_EvictionRestoresMissingRecord() {
+        byte[] value = "value1".getBytes(StandardCharsets.UTF_8);
+        when(cacheService.putIfAbsent("users", "key2", value)).thenThrow(new CacheConflictException("Record with key key2 already exists"));
+
+        follower.apply(change(CacheMutationEvent.Type.EVICT, "users", "key1", value));
+        follower.apply(change(CacheMutationEvent.Type.EVICT, "users", "key2", value));
+
+        verify(cacheService).putIfAbsent("users", "key1", value);
+        verify(cacheService).putIfAbsent("users", "key2", value);
+        verifyNoMoreInteractions(cacheService);
+    }
+
+    private CacheChange change(CacheMutationEvent.Type type, String namespace, String key, byte[] value) {
+        return CacheChange.builder()
+                .sequence(1L)
+                .type(type)
+                .namespace(namespace)
+                .key(key)
+                .value(value)
+                .build();
+    }
+}
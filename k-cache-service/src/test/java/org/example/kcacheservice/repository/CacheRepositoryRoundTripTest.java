@@ -0,0 +1,142 @@
+package org.example.kcacheservice.repository;
+
+import jakarta.persistence.EntityManager;
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    * Database round trips per record written or deleted, with the batching settings of the production profile.
+    * Counts statement executions, a JDBC batch is one. The default path of JpaRepository, which reads each row by id
+    * before merging or removing it, is compared with the writes of CacheRepository. Run with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true",
+        "logging.level.org.example.kcacheservice=warn"})
+@DisplayName("Cache Repository Round Trip Test")
+public class CacheRepositoryRoundTripTest {
+
+    private static final int RECORDS = 1_000;
+    private static final String NAMESPACE = "round-trip";
+    private static final Set<String> EXECUTIONS = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch");
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    @Autowired
+    private CacheRepository cacheRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Statements per record of inserts, updates and deletes")
+    void benchmarkRoundTrips() {
+        TransactionTemplate transaction = new TransactionTemplate(this.transactionManager);
+
+        double mergeInsert = measure(() -> records("merge", false).forEach(entity ->
+                transaction.executeWithoutResult(status -> this.entityManager.merge(entity))));
+        double createdInsert = measure(() -> records("created", true).forEach(this.cacheRepository::save));
+        double batchInsert = measure(() -> this.cacheRepository.saveAll(records("batch", true)));
+        double mergeUpdate = measure(() -> records("batch", false).forEach(entity ->
+                transaction.executeWithoutResult(status -> this.entityManager.merge(entity))));
+        double batchUpdate = measure(() -> this.cacheRepository.saveAll(records("batch", false)));
+        double removeDelete = measure(() -> ids("merge").forEach(id ->
+                transaction.executeWithoutResult(status -> this.entityManager.remove(this.entityManager.find(CacheEntity.class, id)))));
+        double idDelete = measure(() -> ids("created").forEach(this.cacheRepository::deleteById));
+        double batchDelete = measure(() -> this.cacheRepository.deleteAllById(ids("batch")));
+
+        System.out.printf("Round trips per record: insert %.3f by merge, %.3f created, %.3f created in batches of 50; "
+                        + "update %.3f by merge, %.3f in batches; delete %.3f by find and remove, %.3f by id, %.3f in one batch%n",
+                mergeInsert, createdInsert, batchInsert, mergeUpdate, batchUpdate, removeDelete, idDelete, batchDelete);
+
+        assertThat(createdInsert).isLessThan(mergeInsert);
+        assertThat(batchUpdate).isLessThan(mergeUpdate);
+        assertThat(idDelete).isLessThan(removeDelete);
+        assertThat(this.cacheRepository.countLive(NAMESPACE, 0)).isZero();
+    }
+
+    private static double measure(Runnable writes) {
+        long start = ROUND_TRIPS.get();
+        writes.run();
+        return (double) (ROUND_TRIPS.get() - start) / RECORDS;
+    }
+
+    private static List<CacheEntity> records(String prefix, boolean created) {
+        return IntStream.range(0, RECORDS)
+                .mapToObj(i -> CacheEntity.builder()
+                        .namespace(NAMESPACE)
+                        .id(prefix + i)
+                        .value(("value" + i).getBytes(StandardCharsets.UTF_8))
+                        .generation(0)
+                        .version((long) i)
+                        .created(created)
+                        .build())
+                .toList();
+    }
+
+    private static List<CacheEntityId> ids(String prefix) {
+        return IntStream.range(0, RECORDS).mapToObj(i -> new CacheEntityId(NAMESPACE, prefix + i)).toList();
+    }
+
+    /*
+        * Wraps the data source so every statement execution is counted
+     */
+    @TestConfiguration
+    static class RoundTripCounter {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource ? proxy(DataSource.class, bean) : bean;
+                }
+            };
+        }
+
+        private static Object proxy(Class<?> type, Object target) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                if(target instanceof Statement && EXECUTIONS.contains(method.getName())) ROUND_TRIPS.incrementAndGet();
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch(InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if(result instanceof Connection || result instanceof Statement) {
+                    return proxy(method.getReturnType(), result);
+                }
+                return result;
+            });
+        }
+    }
+}
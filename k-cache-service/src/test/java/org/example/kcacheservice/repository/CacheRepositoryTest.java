@@ -0,0 +1,48 @@
+package org.example.kcacheservice.repository;
+
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@DisplayName("Cache Repository Test")
+public class CacheRepositoryTest {
+
+    @Autowired
+    private CacheRepository cacheRepository;
+
+    @Test
+    @DisplayName("Should merge all records again when a record marked created already has a row")
+    void testSaveAll_CreatedRecordWithRow() {
+        this.cacheRepository.save(record("key1", "value1", true));
+
+        this.cacheRepository.saveAll(List.of(record("key1", "updated", true), record("key2", "value2", true)));
+
+        List<CacheEntityId> ids = List.of(new CacheEntityId("repository", "key1"), new CacheEntityId("repository", "key2"));
+        assertThat(this.cacheRepository.findAllById(ids))
+                .extracting(entity -> new String(entity.getValue(), StandardCharsets.UTF_8))
+                .containsExactlyInAnyOrder("updated", "value2");
+
+        this.cacheRepository.deleteAllById(ids);
+        assertThat(this.cacheRepository.findAllById(ids)).isEmpty();
+    }
+
+    private static CacheEntity record(String key, String value, boolean created) {
+        return CacheEntity.builder()
+                .namespace("repository")
+                .id(key)
+                .value(value.getBytes(StandardCharsets.UTF_8))
+                .generation(0)
+                .version(1L)
+                .created(created)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.kcacheservice.repository;
+
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    * Against H2 in PostgreSQL compatibility mode, with the table as it would be created on PostgreSQL
+ */
+@DisplayName("Jdbc Cache Rows Test")
+public class JdbcCacheRowsTest {
+
+    private JdbcCacheRows cacheRows;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        new JdbcTemplate(dataSource).execute("create table tbl_k_cache (namespace varchar(255) not null, " +
+                "id varchar(255) not null, created_at timestamp(6) with time zone not null, " +
+                "updated_at timestamp(6) with time zone not null, cache_value bytea not null, generation bigint not null, " +
+                "version bigint, primary key (namespace, id))");
+        cacheRows = new JdbcCacheRows(dataSource, new DataSourceTransactionManager(dataSource), 2, 2);
+    }
+
+    @Test
+    @DisplayName("Should insert new records and update existing ones with one upsert each")
+    void testSaveAll_Upserts() {
+        cacheRows.saveAll(List.of(record("key1", "value1", 1), record("key2", "value2", 1), record("key3", "value3", 1)));
+        cacheRows.saveAll(List.of(record("key1", "updated", 2), record("key4", "value4", 1)));
+
+        List<CacheEntity> rows = new ArrayList<>();
+        cacheRows.forEach(rows::add);
+
+        assertThat(cacheRows.dialect()).isEqualTo(JdbcCacheRows.UpsertDialect.MERGE);
+        assertThat(rows).hasSize(4);
+        CacheEntity updated = rows.stream().filter(row -> "key1".equals(row.getId())).findFirst().orElseThrow();
+        assertThat(new String(updated.getValue(), StandardCharsets.UTF_8)).isEqualTo("updated");
+        assertThat(updated.getVersion()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should delete rows by namespace and key")
+    void testDeleteAll() {
+        cacheRows.saveAll(List.of(record("key1", "value1", 1), record("key2", "value2", 1)));
+
+        cacheRows.deleteAll(List.of(new CacheEntityId("tenant", "key1"), new CacheEntityId("other", "key2")));
+
+        List<CacheEntity> rows = new ArrayList<>();
+        cacheRows.forEach(rows::add);
+        assertThat(rows).extracting(CacheEntity::getId).containsExactly("key2");
+    }
+
+    @Test
+    @DisplayName("Should pick the upsert statement of the database")
+    void testUpsertDialect() {
+        assertThat(JdbcCacheRows.UpsertDialect.of("PostgreSQL")).isEqualTo(JdbcCacheRows.UpsertDialect.ON_CONFLICT);
+        assertThat(JdbcCacheRows.UpsertDialect.of("H2")).isEqualTo(JdbcCacheRows.UpsertDialect.MERGE);
+    }
+
+    private static CacheEntity record(String key, String value, long version) {
+        return CacheEntity.builder()
+                .namespace("tenant")
+                .id(key)
+                .value(value.getBytes(StandardCharsets.UTF_8))
+                .generation(0)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.kcacheservice.service;
+
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.service.impl.AsyncCacheServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Async Cache Service Test")
+public class AsyncCacheServiceTest {
+
+    private static final String NAMESPACE = "default";
+
+    @Test
+    @DisplayName("Should complete reads answered from memory without the cold tier")
+    void testFetch_MemoryHit_CompletesInline() {
+        CacheService cacheService = mock(CacheService.class);
+        List<Runnable> coldTier = new ArrayList<>();
+        AsyncCacheService asyncCacheService = new AsyncCacheServiceImpl(cacheService, coldTier::add);
+        when(cacheService.tryFetch(NAMESPACE, "key1")).thenReturn(Optional.of(ApiResponseEnvelop.success(record("key1"))));
+
+        CompletableFuture<ApiResponseEnvelop<CacheDTO>> response = asyncCacheService.fetch(NAMESPACE, "key1");
+
+        assertThat(response).isCompleted();
+        assertThat(response.join().getData().getId()).isEqualTo("key1");
+        assertThat(coldTier).isEmpty();
+        verify(cacheService, never()).fetch(NAMESPACE, "key1");
+    }
+
+    @Test
+    @DisplayName("Should complete misses once the cold tier ran the fetch")
+    void testFetch_Miss_CompletesOnColdTier() {
+        CacheService cacheService = mock(CacheService.class);
+        List<Runnable> coldTier = new ArrayList<>();
+        AsyncCacheService asyncCacheService = new AsyncCacheServiceImpl(cacheService, coldTier::add);
+        when(cacheService.fetch(NAMESPACE, "key1")).thenReturn(ApiResponseEnvelop.success(record("key1")));
+
+        CompletableFuture<ApiResponseEnvelop<CacheDTO>> response = asyncCacheService.fetch(NAMESPACE, "key1");
+
+        assertThat(response).isNotDone();
+        verify(cacheService, never()).fetch(NAMESPACE, "key1");
+        coldTier.forEach(Runnable::run);
+        assertThat(response.join().getData().getId()).isEqualTo("key1");
+    }
+
+    @Test
+    @DisplayName("Should fail the future when the cold tier rejects the call")
+    void testAdd_Rejected_FailsFuture() {
+        CacheService cacheService = mock(CacheService.class);
+        AsyncCacheService asyncCacheService = new AsyncCacheServiceImpl(cacheService, task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        CompletableFuture<ApiResponseEnvelop<CacheDTO>> response = asyncCacheService.add(NAMESPACE, "key1", bytes("value1"));
+
+        assertThat(response).isCompletedExceptionally();
+        assertThatThrownBy(response::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        verifyNoInteractions(cacheService);
+    }
+
+    private static CacheDTO record(String key) {
+        return CacheDTO.builder().namespace(NAMESPACE).id(key).value(bytes("value")).build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
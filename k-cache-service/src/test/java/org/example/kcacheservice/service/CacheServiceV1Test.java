@@ -0,0 +1,688 @@
+package org.example.kcacheservice.service;
+
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.engine.EvictionPolicy;
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.example.kcacheservice.event.CacheMutationEvent;
+import org.example.kcacheservice.exception.CacheConflictException;
+import org.example.kcacheservice.exception.CacheException;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+import org.example.kcacheservice.exception.CachePreconditionFailedException;
+import org.example.kcacheservice.repository.CacheRepository;
+import org.example.kcacheservice.repository.DatabaseGate;
+import org.example.kcacheservice.service.impl.CacheServiceV1Impl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("Admin Controller V1 Test")
+public class CacheServiceV1Test {
+
+    @Mock
+    private CacheRepository cacheRepository;
+
+    @Mock
+    private CacheConfig cacheConfig;
+
+    @Mock
+    private CacheGenerationService cacheGenerationService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final DatabaseGate databaseGate = new DatabaseGate(1);
+
+    private CacheServiceV1Impl cacheService;
+
+    @BeforeEach
+    void setUp() {
+        when(cacheConfig.getMaxSize()).thenReturn(3);
+        when(cacheConfig.getEvictionPolicy()).thenReturn(EvictionPolicy.LRU);
+        when(cacheConfig.getRefreshAhead()).thenReturn(new CacheConfig.RefreshAhead());
+        when(cacheConfig.getNegativeCache()).thenReturn(new CacheConfig.NegativeCache());
+        when(cacheConfig.getBloomFilter()).thenReturn(new CacheConfig.BloomFilter());
+        when(cacheConfig.getAccessTrace()).thenReturn(new CacheConfig.AccessTrace());
+        cacheService = new CacheServiceV1Impl(cacheConfig, cacheRepository, cacheGenerationService, eventPublisher, databaseGate);
+    }
+
+    @Test
+    @DisplayName("Should add new record to empty cache successfully")
+    void testAdd_NewRecord_EmptyCache() {
+        String key = "key1";
+        String value = "value1";
+
+        ApiResponseEnvelop<CacheDTO> response = cacheService.add(key, bytes(value));
+
+        assertThat(response).isNotNull();
+        assertThat(response.getData()).isNotNull();
+        assertThat(response.getData().getId()).isEqualTo(key);
+        assertThat(response.getData().getValue()).isEqualTo(bytes(value));
+        verify(cacheRepository, times(1)).deleteById(id(key));
+        verify(cacheRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should delete existing DB record before adding to cache")
+    void testAdd_DeletesExistingDBRecord() {
+        String key = "key1";
+        String value = "value1";
+        doNothing().when(cacheRepository).deleteById(id(key));
+
+        cacheService.add(key, bytes(value));
+
+        verify(cacheRepository, times(1)).deleteById(id(key));
+    }
+
+    @Test
+    @DisplayName("Should handle EmptyResultDataAccessException when DB record doesn't exist")
+    void testAdd_HandlesEmptyResultDataAccessException() {
+        String key = "key1";
+        String value = "value1";
+        doThrow(new EmptyResultDataAccessException(1)).when(cacheRepository).deleteById(id(key));
+
+        ApiResponseEnvelop<CacheDTO> response = cacheService.add(key, bytes(value));
+
+        assertThat(response).isNotNull();
+        assertThat(response.getData()).isNotNull();
+        assertThat(response.getData().getId()).isEqualTo(key);
+    }
+
+    @Test
+    @DisplayName("Should evict least read and persist when cache is full")
+    void testAdd_EvictsLRU_WhenCacheFull() {
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+        cacheService.add("key3", bytes("value3"));
+        reset(cacheRepository);
+
+        cacheService.add("key4", bytes("value4"));
+
+        verify(cacheRepository, times(1)).save(any(CacheEntity.class));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof CacheMutationEvent mutation
+                && mutation.getType() == CacheMutationEvent.Type.EVICT && "key1".equals(mutation.getKey())));
+
+        assertThatThrownBy(() -> cacheService.fetch("key1"))
+                .isInstanceOf(CacheNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should update existing cache record without eviction")
+    void testAdd_UpdatesExistingRecord() {
+        String key = "key1";
+        cacheService.add(key, bytes("oldValue"));
+
+        ApiResponseEnvelop<CacheDTO> response = cacheService.add(key, bytes("newValue"));
+
+        assertThat(response.getData().getValue()).isEqualTo(bytes("newValue"));
+        verify(cacheRepository, times(2)).deleteById(id(key));
+    }
+
+    @Test
+    @DisplayName("Should throw CacheException when repository throws unexpected exception")
+    void testAdd_ThrowsCacheException_OnRepositoryError() {
+        String key = "key1";
+        doThrow(new RuntimeException("Database error")).when(cacheRepository).deleteById(id(key));
+
+        assertThatThrownBy(() -> cacheService.add(key, bytes("value1")))
+                .isInstanceOf(CacheException.class)
+                .hasMessageContaining("Database error");
+    }
+
+    @Test
+    @DisplayName("Should fetch record from cache successfully")
+    void testFetch_FromCache_Success() {
+        String key = "key1";
+        String value = "value1";
+        cacheService.add(key, bytes(value));
+
+        ApiResponseEnvelop<CacheDTO> response = cacheService.fetch(key);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getData()).isNotNull();
+        assertThat(response.getData().getId()).isEqualTo(key);
+        assertThat(response.getData().getValue()).isEqualTo(bytes(value));
+    }
+
+    @Test
+    @DisplayName("Should fetch record from DB when not in cache")
+    void testFetch_FromDB_WhenNotInCache() {
+        String key = "key1";
+        String value = "value1";
+        CacheEntity entity = CacheEntity.builder()
+                .id(key)
+                .value(bytes(value))
+                .build();
+        when(cacheRepository.findById(id(key))).thenReturn(Optional.of(entity));
+
+        ApiResponseEnvelop<CacheDTO> response = cacheService.fetch(key);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getData()).isNotNull();
+        assertThat(response.getData().getId()).isEqualTo(key);
+        assertThat(response.getData().getValue()).isEqualTo(bytes(value));
+        verify(cacheRepository, times(1)).findById(id(key));
+        verify(cacheRepository, times(1)).deleteById(id(key));
+    }
+
+    @Test
+    @DisplayName("Should throw CacheNotFoundException when record not found")
+    void testFetch_ThrowsNotFoundException_WhenRecordNotFound() {
+        String key = "key1";
+        when(cacheRepository.findById(id(key))).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> cacheService.fetch(key))
+                .isInstanceOf(CacheNotFoundException.class)
+                .hasMessageContaining("not found in cache or DB");
+    }
+
+    @Test
+    @DisplayName("Should evict least read when fetching from DB and cache is full")
+    void testFetch_EvictsLRU_WhenCacheFull() {
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+        cacheService.add("key3", bytes("value3"));
+
+        CacheEntity entity = CacheEntity.builder()
+                .id("key4")
+                .value(bytes("value4"))
+                .build();
+        when(cacheRepository.findById(id("key4"))).thenReturn(Optional.of(entity));
+        reset(cacheRepository);
+        when(cacheRepository.findById(id("key4"))).thenReturn(Optional.of(entity));
+
+        cacheService.fetch("key4");
+
+        verify(cacheRepository, times(1)).save(any(CacheEntity.class)); // LRU evicted and saved
+    }
+
+    @Test
+    @DisplayName("Should remove record from cache successfully")
+    void testRemove_FromCache_Success() {
+        String key = "key1";
+        cacheService.add(key, bytes("value1"));
+
+        ApiResponseEnvelop<String> response = cacheService.remove(key);
+
+        assertThat(response).isNotNull();
+        assertThat(response.getData()).isNull();
+
+        assertThatThrownBy(() -> cacheService.fetch(key))
+                .isInstanceOf(CacheNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should remove record from DB when not in cache")
+    void testRemove_FromDB_WhenNotInCache() {
+        String key = "key1";
+        doNothing().when(cacheRepository).deleteById(id(key));
+
+        ApiResponseEnvelop<String> response = cacheService.remove(key);
+
+        assertThat(response).isNotNull();
+        verify(cacheRepository, times(1)).deleteById(id(key));
+    }
+
+    @Test
+    @DisplayName("Should handle repository exception during remove")
+    void testRemove_HandlesRepositoryException() {
+        String key = "key1";
+        doThrow(new RuntimeException("Database error")).when(cacheRepository).deleteById(id(key));
+
+        ApiResponseEnvelop<String> response = cacheService.remove(key);
+
+        assertThat(response).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should remove all records from cache and invalidate DB records")
+    void testRemoveAll_Success() {
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+
+        ApiResponseEnvelop<String> response = cacheService.removeAll();
+
+        assertThat(response).isNotNull();
+        verify(cacheGenerationService, times(1)).advanceAll();
+        verify(cacheRepository, never()).deleteAllInBatch();
+
+        assertThatThrownBy(() -> cacheService.fetch("key1"))
+                .isInstanceOf(CacheNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should persist the new generation after releasing the segment locks and fail when that write fails")
+    void testRemoveAll_PersistsGenerationOutsideLocks() {
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> cacheService.add("key2", bytes("value2"))).get(5, TimeUnit.SECONDS);
+            return null;
+        }).when(cacheGenerationService).persist(null);
+
+        cacheService.removeAll();
+
+        InOrder inOrder = inOrder(cacheGenerationService);
+        inOrder.verify(cacheGenerationService).advanceAll();
+        inOrder.verify(cacheGenerationService).persist(null);
+        assertThat(cacheService.fetch("key2").getData().getValue()).isEqualTo(bytes("value2"));
+
+        doThrow(new CacheException("Error persisting namespace generation")).when(cacheGenerationService).persist(CacheConfig.DEFAULT_NAMESPACE);
+        assertThatThrownBy(() -> cacheService.removeAll(CacheConfig.DEFAULT_NAMESPACE)).isInstanceOf(CacheException.class);
+    }
+
+    @Test
+    @DisplayName("Should handle exception during removeAll")
+    void testRemoveAll_HandlesException() {
+        doThrow(new RuntimeException("Database error")).when(cacheGenerationService).advanceAll();
+
+        ApiResponseEnvelop<String> response = cacheService.removeAll();
+
+        assertThat(response).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should clear cache without touching DB")
+    void testClear_Success() {
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+
+        reset(cacheRepository);
+
+        ApiResponseEnvelop<String> response = cacheService.clear();
+
+        assertThat(response).isNotNull();
+        verifyNoInteractions(cacheRepository);
+
+        assertThatThrownBy(() -> cacheService.fetch("key1"))
+                .isInstanceOf(CacheNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should handle exception during clear")
+    void testClear_HandlesException() {
+        ApiResponseEnvelop<String> response = cacheService.clear();
+
+        assertThat(response).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should handle multiple adds to same key")
+    void testAdd_MultipleTimesToSameKey() {
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key1", bytes("value2"));
+        cacheService.add("key1", bytes("value3"));
+
+        ApiResponseEnvelop<CacheDTO> response = cacheService.fetch("key1");
+        assertThat(response.getData().getValue()).isEqualTo(bytes("value3"));
+    }
+
+    @Test
+    @DisplayName("Should handle cache with max size of 1")
+    void testAdd_WithMaxSizeOne() {
+        when(cacheConfig.getMaxSize()).thenReturn(1);
+        cacheService = new CacheServiceV1Impl(cacheConfig, cacheRepository, cacheGenerationService, eventPublisher, databaseGate);
+
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+
+        verify(cacheRepository, times(1)).save(any(CacheEntity.class));
+    }
+
+    @Test
+    @DisplayName("Should evict only within the namespace that is full")
+    void testAdd_NamespaceIsolation() {
+        CacheConfig.NamespaceConfig tenantConfig = new CacheConfig.NamespaceConfig();
+        tenantConfig.setMaxSize(1);
+        when(cacheConfig.getNamespaces()).thenReturn(Map.of("tenant", tenantConfig));
+        cacheService = new CacheServiceV1Impl(cacheConfig, cacheRepository, cacheGenerationService, eventPublisher, databaseGate);
+
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("tenant", "key1", bytes("tenant1"));
+        cacheService.add("tenant", "key2", bytes("tenant2"));
+
+        verify(cacheRepository, times(1)).save(argThat(entity -> "tenant".equals(entity.getNamespace())
+                && "key1".equals(entity.getId())));
+        assertThat(cacheService.fetch("key1").getData().getValue()).isEqualTo(bytes("value1"));
+    }
+
+    @Test
+    @DisplayName("Should remove all records of a namespace without touching other namespaces")
+    void testRemoveAll_Namespace() {
+        when(cacheConfig.getNamespaces()).thenReturn(Map.of("tenant", new CacheConfig.NamespaceConfig()));
+        cacheService = new CacheServiceV1Impl(cacheConfig, cacheRepository, cacheGenerationService, eventPublisher, databaseGate);
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("tenant", "key1", bytes("tenant1"));
+
+        cacheService.removeAll("tenant");
+
+        verify(cacheGenerationService, times(1)).advance("tenant");
+        verify(cacheGenerationService, never()).advanceAll();
+        assertThat(cacheService.fetch("key1").getData().getValue()).isEqualTo(bytes("value1"));
+        assertThatThrownBy(() -> cacheService.fetch("tenant", "key1"))
+                .isInstanceOf(CacheNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should treat DB record of an invalidated generation as not found")
+    void testFetch_StaleGeneration_NotFound() {
+        String key = "key1";
+        CacheEntity entity = CacheEntity.builder()
+                .id(key)
+                .value(bytes("value1"))
+                .generation(1)
+                .build();
+        when(cacheRepository.findById(id(key))).thenReturn(Optional.of(entity));
+        when(cacheGenerationService.isStale(CacheConfig.DEFAULT_NAMESPACE, 1)).thenReturn(true);
+
+        assertThatThrownBy(() -> cacheService.fetch(key))
+                .isInstanceOf(CacheNotFoundException.class);
+        verify(cacheRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("Should stamp evicted records with the current generation")
+    void testAdd_EvictedRecordStampedWithGeneration() {
+        when(cacheGenerationService.currentGeneration(CacheConfig.DEFAULT_NAMESPACE)).thenReturn(7L);
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+        cacheService.add("key3", bytes("value3"));
+
+        cacheService.add("key4", bytes("value4"));
+
+        verify(cacheRepository, times(1)).save(argThat(entity -> entity.getGeneration() == 7L));
+    }
+
+    @Test
+    @DisplayName("Should publish mutation events for add and remove")
+    void testAddRemove_PublishesMutationEvents() {
+        cacheService.add("key1", bytes("value1"));
+        cacheService.remove("key1");
+
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof CacheMutationEvent mutation
+                && mutation.getType() == CacheMutationEvent.Type.ADD && "key1".equals(mutation.getKey())));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof CacheMutationEvent mutation
+                && mutation.getType() == CacheMutationEvent.Type.REMOVE && "key1".equals(mutation.getKey())));
+    }
+
+    @Test
+    @DisplayName("Should export persisted records before in memory records and skip stale generations")
+    void testExport_PersistedThenInMemory() {
+        CacheEntity persisted = CacheEntity.builder().namespace(CacheConfig.DEFAULT_NAMESPACE).id("key2").value(bytes("value2")).generation(2).build();
+        CacheEntity stale = CacheEntity.builder().namespace(CacheConfig.DEFAULT_NAMESPACE).id("key3").value(bytes("value3")).generation(1).build();
+        when(cacheRepository.scan(eq(CacheConfig.DEFAULT_NAMESPACE), eq("%"), eq(""), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(persisted, stale));
+        when(cacheGenerationService.isStale(CacheConfig.DEFAULT_NAMESPACE, 1)).thenReturn(true);
+        cacheService.add("key1", bytes("value1"));
+
+        List<CacheDTO> exported = new ArrayList<>();
+        cacheService.export(exported::add);
+
+        assertThat(exported).extracting(CacheDTO::getId).containsExactly("key2", "key1");
+    }
+
+    @Test
+    @DisplayName("Should hand a record evicted while the DB is exported to replicas through its EVICT change")
+    void testExport_EvictionDuringExport() {
+        CacheEntity persisted = CacheEntity.builder().namespace(CacheConfig.DEFAULT_NAMESPACE).id("key0").value(bytes("value0")).build();
+        when(cacheRepository.scan(eq(CacheConfig.DEFAULT_NAMESPACE), eq("%"), eq(""), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(persisted));
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+        cacheService.add("key3", bytes("value3"));
+        List<Object> events = new ArrayList<>();
+        doAnswer(invocation -> events.add(invocation.getArgument(0))).when(eventPublisher).publishEvent(any(Object.class));
+
+        Map<String, byte[]> replica = new HashMap<>();
+        cacheService.export(record -> {
+            replica.put(record.getId(), record.getValue());
+            if("key0".equals(record.getId())) cacheService.add("key4", bytes("value4"));
+        });
+        events.stream()
+                .filter(event -> event instanceof CacheMutationEvent mutation && mutation.getType() == CacheMutationEvent.Type.EVICT)
+                .map(CacheMutationEvent.class::cast)
+                .forEach(event -> replica.putIfAbsent(event.getKey(), event.getValue()));
+
+        verify(cacheRepository, times(1)).save(argThat(entity -> "key1".equals(entity.getId())));
+        assertThat(replica).containsOnlyKeys("key0", "key1", "key2", "key3", "key4");
+        assertThat(replica.get("key1")).isEqualTo(bytes("value1"));
+    }
+
+    @Test
+    @DisplayName("Should promote hot records ahead of eviction")
+    void testRefreshAhead_PromotesHotRecord() {
+        when(cacheConfig.getEvictionPolicy()).thenReturn(EvictionPolicy.FIFO);
+        cacheService = new CacheServiceV1Impl(cacheConfig, cacheRepository, cacheGenerationService, eventPublisher, databaseGate);
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+        cacheService.add("key3", bytes("value3"));
+        for(int i = 0; i < 4; i++) {
+            cacheService.fetch("key1");
+        }
+
+        cacheService.refreshAhead();
+        cacheService.add("key4", bytes("value4"));
+
+        verify(cacheRepository, times(1)).save(argThat(entity -> "key2".equals(entity.getId())));
+    }
+
+    @Test
+    @DisplayName("Should reload an evicted hot record in place of a colder one")
+    void testRefreshAhead_ReloadsEvictedHotRecord() {
+        when(cacheConfig.getEvictionPolicy()).thenReturn(EvictionPolicy.FIFO);
+        cacheService = new CacheServiceV1Impl(cacheConfig, cacheRepository, cacheGenerationService, eventPublisher, databaseGate);
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+        cacheService.add("key3", bytes("value3"));
+        for(int i = 0; i < 4; i++) {
+            cacheService.fetch("key1");
+        }
+        cacheService.add("key4", bytes("value4"));
+        CacheEntity persisted = CacheEntity.builder().namespace(CacheConfig.DEFAULT_NAMESPACE).id("key1").value(bytes("value1")).build();
+        when(cacheRepository.findById(id("key1"))).thenReturn(Optional.of(persisted));
+
+        cacheService.refreshAhead();
+        cacheService.fetch("key1");
+
+        verify(cacheRepository, times(1)).findById(id("key1"));
+        verify(cacheRepository, times(1)).save(argThat(entity -> "key2".equals(entity.getId())));
+    }
+
+    @Test
+    @DisplayName("Should scan in memory and persisted records in key order, preferring in memory values")
+    void testScan_MergesTiers() {
+        cacheService.add("user:1", bytes("memory1"));
+        cacheService.add("user:3", bytes("memory3"));
+        cacheService.add("other", bytes("other"));
+        CacheEntity persisted2 = CacheEntity.builder().namespace(CacheConfig.DEFAULT_NAMESPACE).id("user:2").value(bytes("db2")).build();
+        CacheEntity persisted3 = CacheEntity.builder().namespace(CacheConfig.DEFAULT_NAMESPACE).id("user:3").value(bytes("db3")).build();
+        CacheEntity persisted4 = CacheEntity.builder().namespace(CacheConfig.DEFAULT_NAMESPACE).id("user:4").value(bytes("db4")).build();
+        when(cacheRepository.scan(eq(CacheConfig.DEFAULT_NAMESPACE), eq("user:%"), eq(""), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(persisted2, persisted3, persisted4));
+
+        List<CacheDTO> page = new ArrayList<>();
+        String cursor = cacheService.scan(CacheConfig.DEFAULT_NAMESPACE, "user:", null, 3, page::add);
+
+        assertThat(page).extracting(CacheDTO::getId).containsExactly("user:1", "user:2", "user:3");
+        assertThat(page.get(2).getValue()).isEqualTo(bytes("memory3"));
+        assertThat(cursor).isEqualTo("user:3");
+    }
+
+    @Test
+    @DisplayName("Should answer repeated misses without the DB until the key is added")
+    void testFetch_RemembersMissingKey() {
+        assertThatThrownBy(() -> cacheService.fetch("key1")).isInstanceOf(CacheNotFoundException.class);
+        assertThatThrownBy(() -> cacheService.fetch("key1")).isInstanceOf(CacheNotFoundException.class);
+        verify(cacheRepository, times(1)).findById(id("key1"));
+
+        cacheService.add("key1", bytes("value1"));
+
+        verify(cacheRepository, never()).deleteById(id("key1"));
+        assertThat(cacheService.fetch("key1").getData().getValue()).isEqualTo(bytes("value1"));
+    }
+
+    @Test
+    @DisplayName("Should answer cached records and known misses from memory and leave other reads to fetch")
+    void testTryFetch_AnswersFromMemoryOnly() {
+        cacheService.add("key1", bytes("value1"));
+
+        assertThat(cacheService.tryFetch(CacheConfig.DEFAULT_NAMESPACE, "key1")).get()
+                .extracting(response -> response.getData().getValue()).isEqualTo(bytes("value1"));
+        assertThat(cacheService.tryFetch(CacheConfig.DEFAULT_NAMESPACE, "key2")).isEmpty();
+        verify(cacheRepository, never()).findById(any());
+
+        assertThatThrownBy(() -> cacheService.fetch("key2")).isInstanceOf(CacheNotFoundException.class);
+        assertThatThrownBy(() -> cacheService.tryFetch(CacheConfig.DEFAULT_NAMESPACE, "key2")).isInstanceOf(CacheNotFoundException.class);
+        verify(cacheRepository, times(1)).findById(id("key2"));
+    }
+
+    @Test
+    @DisplayName("Should skip the DB for keys the bloom filter rules out and track evicted keys")
+    void testBloomFilter_SkipsNeverPersistedKeys() {
+        when(cacheRepository.findLiveIds(eq(CacheConfig.DEFAULT_NAMESPACE), eq(""), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of("persisted"));
+        cacheService.rebuildBloomFilters();
+
+        assertThatThrownBy(() -> cacheService.fetch("never")).isInstanceOf(CacheNotFoundException.class);
+        cacheService.add("new", bytes("value"));
+        assertThatThrownBy(() -> cacheService.fetch("persisted")).isInstanceOf(CacheNotFoundException.class);
+        cacheService.add("key2", bytes("value2"));
+        cacheService.add("key3", bytes("value3"));
+        cacheService.add("key4", bytes("value4"));
+        cacheService.remove("new");
+        cacheService.remove("never");
+
+        verify(cacheRepository, never()).findById(id("never"));
+        verify(cacheRepository, never()).deleteById(id("never"));
+        verify(cacheRepository, times(1)).deleteById(id("new"));
+        verify(cacheRepository, times(1)).findById(id("persisted"));
+        assertThat(cacheService.stats().get(0).getBloomFilter().getKeys()).isEqualTo(2);
+        assertThat(cacheService.stats().get(0).getBloomFilter().getObservedFalsePositiveRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("Should restore records and their eviction order from a snapshot")
+    void testSnapshot_RestoresHotTier(@TempDir Path directory) {
+        CacheConfig.Snapshot snapshot = new CacheConfig.Snapshot();
+        snapshot.setEnabled(true);
+        snapshot.setDirectory(directory.toString());
+        when(cacheConfig.getSnapshot()).thenReturn(snapshot);
+        cacheService = new CacheServiceV1Impl(cacheConfig, cacheRepository, cacheGenerationService, eventPublisher, databaseGate);
+        cacheService.add("key1", bytes("value1"));
+        cacheService.add("key2", bytes("value2"));
+        cacheService.add("key3", bytes("value3"));
+        cacheService.fetch("key1");
+        cacheService.writeSnapshot();
+
+        cacheService = new CacheServiceV1Impl(cacheConfig, cacheRepository, cacheGenerationService, eventPublisher, databaseGate);
+        cacheService.restoreSnapshot();
+        reset(cacheRepository);
+
+        assertThat(cacheService.fetch("key1").getData().getValue()).isEqualTo(bytes("value1"));
+        cacheService.add("key4", bytes("value4"));
+        verify(cacheRepository, times(1)).save(argThat(entity -> "key2".equals(entity.getId())));
+        assertThat(directory.resolve("v1.snapshot")).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Should set value only at the expected version")
+    void testCompareAndSet_ChecksVersion() {
+        long version = cacheService.add("key1", bytes("value1")).getData().getVersion();
+
+        ApiResponseEnvelop<CacheDTO> response = cacheService.compareAndSet(CacheConfig.DEFAULT_NAMESPACE, "key1", version, bytes("value2"));
+
+        assertThat(response.getData().getVersion()).isGreaterThan(version);
+        assertThatThrownBy(() -> cacheService.compareAndSet(CacheConfig.DEFAULT_NAMESPACE, "key1", version, bytes("value3")))
+                .isInstanceOf(CacheConflictException.class);
+        assertThat(cacheService.fetch("key1").getData().getValue()).isEqualTo(bytes("value2"));
+    }
+
+    @Test
+    @DisplayName("Should remove a record only while it is at the expected version")
+    void testRemoveIfVersion_ChecksVersion() {
+        long version = cacheService.add("key1", bytes("value1")).getData().getVersion();
+        long current = cacheService.add("key1", bytes("value2")).getData().getVersion();
+        CacheEntity persisted = CacheEntity.builder().namespace(CacheConfig.DEFAULT_NAMESPACE).id("key2").value(bytes("value")).version(5L).build();
+        when(cacheRepository.findById(id("key2"))).thenReturn(Optional.of(persisted));
+
+        assertThatThrownBy(() -> cacheService.removeIfVersion(CacheConfig.DEFAULT_NAMESPACE, "key1", version))
+                .isInstanceOf(CachePreconditionFailedException.class);
+        assertThat(cacheService.fetch("key1").getData().getValue()).isEqualTo(bytes("value2"));
+        cacheService.removeIfVersion(CacheConfig.DEFAULT_NAMESPACE, "key1", current);
+        cacheService.removeIfVersion(CacheConfig.DEFAULT_NAMESPACE, "key2", 5L);
+
+        assertThat(cacheService.peek(CacheConfig.DEFAULT_NAMESPACE, "key1")).isEmpty();
+        verify(cacheRepository, times(1)).deleteById(id("key2"));
+    }
+
+    @Test
+    @DisplayName("Should increment persisted number and reject non numeric values")
+    void testIncrementBy_PersistedRecord() {
+        CacheEntity persisted = CacheEntity.builder().namespace(CacheConfig.DEFAULT_NAMESPACE).id("counter").value(bytes("41")).version(5L).build();
+        when(cacheRepository.findById(id("counter"))).thenReturn(Optional.of(persisted));
+        cacheService.add("text", bytes("value"));
+
+        ApiResponseEnvelop<CacheDTO> response = cacheService.incrementBy(CacheConfig.DEFAULT_NAMESPACE, "counter", 1);
+
+        assertThat(response.getData().getValue()).isEqualTo(bytes("42"));
+        verify(cacheRepository, times(1)).deleteById(id("counter"));
+        assertThat(cacheService.incrementBy(CacheConfig.DEFAULT_NAMESPACE, "absent", -3).getData().getValue()).isEqualTo(bytes("-3"));
+        assertThatThrownBy(() -> cacheService.incrementBy(CacheConfig.DEFAULT_NAMESPACE, "text", 1))
+                .isInstanceOf(CacheConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should append to existing value and put only absent keys")
+    void testAppendAndPutIfAbsent() {
+        cacheService.putIfAbsent(CacheConfig.DEFAULT_NAMESPACE, "key1", bytes("a"));
+
+        cacheService.append(CacheConfig.DEFAULT_NAMESPACE, "key1", bytes("b"));
+
+        assertThat(cacheService.fetch("key1").getData().getValue()).isEqualTo(bytes("ab"));
+        assertThatThrownBy(() -> cacheService.putIfAbsent(CacheConfig.DEFAULT_NAMESPACE, "key1", bytes("c")))
+                .isInstanceOf(CacheConflictException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown namespace")
+    void testAdd_UnknownNamespace() {
+        assertThatThrownBy(() -> cacheService.add("unknown", "key1", bytes("value1")))
+                .isInstanceOf(CacheNotFoundException.class)
+                .hasMessageContaining("not configured");
+        verifyNoInteractions(cacheRepository);
+    }
+
+    private static CacheEntityId id(String key) {
+        return new CacheEntityId(CacheConfig.DEFAULT_NAMESPACE, key);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
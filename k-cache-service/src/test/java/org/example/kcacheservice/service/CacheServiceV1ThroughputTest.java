@@ -0,0 +1,76 @@
+package org.example.kcacheservice.service;
+
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.dto.ApiResponseEnvelop;
+import org.example.kcacheservice.exception.CacheNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+    * Throughput of the v1 service with 10k concurrent virtual thread callers on a cache much smaller than the key
+    * space, so most operations go to the database. Run with mvn test -Pbenchmark.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"cache.max-size=100", "spring.jpa.show-sql=false", "logging.level.org.example.kcacheservice=warn"})
+@DisplayName("Cache Service V1 Throughput Test")
+public class CacheServiceV1ThroughputTest {
+
+    private static final int CALLERS = 10_000;
+    private static final int OPERATIONS_PER_CALLER = 10;
+    private static final int KEYS = 2_000;
+
+    @Autowired
+    @Qualifier("CacheServiceV1")
+    private CacheService cacheService;
+
+    @Test
+    @DisplayName("Mixed reads and writes from 10k concurrent callers")
+    void benchmarkConcurrentCallers() throws Exception {
+        for(int i = 0; i < KEYS; i++) {
+            cacheService.add("key" + i, ("value" + i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        try(ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for(int c = 0; c < CALLERS; c++) {
+                callers.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for(int op = 0; op < OPERATIONS_PER_CALLER; op++) {
+                        String key = "key" + random.nextInt(KEYS);
+                        try {
+                            if(random.nextInt(10) < 7) {
+                                ApiResponseEnvelop<CacheDTO> response = cacheService.fetch(key);
+                                if(null == response.getData()) failures.incrementAndGet();
+                            } else {
+                                cacheService.add(key, ("value" + op).getBytes(StandardCharsets.UTF_8));
+                            }
+                        } catch(CacheNotFoundException e) {
+                            failures.incrementAndGet();
+                        } catch(Exception e) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int operations = CALLERS * OPERATIONS_PER_CALLER;
+        System.out.printf("V1 benchmark: %d callers, %d operations in %.2f s, %.0f ops/s, %d failures%n",
+                CALLERS, operations, seconds, operations / seconds, failures.get());
+
+        assertThat(failures.get()).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.kcacheservice.service.impl;
+
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.dto.CacheDTO;
+import org.example.kcacheservice.entity.CacheEntity;
+import org.example.kcacheservice.entity.CacheEntityId;
+import org.example.kcacheservice.repository.CacheRepository;
+import org.example.kcacheservice.repository.DatabaseGate;
+import org.example.kcacheservice.service.CacheGenerationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DisplayName("Cache Persistence Service Test")
+public class CachePersistenceServiceTest {
+
+    private static final String NAMESPACE = "users";
+
+    private CacheRepository cacheRepository;
+    private CachePersistenceServiceImpl persistenceService;
+
+    @BeforeEach
+    void setUp() {
+        this.cacheRepository = mock(CacheRepository.class);
+        CacheGenerationService cacheGenerationService = mock(CacheGenerationService.class);
+        this.persistenceService = new CachePersistenceServiceImpl(this.cacheRepository, cacheGenerationService,
+                new DatabaseGate(1), new CacheConfig(), mock(DataSource.class), mock(PlatformTransactionManager.class));
+        this.persistenceService.initPersistenceStore();
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.persistenceService.removeAll();
+    }
+
+    @Test
+    @DisplayName("Should keep records on the heap only until they are flushed and read them back from DB")
+    void testFlush_ReadsFlushedRecordsFromDB() {
+        this.persistenceService.persistToStore(record("key1", "value1", 7));
+
+        assertThat(this.persistenceService.getFromStore(NAMESPACE, "key1")).get().extracting(CacheDTO::getVersion).isEqualTo(7L);
+        verify(this.cacheRepository, never()).findById(any());
+
+        this.persistenceService.flushEvictingQueue();
+        when(this.cacheRepository.findById(new CacheEntityId(NAMESPACE, "key1"))).thenReturn(Optional.of(entity("key1", "value1", 7)));
+
+        verify(this.cacheRepository, times(1)).saveAll(argThat(entities ->
+                entities.iterator().next().getId().equals("key1") && entities.iterator().next().getVersion() == 7L));
+        assertThat(this.persistenceService.pendingWrites()).isZero();
+        assertThat(this.persistenceService.getFromStore(NAMESPACE, "key1")).get()
+                .satisfies(record -> assertThat(record.getValue()).isEqualTo(bytes("value1")));
+        verify(this.cacheRepository, times(1)).findById(new CacheEntityId(NAMESPACE, "key1"));
+    }
+
+    @Test
+    @DisplayName("Should remember missing keys and skip the DB until they are persisted")
+    void testGetFromStore_RemembersMissingKeys() {
+        when(this.cacheRepository.findById(any())).thenReturn(Optional.empty());
+
+        assertThat(this.persistenceService.getFromStore(NAMESPACE, "key1")).isEmpty();
+        assertThat(this.persistenceService.getFromStore(NAMESPACE, "key1")).isEmpty();
+        this.persistenceService.removeFromStore(NAMESPACE, "key1");
+
+        verify(this.cacheRepository, times(1)).findById(any());
+        assertThat(this.persistenceService.pendingWrites()).isZero();
+        this.persistenceService.persistToStore(record("key1", "value1", 1));
+        assertThat(this.persistenceService.getFromStore(NAMESPACE, "key1")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should hide removed rows from scans until the flush deletes them and merge pending records")
+    void testScan_MergesPendingRecordsWithRows() {
+        when(this.cacheRepository.scan(eq(NAMESPACE), eq("k%"), anyString(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(entity("k1", "a", 1), entity("k2", "b", 1), entity("k3", "c", 1)));
+        this.persistenceService.removeFromStore(NAMESPACE, "k2");
+        this.persistenceService.persistToStore(record("k0", "d", 2));
+        this.persistenceService.persistToStore(record("k3", "e", 2));
+
+        List<String> values = new ArrayList<>();
+        this.persistenceService.scan(NAMESPACE, "k", null)
+                .forEachRemaining(record -> values.add(record.getId() + "=" + new String(record.getValue(), StandardCharsets.UTF_8)));
+
+        assertThat(values).containsExactly("k0=d", "k1=a", "k3=e");
+        this.persistenceService.flushEvictingQueue();
+        verify(this.cacheRepository, times(1)).deleteAllById(List.of(new CacheEntityId(NAMESPACE, "k2")));
+    }
+
+    private static CacheDTO record(String key, String value, long version) {
+        return CacheDTO.builder().namespace(NAMESPACE).id(key).value(bytes(value)).version(version).build();
+    }
+
+    private static CacheEntity entity(String key, String value, long version) {
+        return CacheEntity.builder().namespace(NAMESPACE).id(key).value(bytes(value)).version(version).build();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
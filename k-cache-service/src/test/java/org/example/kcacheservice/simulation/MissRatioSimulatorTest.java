@@ -0,0 +1,53 @@
+package org.example.kcacheservice.simulation;
+
+import org.example.kcacheservice.trace.AccessTraceFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Miss Ratio Simulator Test")
+public class MissRatioSimulatorTest {
+
+    @Test
+    @DisplayName("Should keep a hot set through scans with ARC and W-TinyLFU but not with LRU")
+    void testSimulate_ScanResistance() {
+        int accesses = 200_000;
+        byte[] operations = new byte[accesses];
+        byte[] namespaces = new byte[accesses];
+        long[] keys = new long[accesses];
+        Random random = new Random(42);
+        long scanKey = 1_000;
+        for(int i = 0; i < accesses; i++) {
+            keys[i] = (i / 50) % 2 == 0 ? random.nextInt(80) : scanKey++;
+        }
+        AccessTraceFile.Trace trace = new AccessTraceFile.Trace(1, List.of("default"), operations, namespaces, keys);
+
+        Map<SimulatedPolicy, Double> missRatios = MissRatioSimulator.simulate(trace, List.of(SimulatedPolicy.values()), List.of(100L))
+                .stream()
+                .collect(Collectors.toMap(MissRatioSimulator.Result::policy, MissRatioSimulator.Result::missRatio));
+
+        assertThat(missRatios.get(SimulatedPolicy.LRU)).isGreaterThan(0.7);
+        assertThat(missRatios.get(SimulatedPolicy.ARC)).isLessThan(0.6);
+        assertThat(missRatios.get(SimulatedPolicy.W_TINYLFU)).isLessThan(0.55);
+    }
+
+    @Test
+    @DisplayName("Should miss only cold reads when the capacity holds every key")
+    void testReplay_ColdMissesOnly() {
+        long[] keys = new long[1_000];
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = i % 10;
+        }
+        AccessTraceFile.Trace trace = new AccessTraceFile.Trace(1, List.of("default"), new byte[keys.length], new byte[keys.length], keys);
+
+        for(SimulatedPolicy policy : SimulatedPolicy.values()) {
+            assertThat(MissRatioSimulator.replay(trace, 0, policy, 10).misses()).as(policy.name()).isEqualTo(10);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.kcacheservice.trace;
+
+import org.example.kcacheservice.config.CacheConfig;
+import org.example.kcacheservice.event.CacheMutationEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Access Trace Recorder Test")
+public class AccessTraceRecorderTest {
+
+    @Test
+    @DisplayName("Should write sampled accesses that read back in order")
+    void testRecord_RoundTrip(@TempDir Path directory) throws Exception {
+        CacheConfig.AccessTrace config = new CacheConfig.AccessTrace();
+        config.setDirectory(directory.toString());
+        config.setSampleRate(4);
+        AccessTraceRecorder recorder = new AccessTraceRecorder(config, "v1.trace", List.of("default", "tenant"));
+
+        recorder.record(AccessTraceFile.Operation.READ, "default", "before-start");
+        recorder.start();
+        for(int i = 0; i < 20_000; i++) {
+            recorder.record(AccessTraceFile.Operation.READ, "default", "key" + i);
+            recorder.record(CacheMutationEvent.Type.ADD, "tenant", "key" + i);
+        }
+        recorder.record(CacheMutationEvent.Type.REMOVE_ALL, null, null);
+        recorder.stop();
+        recorder.record(AccessTraceFile.Operation.READ, "default", "after-stop");
+
+        AccessTraceFile.Trace trace = AccessTraceFile.read(directory.resolve("v1.trace"));
+        assertThat(trace.sampleRate()).isEqualTo(4);
+        assertThat(trace.namespaces()).containsExactly("default", "tenant");
+        assertThat(trace.size()).isEqualTo(recorder.status().getRecords());
+        assertThat(trace.size()).isBetween(2 * 20_000 / 4 * 9 / 10 + 2, 2 * 20_000 / 4 * 11 / 10 + 2);
+        for(int i = 0; i < trace.size() - 2; i++) {
+            boolean read = trace.operations()[i] == AccessTraceFile.Operation.READ.ordinal();
+            assertThat(trace.namespaceIndexes()[i]).isEqualTo((byte) (read ? 0 : 1));
+            assertThat(trace.keys()[i] % 4).isZero();
+        }
+        assertThat(trace.operations()[trace.size() - 1]).isEqualTo((byte) AccessTraceFile.Operation.CLEAR.ordinal());
+        assertThat(trace.namespaceIndexes()[trace.size() - 1]).isEqualTo((byte) 1);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.kcacheservice.tracing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Latency Histogram Test")
+public class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Should report percentiles within the bucket precision")
+    void testPercentile_WithinPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for(long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        assertThat(histogram.count()).isEqualTo(100_000);
+        assertThat(histogram.percentile(50)).isCloseTo(50_000_000L, within(50_000_000L * 32 / 1_000));
+        assertThat(histogram.percentile(99)).isCloseTo(99_000_000L, within(99_000_000L * 32 / 1_000));
+        assertThat(histogram.percentile(99.9)).isBetween(99_900_000L, histogram.max());
+        assertThat(histogram.percentile(100)).isEqualTo(100_000_000L);
+        assertThat(histogram.mean()).isEqualTo(50_000_500L);
+    }
+
+    @Test
+    @DisplayName("Should keep exact small values and clamp huge ones to the last bucket")
+    void testRecord_Range() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(7);
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.percentile(50)).isEqualTo(7);
+        assertThat(histogram.max()).isEqualTo(Long.MAX_VALUE);
+        assertThat(histogram.percentile(100)).isEqualTo(Long.MAX_VALUE);
+    }
+}
@@ -1,42 +0,0 @@
-package org.example.kcacheservice.entity;
-
-import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import java.time.Instant;
-
-@Entity
-@Table(name = "tbl_k_cache")
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class CacheEntity {
-    @Id
-    @Column(name = "id", nullable = false)
-    private String id;
-
-    @Column(name = "created_at", nullable = false, updatable = false)
-    private Instant createdAt;
-
-    @Column(name = "updated_at", nullable = false)
-    private Instant updatedAt;
-
-    @Lob
-    @Column(name = "cache_value", nullable = false)
-    private String value;
-
-    @PrePersist
-    protected void onCreate() {
-        this.createdAt = Instant.now();
-        this.updatedAt = Instant.now();
-    }
-
-    @PreUpdate
-    protected void onUpdate() {
-        this.updatedAt = Instant.now();
-    }
-}
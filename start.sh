@@ -19,7 +19,7 @@ fi
 export PATH="$JAVA_HOME/bin:$PATH"
 
 # Find the JAR file
-JAR_FILE=$(find . -maxdepth 2 -type f -name "*.jar" ! -iname "*lib*" | head -n 1)
+JAR_FILE=$(find . -maxdepth 3 -type f -name "k-cache-service-*.jar" ! -iname "*lib*" | head -n 1)
 
 if [[ -z "$JAR_FILE" ]]; then
     echo "Error: No JAR file found in target directory!"